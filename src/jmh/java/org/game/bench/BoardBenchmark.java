@@ -0,0 +1,83 @@
+package org.game.bench;
+
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.Entity;
+import org.game.Position;
+import org.game.enums.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the board primitives every entity uses each tick: {@link Board#moveEntity} and
+ * {@link Board#isWalkable(Position)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    /** Number of precomputed probe positions; a power of two. */
+    private static final int PROBES = 1 << 12;
+
+    private Board board;
+
+    /** Entity shuttled between two cells. */
+    private Entity mover;
+
+    /** The two free cells the mover alternates between. */
+    private Position left, right;
+
+    /** Random positions probed by {@link #isWalkable()}. */
+    private final Position[] probes = new Position[PROBES];
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        board = new Board(new BoardConfig(100, 100, 1000, 4, 8));
+        board.initialize(42L);
+        // Shuttle between the first two horizontally adjacent empty cells
+        for (int row = 0; left == null; row++) {
+            for (int col = 0; col + 1 < board.getWidth(); col++) {
+                if (board.getAt(new Position(row, col)) == EntityType.EMPTY
+                        && board.getAt(new Position(row, col + 1)) == EntityType.EMPTY) {
+                    left = new Position(row, col);
+                    right = new Position(row, col + 1);
+                    break;
+                }
+            }
+        }
+        mover = new Entity(EntityType.B, left);
+        board.setEntity(left, EntityType.B);
+
+        Random random = new Random(7);
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = new Position(random.nextInt(board.getHeight()), random.nextInt(board.getWidth()));
+        }
+    }
+
+    @Benchmark
+    public void moveEntity() {
+        board.moveEntity(mover, mover.position == left ? right : left);
+    }
+
+    @Benchmark
+    public boolean isWalkable() {
+        return board.isWalkable(probes[next++ & (PROBES - 1)]);
+    }
+}
@@ -0,0 +1,64 @@
+package org.game.bench;
+
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.GameUtils;
+import org.game.Position;
+import org.game.enums.PlannerType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@link GameUtils#findNextMoveTowards} call from A to the phones, across board sizes, obstacle
+ * densities, goal counts and planners. The board is generated once per trial from a fixed seed, so every run
+ * searches the same map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfindingBenchmark {
+
+    /** Side of the square board. */
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    /** Fraction of the cells holding an obstacle. */
+    @Param({"0.0", "0.1", "0.3"})
+    public double density;
+
+    /** Number of phones A searches for. */
+    @Param({"1", "8"})
+    public int goals;
+
+    /** Search algorithm. */
+    @Param({"A_STAR", "JUMP_POINT"})
+    public PlannerType planner;
+
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        int obstacles = (int) (size * size * density);
+        board = new Board(new BoardConfig(size, size, obstacles, goals, 0));
+        board.initialize(42L);
+    }
+
+    @Benchmark
+    public Position findNextMoveTowards() {
+        return GameUtils.findNextMoveTowards(board, board.aPlayer.position, board.phones, planner);
+    }
+}
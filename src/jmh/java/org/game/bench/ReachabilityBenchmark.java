@@ -0,0 +1,75 @@
+package org.game.bench;
+
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.Position;
+import org.game.enums.EntityType;
+import org.game.pathfinding.AStarEngine;
+import org.game.pathfinding.BitFloodFill;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Can A still reach a phone?" answered by an A* search and by the bitset flood fill, on boards where the only
+ * phone is walled off so both have to explore everything A can reach.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReachabilityBenchmark {
+
+    @Param({"1000", "4000"})
+    public int size;
+
+    /** Fraction of cells holding an obstacle. */
+    @Param({"0.1", "0.3"})
+    public double density;
+
+    private Board board;
+    private int start;
+    private int[] goals;
+
+    @Setup
+    public void setUp() {
+        board = new Board(new BoardConfig(size, size, (int) (density * size * size), 1, 0));
+        board.initialize(42L);
+        int width = board.getWidth();
+        Position a = board.aPlayer.position;
+        Position phone = board.phones.get(0);
+        start = a.row * width + a.col;
+        goals = new int[]{phone.row * width + phone.col};
+        // Wall the phone in so that neither search finds it early
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                Position p = new Position(phone.row + dr, phone.col + dc);
+                if ((dr != 0 || dc != 0) && board.isInBounds(p) && !p.equals(a)) {
+                    board.setEntity(p, EntityType.OBSTACLE);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int aStar() {
+        return AStarEngine.forCurrentThread().findNextCell(board, start, goals, 1);
+    }
+
+    @Benchmark
+    public boolean floodFill() {
+        return BitFloodFill.forCurrentThread().reachesAny(board, start, goals, 1);
+    }
+}
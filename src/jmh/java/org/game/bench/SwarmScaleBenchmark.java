@@ -0,0 +1,86 @@
+package org.game.bench;
+
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.BPlayerAgent;
+import org.game.Entity;
+import org.game.pathfinding.PursuitField;
+import org.game.simulation.EntitySwarm;
+import org.game.simulation.VirtualThreads;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Measures how the virtual-thread swarm scales: retained heap per entity and tick latency with 1k, 10k and
+ * 100k B-players chasing A through a shared distance field.
+ *
+ * It measures retained heap, which JMH does not, so it is a plain program next to the JMH benchmarks and is only
+ * compiled by the {@code benchmark} profile. Build with {@code mvn -Pbenchmark package}, then run on a Java 21+
+ * runtime, e.g. {@code java -Xmx4g -cp target/classes org.game.bench.SwarmScaleBenchmark 1000 10000 100000}.
+ * On older runtimes it falls back to platform threads, which will not reach 100k entities.
+ */
+public class SwarmScaleBenchmark {
+
+    /** Ticks measured per size, after the warm-up ticks. */
+    private static final int TICKS = 50;
+
+    /** Ticks played before measuring. */
+    private static final int WARMUP_TICKS = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] sizes = args.length == 0 ? new int[]{1_000, 10_000, 100_000}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        ThreadFactory threads = VirtualThreads.isSupported()
+                ? VirtualThreads.factory() : Executors.defaultThreadFactory();
+        System.out.println("threads=" + (VirtualThreads.isSupported() ? "virtual" : "platform")
+                + " cores=" + Runtime.getRuntime().availableProcessors());
+        System.out.println("entities  bytes/entity  tick-mean-ms  tick-p50-ms  tick-p99-ms  tick-max-ms");
+        for (int entities : sizes) {
+            run(entities, threads);
+        }
+    }
+
+    private static void run(int entities, ThreadFactory threads) throws InterruptedException {
+        // About 10 free cells per pursuer keeps the board from clogging up
+        int side = (int) Math.ceil(Math.sqrt(entities * 10.0));
+        Board board = new Board(new BoardConfig(side, side, side * side / 20, 1, entities));
+        board.initialize(42L);
+        PursuitField field = new PursuitField(board);
+        // Flood once up front so the field's buffers are not counted as per-entity memory
+        field.nextMove(board.bPlayers.get(0), -1);
+
+        long before = usedHeap();
+        EntitySwarm swarm = new EntitySwarm(threads);
+        for (Entity b : board.bPlayers) swarm.spawn(new BPlayerAgent(board, b, field));
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            swarm.awaitTickStart();
+            swarm.awaitTickEnd();
+        }
+        long perEntity = (usedHeap() - before) / entities;
+
+        long[] latencies = new long[TICKS];
+        for (int i = 0; i < TICKS; i++) {
+            long start = System.nanoTime();
+            swarm.awaitTickStart();
+            swarm.awaitTickEnd();
+            latencies[i] = System.nanoTime() - start;
+        }
+        swarm.shutdown();
+
+        Arrays.sort(latencies);
+        double mean = Arrays.stream(latencies).average().orElse(0) / 1e6;
+        System.out.printf("%8d  %12d  %12.2f  %11.2f  %11.2f  %11.2f%n", entities, perEntity, mean,
+                latencies[TICKS / 2] / 1e6, latencies[TICKS * 99 / 100] / 1e6, latencies[TICKS - 1] / 1e6);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,80 @@
+package org.game.bench;
+
+import org.game.BoardConfig;
+import org.game.GameOptions;
+import org.game.GameUtils;
+import org.game.enums.PursuitMode;
+import org.game.simulation.HeadlessGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of full game ticks (A moves, then every B-player) on a 100x100 board with 1 to 64 B-players,
+ * for both pursuit modes. Games are played headless in batches of {@value #TICKS} ticks per call, like
+ * {@link HeadlessGame#play(int)}: the end-of-game rules are checked after every tick, and when a game ends the
+ * next one is generated from the next seed inside the call, so that cost is spread over the ticks it serves.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+
+    /** Ticks played per benchmark call. */
+    private static final int TICKS = 100;
+
+    /** Number of B-players chasing A. */
+    @Param({"1", "8", "64"})
+    public int bPlayers;
+
+    /** How the B-players plan their chase. */
+    @Param({"INDIVIDUAL_SEARCH", "SHARED_DISTANCE_FIELD"})
+    public PursuitMode pursuit;
+
+    private BoardConfig config;
+
+    private GameOptions options;
+
+    private HeadlessGame game;
+
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        config = new BoardConfig(100, 100, 1000, 1, bPlayers);
+        options = new GameOptions();
+        options.pursuit = pursuit;
+    }
+
+    /**
+     * Starts every iteration on a fresh game, so iterations do not depend on where the previous one stopped.
+     */
+    @Setup(Level.Iteration)
+    public void newGame() {
+        game = new HeadlessGame(config, options, seed++);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public void tick() {
+        for (int i = 0; i < TICKS; i++) {
+            game.tick();
+            if (GameUtils.checkOutcome(game.getBoard()) != null) game = new HeadlessGame(config, options, seed++);
+        }
+    }
+}
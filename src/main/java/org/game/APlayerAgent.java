@@ -0,0 +1,60 @@
+package org.game;
+
+import org.game.enums.PlannerType;
+import org.game.pathfinding.DStarLite;
+
+import java.util.List;
+
+/**
+ * Moves the A-player one step toward the closest reachable phone.
+ */
+public class APlayerAgent extends EntityAgent {
+
+    /** Goal positions A tries to reach (typically phones). */
+    private final List<Position> goals;
+
+    /** Search algorithm used to plan each step. */
+    private final PlannerType planner;
+
+    /** Incremental route to the phones kept across ticks, or {@code null} to search from scratch every tick. */
+    private final DStarLite route;
+
+    /**
+     * @param board the shared game board
+     * @param goals goal positions (e.g., phones)
+     */
+    public APlayerAgent(Board board, List<Position> goals) {
+        this(board, goals, PlannerType.A_STAR);
+    }
+
+    /**
+     * @param board   the shared game board
+     * @param goals   goal positions (e.g., phones)
+     * @param planner the search algorithm used to plan each step
+     */
+    public APlayerAgent(Board board, List<Position> goals, PlannerType planner) {
+        this(board, goals, planner, null);
+    }
+
+    /**
+     * @param board   the shared game board
+     * @param goals   goal positions (e.g., phones)
+     * @param planner the search algorithm used to plan each step from scratch
+     * @param route   an incremental route to {@code goals} to repair instead, or {@code null}
+     */
+    public APlayerAgent(Board board, List<Position> goals, PlannerType planner, DStarLite route) {
+        super(board, board.aPlayer);
+        this.goals = goals;
+        this.planner = planner;
+        this.route = route;
+    }
+
+    @Override
+    public Position plan(long tick) {
+        if (route != null) {
+            // The repair updates state kept across ticks, so it cannot be retried like an optimistic read
+            return board.readLocked(() -> route.nextMove(entity.position));
+        }
+        return board.readConsistent(() -> GameUtils.findNextMoveTowards(board, entity.position, goals, planner));
+    }
+}
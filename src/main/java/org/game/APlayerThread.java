@@ -1,5 +1,7 @@
 package org.game;
 
+import org.game.metrics.GameMetrics;
+
 import java.util.List;
 import java.util.concurrent.CyclicBarrier;
 
@@ -8,19 +10,19 @@ import java.util.concurrent.CyclicBarrier;
  * The player attempts to reach one of the available phone positions (goals) on the board.
  *
  * Each movement cycle is synchronized with other entity threads using a CyclicBarrier to ensure
- * all entities move in coordinated steps.
+ * all entities move in coordinated steps. The movement itself is decided by an {@link APlayerAgent}.
  */
 public class APlayerThread extends Thread {
 
-    /** Reference to the shared game board. */
-    private final Board board;
-
-    /** List of goal positions the A player tries to reach (typically phones). */
-    private final List<Position> goals;
+    /** Decision logic of the A player. */
+    private final APlayerAgent agent;
 
     /** Synchronization barrier used to coordinate movement among multiple threads. */
     private final CyclicBarrier barrier;
 
+    /** Number of movement cycles completed. */
+    private long tick;
+
     /** Flag to control the thread's running state. */
     private volatile boolean running = true;
 
@@ -32,41 +34,49 @@ public class APlayerThread extends Thread {
      * @param barrier synchronization barrier for coordinating turns
      */
     public APlayerThread(Board board, List<Position> goals, CyclicBarrier barrier) {
-        this.board = board;
-        this.goals = goals;
+        this(new APlayerAgent(board, goals), barrier);
+    }
+
+    /**
+     * Constructs a thread that drives the given A-player agent.
+     *
+     * @param agent   decision logic of the A player
+     * @param barrier synchronization barrier for coordinating turns
+     */
+    public APlayerThread(APlayerAgent agent, CyclicBarrier barrier) {
+        this.agent = agent;
         this.barrier = barrier;
     }
 
     /**
      * Runs the thread loop, where the A player attempts to move toward the closest reachable goal.
      * The thread waits at the barrier twice: once before moving, and once after.
-     * Each cycle pauses for 2 seconds to allow the board state to be observed.
+     * Pacing is owned by the game's {@link org.game.simulation.TickClock}; this thread never sleeps.
      */
     public void run() {
         while (running) {
             try {
                 // Wait for other entities before moving
-                barrier.await();
+                awaitBarrier();
 
-                // Calculate and perform the next move, synchronized on the board
-                synchronized (board) {
-                    Position next = GameUtils.findNextMoveTowards(board, board.aPlayer.position, goals);
-                    if (next != null) {
-                        board.moveEntity(board.aPlayer, next);
-                    }
-                }
+                // Plan in parallel with the other entities; only the commit is serialized
+                agent.step(tick++);
 
                 // Wait again to allow all entities to complete their moves before displaying
-                barrier.await();
-
-                // Pause to slow down the simulation visually
-                Thread.sleep(2000);
-            } catch (Exception ignored) {
-                // Exceptions (e.g., BrokenBarrierException) are ignored in this simulation context
+                awaitBarrier();
+            } catch (Exception e) {
+                // Exceptions (e.g., BrokenBarrierException) do not stop the simulation, but they are counted
+                GameMetrics.global().recordSwallowed(e);
             }
         }
     }
 
+    private void awaitBarrier() throws Exception {
+        long started = System.nanoTime();
+        barrier.await();
+        GameMetrics.global().recordBarrierWait(System.nanoTime() - started);
+    }
+
     /**
      * Signals the thread to stop running.
      */
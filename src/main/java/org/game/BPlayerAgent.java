@@ -0,0 +1,47 @@
+package org.game;
+
+import org.game.enums.PlannerType;
+import org.game.pathfinding.PursuitField;
+
+import java.util.List;
+
+/**
+ * Moves a B-player one step toward the A-player, either with its own search or through a shared
+ * {@link PursuitField}.
+ */
+public class BPlayerAgent extends EntityAgent {
+
+    /** Shared per-tick distance field, or {@code null} when this B-player runs its own search. */
+    private final PursuitField pursuitField;
+
+    /** Search algorithm of the individual search. */
+    private final PlannerType planner;
+
+    /**
+     * @param board        the shared game board
+     * @param bEntity      the B-player entity to move
+     * @param pursuitField the shared field, or {@code null} to run an individual A* search every tick
+     */
+    public BPlayerAgent(Board board, Entity bEntity, PursuitField pursuitField) {
+        this(board, bEntity, pursuitField, PlannerType.A_STAR);
+    }
+
+    /**
+     * @param board        the shared game board
+     * @param bEntity      the B-player entity to move
+     * @param pursuitField the shared field, or {@code null} to run an individual search every tick
+     * @param planner      the search algorithm of the individual search
+     */
+    public BPlayerAgent(Board board, Entity bEntity, PursuitField pursuitField, PlannerType planner) {
+        super(board, bEntity);
+        this.pursuitField = pursuitField;
+        this.planner = planner;
+    }
+
+    @Override
+    public Position plan(long tick) {
+        if (pursuitField != null) return pursuitField.nextMove(entity, tick);
+        return board.readConsistent(() ->
+                GameUtils.findNextMoveTowards(board, entity.position, List.of(board.aPlayer.position), planner));
+    }
+}
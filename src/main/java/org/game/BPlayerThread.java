@@ -1,6 +1,8 @@
 package org.game;
 
-import java.util.List;
+import org.game.metrics.GameMetrics;
+import org.game.pathfinding.PursuitField;
+
 import java.util.concurrent.CyclicBarrier;
 
 /**
@@ -12,15 +14,15 @@ import java.util.concurrent.CyclicBarrier;
  */
 public class BPlayerThread extends Thread {
 
-    /** Reference to the shared game board. */
-    private final Board board;
-
-    /** The specific B-player entity controlled by this thread. */
-    private final Entity bEntity;
+    /** Decision logic of the B-player controlled by this thread. */
+    private final BPlayerAgent agent;
 
     /** Barrier used to synchronize all entities’ movement steps. */
     private final CyclicBarrier barrier;
 
+    /** Number of movement cycles completed. */
+    private long tick;
+
     /** Flag that controls the execution of the thread. */
     private volatile boolean running = true;
 
@@ -32,8 +34,29 @@ public class BPlayerThread extends Thread {
      * @param barrier the barrier used for thread synchronization
      */
     public BPlayerThread(Board board, Entity bEntity, CyclicBarrier barrier) {
-        this.board = board;
-        this.bEntity = bEntity;
+        this(board, bEntity, barrier, null);
+    }
+
+    /**
+     * Constructs a new B-player thread that chases A using a distance field shared with the other B-players.
+     *
+     * @param board        the shared game board
+     * @param bEntity      the B-player entity to control
+     * @param barrier      the barrier used for thread synchronization
+     * @param pursuitField the shared field, or {@code null} to run an individual A* search every tick
+     */
+    public BPlayerThread(Board board, Entity bEntity, CyclicBarrier barrier, PursuitField pursuitField) {
+        this(new BPlayerAgent(board, bEntity, pursuitField), barrier);
+    }
+
+    /**
+     * Constructs a thread that drives the given B-player agent.
+     *
+     * @param agent   decision logic of the B player
+     * @param barrier the barrier used for thread synchronization
+     */
+    public BPlayerThread(BPlayerAgent agent, CyclicBarrier barrier) {
+        this.agent = agent;
         this.barrier = barrier;
     }
 
@@ -43,35 +66,33 @@ public class BPlayerThread extends Thread {
      * - Calculates the next position toward the A-player.
      * - Moves the B-player if a valid move is found.
      * - Waits again to allow board visualization.
-     * - Sleeps for 2 seconds before the next cycle.
+     *
+     * Pacing is owned by the game's {@link org.game.simulation.TickClock}; this thread never sleeps.
      */
     public void run() {
         while (running) {
             try {
                 // Wait for other entities to reach the barrier
-                barrier.await();
+                awaitBarrier();
 
-                // Attempt to move toward A-player, synchronized to avoid race conditions
-                synchronized (board) {
-                    Position target = new Position(board.aPlayer.position.row, board.aPlayer.position.col);
-                    Position next = GameUtils.findNextMoveTowards(board, bEntity.position, List.of(target));
+                // Plan toward A-player against a consistent view; only the commit is serialized
+                agent.step(tick++);
 
-                    if (next != null) {
-                        board.moveEntity(bEntity, next);
-                    }
-                }
-
-                // Sleep to slow down movement for observation
-                Thread.sleep(2000);
-
-                // Wait again before the next round
-                barrier.await();
-            } catch (Exception ignored) {
-                // Barrier or interruption exceptions are ignored in simulation context
+                // Wait until every entity has moved
+                awaitBarrier();
+            } catch (Exception e) {
+                // Barrier or interruption exceptions do not stop the simulation, but they are counted
+                GameMetrics.global().recordSwallowed(e);
             }
         }
     }
 
+    private void awaitBarrier() throws Exception {
+        long started = System.nanoTime();
+        barrier.await();
+        GameMetrics.global().recordBarrierWait(System.nanoTime() - started);
+    }
+
     /**
      * Stops the execution of this B-player thread.
      */
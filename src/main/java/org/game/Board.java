@@ -1,27 +1,108 @@
 package org.game;
 
 import org.game.enums.EntityType;
+import org.game.jfr.MoveEvent;
+import org.game.metrics.GameMetrics;
 
+import java.lang.invoke.VarHandle;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 
 /**
- * The {@code Board} class represents the 10x10 game matrix for the MatrixConcurrent simulation.
+ * The {@code Board} class represents the game matrix for the MatrixConcurrent simulation.
  * It manages the state of all entities in the game: A (agent), B (enemies), T (phones), and obstacles (#).
  *
+ * The grid is stored as a single row-major {@code byte[]} holding the {@link EntityType#code} of each
+ * cell, so cell {@code (row, col)} lives at index {@code row * width + col}. This keeps even
+ * 10,000x10,000 maps compact (one byte per cell) and cache friendly.
+ *
  * It provides methods for initializing the game state, placing entities randomly,
  * displaying the board, and updating the positions of entities during the simulation.
+ *
+ * Next to the grid the board keeps an index of which entity stands on each cell, and one bit per cell for the
+ * phones and for the B-players, so "who is here", win and capture checks take constant time however many
+ * entities there are.
+ *
+ * Concurrent moves are coordinated per tile: the board is cut into tiles of {@value #TILE_SIZE}x{@value #TILE_SIZE}
+ * cells, each with its own read-write lock, and {@link #commitMove(Entity, Position)} only write-locks the tiles
+ * of the source and destination cells, always in increasing tile order so that two movers never wait for each
+ * other in a cycle. Entities in different parts of a large map therefore commit their moves in parallel, while
+ * two movers aiming at the same cell still meet on its tile lock. A tile is as wide as a word of the bit masks, so
+ * every word written by a move belongs to a tile the mover holds.
+ *
+ * Planners read the board through {@link #readConsistent(Supplier)}, which runs optimistically against a counter
+ * of writes in progress and finished, and only falls back to read-locking every tile if a move landed meanwhile,
+ * so any number of entities can plan in parallel. {@link #readLocked(Supplier)} holds the tiles from the start,
+ * for readers that must not run twice.
  */
 public class Board {
 
-    /** Fixed size of the board (10x10). */
-    private final int size = 10;
+    /** Side of a lockable tile in cells; a multiple of the 64 bits of a mask word. */
+    public static final int TILE_SIZE = 64;
+
+    /** Low bits of {@link #writes} counting the writes in progress; the bits above count the finished ones. */
+    private static final int WRITER_BITS = 20;
+    private static final long WRITERS = (1L << WRITER_BITS) - 1;
+
+    /** Dimensions and entity counts of this board. */
+    private final BoardConfig config;
+
+    /** Number of columns. */
+    private final int width;
+
+    /** Number of rows. */
+    private final int height;
+
+    /** The row-major grid storing the entity type code of each cell. */
+    private final byte[] grid;
+
+    /** Number of 64-bit words per row of {@link #walkable}; each row starts on a fresh word. */
+    private final int wordsPerRow;
+
+    /**
+     * One bit per cell, set where the cell is walkable. Bit {@code col % 64} of word
+     * {@code row * wordsPerRow + col / 64} stands for ({@code row}, {@code col}); the padding bits past the last
+     * column are always clear, so a row never spills into the next one.
+     */
+    private final long[] walkable;
+
+    /** Id of the entity on each occupied cell, one index per tile. */
+    private final OccupantIndex[] occupants;
 
-    /** The internal matrix grid storing the entity type at each cell. */
-    private final EntityType[][] grid = new EntityType[size][size];
+    /** One bit per cell, set where a phone was placed; laid out like {@link #walkable}. */
+    private final long[] phoneBits;
+
+    /** One bit per cell, set where a B-player stands; laid out like {@link #walkable}. */
+    private final long[] bBits;
+
+    /** Number of tiles per row of tiles. */
+    private final int tilesPerRow;
+
+    /** Guards the cells of each tile against concurrent moves; moves write-lock, whole-board readers read-lock. */
+    private final ReentrantReadWriteLock[] tileLocks;
+
+    /**
+     * Writes in progress (low {@link #WRITER_BITS} bits) and finished (the bits above, i.e. the grid version).
+     * A write adds one when it starts and {@link #WRITERS} when it ends, so an optimistic reader that saw no write
+     * in progress can tell that the board did not change by finding the same value afterwards.
+     */
+    private final AtomicLong writes = new AtomicLong();
+
+    /** Observers notified of every move; replaced as a whole when listeners are added or removed. */
+    private volatile BoardListener[] listeners = new BoardListener[0];
 
     /** List of all entities currently on the board. */
     private final List<Entity> entities = new ArrayList<>();
 
+    /** Cells, types and alive flags of the same entities, in parallel arrays indexed by id. */
+    private final EntityStore store = new EntityStore();
+
+    /** Interned positions of the cells entities have stood on, per tile, so that moves by cell do not allocate. */
+    private final PositionTable[] positions;
+
     /** Reference to the single A-player. */
     public Entity aPlayer;
 
@@ -32,116 +113,318 @@ public class Board {
     public List<Position> phones = new ArrayList<>();
 
     /**
-     * Constructs an empty board, initializing all cells to {@link EntityType#EMPTY}.
+     * Constructs an empty board with the {@link BoardConfig#defaults() default} 10x10 configuration.
      */
     public Board() {
-        for (int i = 0; i < size; i++)
-            Arrays.fill(grid[i], EntityType.EMPTY);
+        this(BoardConfig.defaults());
     }
 
     /**
-     * Initializes the board by placing:
-     * - 7 obstacles
-     * - 1 phone
+     * Constructs an empty board of the given configuration, initializing all cells to {@link EntityType#EMPTY}.
+     *
+     * @param config the board dimensions and entity counts
+     */
+    public Board(BoardConfig config) {
+        this.config = config;
+        this.width = config.width;
+        this.height = config.height;
+        this.grid = new byte[config.cells()];
+        Arrays.fill(grid, EntityType.EMPTY.code);
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.walkable = new long[wordsPerRow * height];
+        long tail = (width & 63) == 0 ? -1L : (1L << width) - 1;
+        for (int row = 0; row < height; row++) {
+            int last = (row + 1) * wordsPerRow - 1;
+            Arrays.fill(walkable, row * wordsPerRow, last, -1L);
+            walkable[last] = tail;
+        }
+        this.phoneBits = new long[walkable.length];
+        this.bBits = new long[walkable.length];
+        this.tilesPerRow = (width + TILE_SIZE - 1) / TILE_SIZE;
+        int tiles = tilesPerRow * ((height + TILE_SIZE - 1) / TILE_SIZE);
+        this.tileLocks = new ReentrantReadWriteLock[tiles];
+        this.occupants = new OccupantIndex[tiles];
+        this.positions = new PositionTable[tiles];
+        for (int t = 0; t < tiles; t++) {
+            tileLocks[t] = new ReentrantReadWriteLock();
+            occupants[t] = new OccupantIndex();
+            positions[t] = new PositionTable(width);
+        }
+    }
+
+    /**
+     * Initializes the board by placing, as configured:
+     * - the obstacles
+     * - the phones
      * - 1 A-player
-     * - 2 B-players
+     * - the B-players
+     *
+     * @throws IllegalStateException if the configured entities do not fit on the board
      */
     public void initialize() {
-        placeRandom(EntityType.OBSTACLE, 7);
-        placePhones(1);
-        placeA();
-        placeB(2);
+        initialize(new SplittableRandom().nextLong());
     }
 
     /**
-     * Places a given number of entities of the specified type at random empty positions.
+     * Initializes the board like {@link #initialize()}, but with placements fully determined by the seed.
+     * The cells are chosen by a {@link BoardGenerator}, so this takes time proportional to the number of
+     * entities even on crowded boards.
      *
-     * @param type  the entity type to place
-     * @param count number of entities to place
+     * @param seed the seed of the placement generator
+     * @throws IllegalStateException if the configured entities do not fit on the board
      */
-    private void placeRandom(EntityType type, int count) {
-        Random rand = new Random();
-        while (count > 0) {
-            int r = rand.nextInt(size);
-            int c = rand.nextInt(size);
-            if (grid[r][c] == EntityType.EMPTY) {
-                grid[r][c] = type;
-                entities.add(new Entity(type, new Position(r, c)));
-                count--;
-            }
+    public void initialize(long seed) {
+        BoardGenerator.Layout layout = new BoardGenerator(config).generate(seed);
+        for (int cell : layout.obstacles) place(new Entity(EntityType.OBSTACLE, intern(cell)));
+        for (int cell : layout.phones) {
+            Entity phone = new Entity(EntityType.PHONE, intern(cell));
+            phones.add(phone.position);
+            place(phone);
         }
+        aPlayer = new Entity(EntityType.A, intern(layout.a));
+        place(aPlayer);
+        for (int cell : layout.bPlayers) {
+            Entity b = new Entity(EntityType.B, intern(cell));
+            bPlayers.add(b);
+            place(b);
+        }
+    }
+
+    /**
+     * Returns the position of a cell. The board interns the positions of the cells entities have stood on, so
+     * converting such a cell back to a position at the edge of the API does not allocate; for any other cell a
+     * new {@link Position} is returned.
+     *
+     * @param cell flat index {@code row * width + col} of the cell
+     * @return the position of that cell
+     */
+    public Position positionOf(int cell) {
+        Position p = positions[tileOf(cell)].get(cell);
+        return p != null ? p : new Position(cell / width, cell % width);
+    }
+
+    /**
+     * Like {@link #positionOf(int)}, but interns the position if the cell has none yet. Only called while the
+     * cell's tile cannot be written by anyone else: under its write lock, or before or outside concurrent play.
+     */
+    private Position intern(int cell) {
+        return positions[tileOf(cell)].intern(cell);
     }
 
     /**
-     * Places a given number of phones at random empty positions.
+     * Writes a newly created entity into its cell and registers it.
      *
-     * @param count number of phones to place
+     * @param entity the entity to place
      */
-    private void placePhones(int count) {
-        Random rand = new Random();
-        while (count > 0) {
-            int r = rand.nextInt(size);
-            int c = rand.nextInt(size);
-            if (grid[r][c] == EntityType.EMPTY) {
-                Position pos = new Position(r, c);
-                grid[r][c] = EntityType.PHONE;
-                phones.add(pos);
-                entities.add(new Entity(EntityType.PHONE, pos));
-                count--;
+    private void place(Entity entity) {
+        setCode(entity.position.row * width + entity.position.col, entity.type.code);
+        register(entity);
+    }
+
+    /**
+     * Writes saved cell codes into a board that is not in play yet, as when restoring a snapshot. The walkability
+     * mask follows the codes; listeners are not notified and the version does not change.
+     *
+     * @param first  flat index of the first cell to write
+     * @param codes  {@link EntityType#code grid codes}
+     * @param offset index in {@code codes} of the first code
+     * @param length number of cells to write
+     */
+    public void restoreCells(int first, byte[] codes, int offset, int length) {
+        int row = first / width;
+        int col = first % width;
+        for (int i = 0; i < length; i++) {
+            byte code = codes[offset + i];
+            grid[first + i] = code;
+            int word = row * wordsPerRow + (col >>> 6);
+            if (EntityType.isWalkableCode(code)) walkable[word] |= 1L << col;
+            else walkable[word] &= ~(1L << col);
+            if (++col == width) {
+                col = 0;
+                row++;
             }
         }
     }
 
     /**
-     * Places a single A-player at a random empty position.
+     * Registers a saved entity on a board that is not in play yet, as when restoring a snapshot. Entities must be
+     * restored in id order and after the {@link #restoreCells cells}; like {@link #initialize(long)}, this fills
+     * {@link #aPlayer}, {@link #bPlayers} and {@link #phones}.
+     *
+     * @param type  the entity type
+     * @param cell  flat index of the entity's cell
+     * @param alive false if the entity's cell was {@link #setEntity overwritten} before the snapshot
+     * @return the restored entity, with the next id
      */
-    private void placeA() {
-        Random rand = new Random();
-        while (true) {
-            int r = rand.nextInt(size);
-            int c = rand.nextInt(size);
-            if (grid[r][c] == EntityType.EMPTY) {
-                Position pos = new Position(r, c);
-                aPlayer = new Entity(EntityType.A, pos);
-                grid[r][c] = EntityType.A;
-                entities.add(aPlayer);
-                break;
-            }
+    public Entity restoreEntity(EntityType type, int cell, boolean alive) {
+        Entity entity = new Entity(type, intern(cell));
+        if (alive) {
+            register(entity);
+        } else {
+            // The cell now belongs to whatever overwrote the entity, or to an entity that moved there since
+            add(entity);
+            store.remove(entity.id);
         }
+        if (type == EntityType.PHONE) phones.add(entity.position);
+        else if (type == EntityType.A) aPlayer = entity;
+        else if (type == EntityType.B) bPlayers.add(entity);
+        return entity;
     }
 
     /**
-     * Places a given number of B-players (enemies) at random empty positions.
+     * @return the dimensions and entity counts of this board
+     */
+    public BoardConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Adds an entity to the board's entity table and indexes it as the occupant of its cell.
      *
-     * @param count number of B-players to place
+     * @param entity the entity to add
      */
-    private void placeB(int count) {
-        Random rand = new Random();
-        while (count > 0) {
-            int r = rand.nextInt(size);
-            int c = rand.nextInt(size);
-            if (grid[r][c] == EntityType.EMPTY) {
-                Position pos = new Position(r, c);
-                Entity b = new Entity(EntityType.B, pos);
-                bPlayers.add(b);
-                grid[r][c] = EntityType.B;
-                entities.add(b);
-                count--;
-            }
+    private void register(Entity entity) {
+        int cell = add(entity);
+        occupants[tileOf(cell)].put(cell, entity.id);
+        if (entity.type == EntityType.PHONE) setBit(phoneBits, cell);
+        if (entity.type == EntityType.B) setBit(bBits, cell);
+    }
+
+    /**
+     * Adds an entity to the board's entity table, assigning its id (its index in the table).
+     *
+     * @param entity the entity to add
+     * @return the entity's cell
+     */
+    private int add(Entity entity) {
+        int cell = entity.position.row * width + entity.position.col;
+        entity.id = store.add(entity.type, cell);
+        entities.add(entity);
+        return cell;
+    }
+
+    /**
+     * Returns the entity with the given id, as assigned when the board was initialized.
+     *
+     * @param id the entity id
+     * @return the entity
+     */
+    public Entity getEntity(int id) {
+        return entities.get(id);
+    }
+
+    /**
+     * Returns the entity standing on a cell: the last one placed on or moved to it, as long as no other entity
+     * or {@link #setEntity(Position, EntityType) cell change} replaced it since.
+     *
+     * @param cell flat index of the cell
+     * @return the entity, or {@code null} if the cell holds no entity placed by this board
+     */
+    public Entity getEntityAt(int cell) {
+        int id = occupants[tileOf(cell)].get(cell);
+        return id < 0 ? null : entities.get(id);
+    }
+
+    /**
+     * @param p the position to query
+     * @return the entity on that position, as for {@link #getEntityAt(int)}
+     */
+    public Entity getEntityAt(Position p) {
+        return getEntityAt(p.row * width + p.col);
+    }
+
+    /**
+     * Tells whether a phone was placed on a cell. Unlike the grid, this does not change when an entity moves
+     * over the phone.
+     *
+     * @param cell flat index of the cell
+     * @return true if one of {@link #phones} is on the cell
+     */
+    public boolean hasPhoneAt(int cell) {
+        return testBit(phoneBits, cell);
+    }
+
+    /**
+     * Tells whether a B-player stands on a cell, including the cell of A once it is caught.
+     *
+     * @param cell flat index of the cell
+     * @return true if a B-player is on the cell
+     */
+    public boolean hasBAt(int cell) {
+        return testBit(bBits, cell);
+    }
+
+    /**
+     * @return the positions, types and alive flags of every entity placed on the board, for bulk iteration
+     */
+    public EntityStore getEntityStore() {
+        return store;
+    }
+
+    /**
+     * @return every entity placed on the board (obstacles, phones, A and B-players), indexed by id
+     */
+    public List<Entity> getEntities() {
+        return Collections.unmodifiableList(entities);
+    }
+
+    /**
+     * Registers a listener that is told about every {@link #moveEntity(Entity, Position) move} and every
+     * {@link #setEntity(Position, EntityType) cell change}. Listeners run on the writing thread while the change
+     * is being committed, so they must be quick. Moves within different tiles are committed in parallel, so
+     * listeners must also accept calls from several threads at once.
+     *
+     * @param listener the listener to add
+     */
+    public synchronized void addListener(BoardListener listener) {
+        BoardListener[] grown = Arrays.copyOf(listeners, listeners.length + 1);
+        grown[listeners.length] = listener;
+        listeners = grown;
+    }
+
+    /**
+     * Finds a registered listener of the given class, so that per-board helpers can be shared by everyone using
+     * the board.
+     *
+     * @param type the listener class
+     * @param <T>  the listener type
+     * @return the first registered listener of exactly that class, or {@code null}
+     */
+    public <T extends BoardListener> T getListener(Class<T> type) {
+        for (BoardListener listener : listeners) {
+            if (listener.getClass() == type) return type.cast(listener);
         }
+        return null;
+    }
+
+    /**
+     * @param listener the listener to remove
+     */
+    public synchronized void removeListener(BoardListener listener) {
+        List<BoardListener> kept = new ArrayList<>(Arrays.asList(listeners));
+        kept.remove(listener);
+        listeners = kept.toArray(new BoardListener[0]);
     }
 
     /**
      * Displays the current state of the board in the console.
-     * Each cell prints the symbol of the {@link EntityType} it contains.
+     * Each cell prints the symbol of the {@link EntityType} it contains; the whole frame is built in memory
+     * and written with a single call.
      */
     public void display() {
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                System.out.print(grid[i][j].symbol + " ");
+        byte[] codes = new byte[grid.length];
+        copyGrid(codes);
+        byte[] frame = new byte[height * (2 * width + 1)];
+        int n = 0;
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                frame[n++] = (byte) EntityType.ofCode(codes[row * width + col]).symbol;
+                frame[n++] = ' ';
             }
-            System.out.println();
+            frame[n++] = '\n';
         }
+        System.out.write(frame, 0, n);
+        System.out.flush();
     }
 
     /**
@@ -151,7 +434,49 @@ public class Board {
      * @return true if the position is valid; false otherwise
      */
     public boolean isInBounds(Position p) {
-        return p.row >= 0 && p.row < size && p.col >= 0 && p.col < size;
+        return isInBounds(p.row, p.col);
+    }
+
+    /**
+     * Returns the number of columns of the board.
+     *
+     * @return the board width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the number of rows of the board.
+     *
+     * @return the board height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Checks if the given coordinates are within the bounds of the board.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return true if the coordinates are valid; false otherwise
+     */
+    public boolean isInBounds(int row, int col) {
+        return row >= 0 && row < height && col >= 0 && col < width;
+    }
+
+    /**
+     * Determines whether the cell at the given coordinates can be moved to.
+     * Allocation-free variant of {@link #isWalkable(Position)} used by the pathfinding engine; a single bit test
+     * on the walkability mask.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return true if the cell is walkable
+     */
+    public boolean isWalkable(int row, int col) {
+        return (walkable[row * wordsPerRow + (col >>> 6)] & (1L << col)) != 0;
     }
 
     /**
@@ -162,8 +487,17 @@ public class Board {
      * @return true if the cell is walkable
      */
     public boolean isWalkable(Position p) {
-        EntityType t = grid[p.row][p.col];
-        return t == EntityType.EMPTY || t == EntityType.PHONE || t == EntityType.A;
+        return isWalkable(p.row, p.col);
+    }
+
+    /**
+     * Variant of {@link #isWalkable(int, int)} over a flat cell index {@code row * width + col}.
+     *
+     * @param cell the flat index of the cell
+     * @return true if the cell is walkable
+     */
+    public boolean isWalkable(int cell) {
+        return testBit(walkable, cell);
     }
 
     /**
@@ -174,9 +508,148 @@ public class Board {
      * @param newPos the new position to move to
      */
     public void moveEntity(Entity entity, Position newPos) {
-        grid[entity.position.row][entity.position.col] = EntityType.EMPTY;
+        move(entity, newPos.row * width + newPos.col, newPos);
+    }
+
+    /**
+     * Moves the entity with the given id to a cell, like {@link #moveEntity(Entity, Position)}. The entity's
+     * position becomes the board's interned {@link #positionOf(int) position} of the cell, so once the cell has
+     * been visited the move does not allocate.
+     *
+     * @param id   the entity id
+     * @param cell flat index of the cell to move to
+     */
+    public void moveEntity(int id, int cell) {
+        move(entities.get(id), cell, intern(cell));
+    }
+
+    private void move(Entity entity, int to, Position newPos) {
+        int from = entity.position.row * width + entity.position.col;
+        writes.incrementAndGet();
+        setCode(from, EntityType.EMPTY.code);
         entity.position = newPos;
-        grid[newPos.row][newPos.col] = entity.type;
+        setCode(to, entity.type.code);
+        occupants[tileOf(from)].remove(from);
+        if (entity.id >= 0) {
+            occupants[tileOf(to)].put(to, entity.id);
+            store.moveTo(entity.id, to);
+        } else {
+            occupants[tileOf(to)].remove(to);
+        }
+        if (entity.type == EntityType.B) {
+            // Cells never hold two B-players (B cells are not walkable), so leaving always clears the bit
+            clearBit(bBits, from);
+            setBit(bBits, to);
+        }
+        writes.addAndGet(WRITERS);
+        GameMetrics.global().recordMove();
+        MoveEvent event = new MoveEvent();
+        if (event.isEnabled()) {
+            event.entityId = entity.id;
+            event.entityType = entity.type.name();
+            event.from = from;
+            event.to = to;
+            event.commit();
+        }
+        for (BoardListener listener : listeners) {
+            listener.onMove(entity, from, to);
+        }
+    }
+
+    /**
+     * Runs a read-only computation against a consistent view of the board.
+     *
+     * The reader first runs optimistically without blocking anyone; if a move landed while it ran, it is run
+     * again under {@link #readLocked(Supplier)}. The reader may therefore run twice and must tolerate
+     * inconsistent reads in its first run; anything it writes must be overwritten by the second run.
+     *
+     * @param reader the computation to run
+     * @param <T>    the result type
+     * @return the result computed from a consistent board state
+     */
+    public <T> T readConsistent(Supplier<T> reader) {
+        long seen = writes.get();
+        if ((seen & WRITERS) == 0) {
+            T result = reader.get();
+            // Keep the reads above from being reordered after the check, like StampedLock#validate
+            VarHandle.acquireFence();
+            if (writes.get() == seen) return result;
+        }
+        return readLocked(reader);
+    }
+
+    /**
+     * Runs a read-only computation while no move can land, by read-locking every tile in increasing order.
+     * Unlike {@link #readConsistent(Supplier)} the reader runs exactly once, so it may update state of its own
+     * (for example, repair a route kept across ticks). Readers do not block each other.
+     *
+     * @param reader the computation to run
+     * @param <T>    the result type
+     * @return the result computed from a consistent board state
+     */
+    public <T> T readLocked(Supplier<T> reader) {
+        int locked = 0;
+        try {
+            for (; locked < tileLocks.length; locked++) tileLocks[locked].readLock().lock();
+            return reader.get();
+        } finally {
+            while (locked > 0) tileLocks[--locked].readLock().unlock();
+        }
+    }
+
+    /**
+     * Atomically moves an entity to a planned position, provided the position is still walkable.
+     * The plan may have been computed against an older board state, so the target is re-checked while holding
+     * the tiles of both cells; any other move into the same cell needs the same tile, which keeps two entities
+     * from ending up in the same walkable cell. Moves within other tiles proceed in parallel.
+     *
+     * @param entity the entity to move
+     * @param newPos the planned position
+     * @return true if the move was applied; false if the target is no longer walkable
+     */
+    public boolean commitMove(Entity entity, Position newPos) {
+        return commit(entity, newPos.row * width + newPos.col, newPos);
+    }
+
+    /**
+     * Variant of {@link #commitMove(Entity, Position)} by entity id and cell index, which does not allocate once
+     * the cell has been visited.
+     *
+     * @param id   the entity id
+     * @param cell flat index of the planned cell
+     * @return true if the move was applied; false if the target is no longer walkable
+     */
+    public boolean commitMove(int id, int cell) {
+        return commit(entities.get(id), cell, null);
+    }
+
+    /**
+     * @param newPos the position to give the entity, or null to intern the target cell's under its tile lock
+     */
+    private boolean commit(Entity entity, int to, Position newPos) {
+        int fromTile = tileOf(entity.position.row * width + entity.position.col);
+        int toTile = tileOf(to);
+        // Always lock the lower tile first, so that movers crossing tile borders cannot deadlock
+        Lock first = tileLocks[Math.min(fromTile, toTile)].writeLock();
+        Lock second = tileLocks[Math.max(fromTile, toTile)].writeLock();
+        first.lock();
+        if (second != first) second.lock();
+        try {
+            if (!isWalkable(to)) return false;
+            move(entity, to, newPos != null ? newPos : intern(to));
+            return true;
+        } finally {
+            if (second != first) second.unlock();
+            first.unlock();
+        }
+    }
+
+    /**
+     * @param cell flat index of a cell
+     * @return the index of the tile holding the cell
+     */
+    public int tileOf(int cell) {
+        return (cell / width / TILE_SIZE) * tilesPerRow + (cell % width) / TILE_SIZE;
     }
 
     /**
@@ -186,18 +659,119 @@ public class Board {
      * @return the entity type at that position
      */
     public EntityType getAt(Position p) {
-        return grid[p.row][p.col];
+        return getAt(p.row, p.col);
     }
 
     /**
-     * Sets the entity type at a specific position in the grid.
+     * Allocation-free variant of {@link #getAt(Position)}.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the entity type at that cell
+     */
+    public EntityType getAt(int row, int col) {
+        return EntityType.ofCode(grid[row * width + col]);
+    }
+
+    /**
+     * Sets the entity type at a specific position in the grid. An entity standing on the cell is overwritten: it
+     * stays in the entity table, but is no longer alive.
      *
      * @param position the position to set
      * @param entity   the entity type to place
      */
     public void setEntity(Position position, EntityType entity){
         if (isInBounds(position)){
-            grid[position.row][position.col] = entity;
+            int cell = position.row * width + position.col;
+            writes.incrementAndGet();
+            setCode(cell, entity.code);
+            int replaced = occupants[tileOf(cell)].get(cell);
+            if (replaced >= 0) {
+                // The overwritten entity is gone, so the masks must not report it any more
+                if (store.typeOf(replaced) == EntityType.B) clearBit(bBits, cell);
+                if (store.typeOf(replaced) == EntityType.PHONE) clearBit(phoneBits, cell);
+                store.remove(replaced);
+            }
+            occupants[tileOf(cell)].remove(cell);
+            writes.addAndGet(WRITERS);
+            for (BoardListener listener : listeners) {
+                listener.onCellChanged(cell);
+            }
         }
     }
+
+    /**
+     * @return the number of 64-bit words per row of the {@link #copyWalkable(long[]) walkability mask}
+     */
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * Copies the walkability mask into {@code dst} as a consistent snapshot, like {@link #copyGrid(byte[])}.
+     * Bit {@code col % 64} of word {@code row * getWordsPerRow() + col / 64} is set if ({@code row}, {@code col})
+     * is walkable; bits past the last column of a row are clear.
+     *
+     * @param dst destination array of at least {@code getWordsPerRow() * height} words
+     * @return the grid version the copy corresponds to
+     */
+    public long copyWalkable(long[] dst) {
+        return readConsistent(() -> {
+            System.arraycopy(walkable, 0, dst, 0, walkable.length);
+            return getVersion();
+        });
+    }
+
+    /**
+     * Returns a counter that changes whenever the grid changes, so observers can tell whether anything moved.
+     *
+     * @return the current grid version
+     */
+    public long getVersion() {
+        return writes.get() >>> WRITER_BITS;
+    }
+
+    /**
+     * Copies the grid codes into {@code dst} as a consistent snapshot, without blocking movers unless a move
+     * lands during the copy.
+     *
+     * @param dst destination array of at least {@code width * height} bytes
+     * @return the grid version the copy corresponds to
+     */
+    public long copyGrid(byte[] dst) {
+        return readConsistent(() -> {
+            System.arraycopy(grid, 0, dst, 0, grid.length);
+            return getVersion();
+        });
+    }
+
+    /**
+     * Writes a grid code and keeps the walkability mask in step with it.
+     */
+    private void setCode(int cell, byte code) {
+        grid[cell] = code;
+        int word = wordOf(cell);
+        long bit = 1L << (cell % width);
+        if (EntityType.isWalkableCode(code)) walkable[word] |= bit;
+        else walkable[word] &= ~bit;
+    }
+
+    /**
+     * Word of a cell in the row-padded bit masks; it only holds cells of the same row and tile.
+     */
+    private int wordOf(int cell) {
+        return (cell / width) * wordsPerRow + ((cell % width) >>> 6);
+    }
+
+    private void setBit(long[] bits, int cell) {
+        bits[wordOf(cell)] |= 1L << (cell % width);
+    }
+
+    private void clearBit(long[] bits, int cell) {
+        bits[wordOf(cell)] &= ~(1L << (cell % width));
+    }
+
+    private boolean testBit(long[] bits, int cell) {
+        return (bits[wordOf(cell)] & (1L << (cell % width))) != 0;
+    }
 }
@@ -0,0 +1,92 @@
+package org.game;
+
+import java.util.Properties;
+
+/**
+ * Immutable description of a board: its dimensions and how many entities of each kind
+ * {@link Board#initialize()} places on it.
+ */
+public class BoardConfig {
+
+    /** Number of columns. */
+    public final int width;
+
+    /** Number of rows. */
+    public final int height;
+
+    /** Number of obstacles to place. */
+    public final int obstacles;
+
+    /** Number of phones to place. */
+    public final int phones;
+
+    /** Number of B-players to place. */
+    public final int bPlayers;
+
+    /**
+     * Creates a board configuration.
+     *
+     * @param width     number of columns
+     * @param height    number of rows
+     * @param obstacles number of obstacles
+     * @param phones    number of phones
+     * @param bPlayers  number of B-players
+     * @throws IllegalArgumentException if a dimension is not positive, the grid does not fit in an int index,
+     *                                  or a count is negative
+     */
+    public BoardConfig(int width, int height, int obstacles, int phones, int bPlayers) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Board dimensions must be positive: " + width + "x" + height);
+        }
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Board is too large: " + width + "x" + height);
+        }
+        if (obstacles < 0 || phones < 0 || bPlayers < 0) {
+            throw new IllegalArgumentException("Entity counts must not be negative");
+        }
+        this.width = width;
+        this.height = height;
+        this.obstacles = obstacles;
+        this.phones = phones;
+        this.bPlayers = bPlayers;
+    }
+
+    /**
+     * The classic game: a 10x10 board with 7 obstacles, 1 phone and 2 B-players.
+     *
+     * @return the default configuration
+     */
+    public static BoardConfig defaults() {
+        return new BoardConfig(10, 10, 7, 1, 2);
+    }
+
+    /**
+     * Reads a configuration from properties, falling back to {@link #defaults()} for missing keys.
+     * Recognized keys: {@code board.width}, {@code board.height}, {@code board.obstacles},
+     * {@code board.phones} and {@code board.bPlayers}.
+     *
+     * @param props the properties to read
+     * @return the configuration
+     */
+    public static BoardConfig fromProperties(Properties props) {
+        BoardConfig d = defaults();
+        return new BoardConfig(
+                intProperty(props, "board.width", d.width),
+                intProperty(props, "board.height", d.height),
+                intProperty(props, "board.obstacles", d.obstacles),
+                intProperty(props, "board.phones", d.phones),
+                intProperty(props, "board.bPlayers", d.bPlayers));
+    }
+
+    /**
+     * @return the total number of cells
+     */
+    public int cells() {
+        return width * height;
+    }
+
+    private static int intProperty(Properties props, String key, int fallback) {
+        String value = props.getProperty(key);
+        return value == null ? fallback : Integer.parseInt(value.trim());
+    }
+}
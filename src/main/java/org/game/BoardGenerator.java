@@ -0,0 +1,180 @@
+package org.game;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Chooses the cells of every entity of a new board in time proportional to the number of entities, however
+ * crowded the board gets.
+ *
+ * Cells are drawn without replacement with a sparse Fisher-Yates shuffle: the first {@code k} entries of a
+ * random permutation of the cells are produced by swapping, and only the swapped entries are remembered, so no
+ * cell is ever drawn twice and nothing proportional to the board size is allocated. Large boards are cut into
+ * strips of {@link #STRIP_ROWS} rows that are drawn in parallel. Each strip gets a share of the entities
+ * proportional to its size, with the remainders handed to randomly chosen strips, and its own generator split
+ * from the seed. The roles (obstacle, phone, A, B-player) are then dealt out at random among all the drawn
+ * cells.
+ *
+ * The strips, their generators and the order of the results only depend on the configuration and the seed,
+ * never on the number of threads, so a seed always gives the same board.
+ */
+public final class BoardGenerator {
+
+    /** Rows per strip drawn as one parallel task. */
+    static final int STRIP_ROWS = 256;
+
+    /** The board to generate. */
+    private final BoardConfig config;
+
+    /**
+     * Where each entity of a generated board goes, as flat cell indices {@code row * width + col}.
+     */
+    public static final class Layout {
+
+        /** Cells of the obstacles. */
+        public final int[] obstacles;
+
+        /** Cells of the phones. */
+        public final int[] phones;
+
+        /** Cell of the A-player. */
+        public final int a;
+
+        /** Cells of the B-players. */
+        public final int[] bPlayers;
+
+        Layout(int[] obstacles, int[] phones, int a, int[] bPlayers) {
+            this.obstacles = obstacles;
+            this.phones = phones;
+            this.a = a;
+            this.bPlayers = bPlayers;
+        }
+    }
+
+    /**
+     * @param config the board dimensions and entity counts
+     * @throws IllegalStateException if the entities do not fit on the board
+     */
+    public BoardGenerator(BoardConfig config) {
+        long needed = (long) config.obstacles + config.phones + 1 + config.bPlayers;
+        if (needed > config.cells()) {
+            throw new IllegalStateException("Cannot place " + needed + " entities on " + config.cells() + " cells");
+        }
+        this.config = config;
+    }
+
+    /**
+     * Draws the cells of every entity.
+     *
+     * @param seed the seed; equal seeds give equal layouts
+     * @return the layout
+     */
+    public Layout generate(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int cells = config.cells();
+        int total = config.obstacles + config.phones + 1 + config.bPlayers;
+        int stripCells = STRIP_ROWS * config.width;
+        int strips = (config.height + STRIP_ROWS - 1) / STRIP_ROWS;
+
+        // Share of each strip, proportional to its size; the leftovers go to distinct random strips
+        int[] quota = new int[strips];
+        int assigned = 0;
+        for (int s = 0; s < strips; s++) {
+            quota[s] = (int) ((long) total * stripSize(s, stripCells, cells) / cells);
+            assigned += quota[s];
+        }
+        int[] lucky = sample(random, strips, total - assigned);
+        for (int s : lucky) quota[s]++;
+
+        int[] offset = new int[strips + 1];
+        for (int s = 0; s < strips; s++) offset[s + 1] = offset[s] + quota[s];
+        SplittableRandom[] stripRandom = new SplittableRandom[strips];
+        for (int s = 0; s < strips; s++) stripRandom[s] = random.split();
+
+        int[] drawn = new int[total];
+        IntStream range = IntStream.range(0, strips);
+        if (strips > 1) range = range.parallel();
+        range.forEach(s -> {
+            int[] picked = sample(stripRandom[s], stripSize(s, stripCells, cells), quota[s]);
+            int base = s * stripCells;
+            for (int i = 0; i < picked.length; i++) drawn[offset[s] + i] = base + picked[i];
+        });
+
+        // Deal the roles: a random subset of the drawn cells gets the phones, A and the B-players, in that order
+        int movers = config.phones + 1 + config.bPlayers;
+        int[] roles = sample(random, total, movers);
+        boolean[] taken = new boolean[total];
+        for (int r : roles) taken[r] = true;
+        int[] phones = new int[config.phones];
+        int[] bPlayers = new int[config.bPlayers];
+        for (int i = 0; i < phones.length; i++) phones[i] = drawn[roles[i]];
+        int a = drawn[roles[phones.length]];
+        for (int i = 0; i < bPlayers.length; i++) bPlayers[i] = drawn[roles[phones.length + 1 + i]];
+        int[] obstacles = new int[config.obstacles];
+        for (int i = 0, n = 0; i < total; i++) {
+            if (!taken[i]) obstacles[n++] = drawn[i];
+        }
+        return new Layout(obstacles, phones, a, bPlayers);
+    }
+
+    private static int stripSize(int strip, int stripCells, int cells) {
+        return Math.min(stripCells, cells - strip * stripCells);
+    }
+
+    /**
+     * Draws {@code k} distinct values out of {@code [0, n)} with the first {@code k} steps of a Fisher-Yates
+     * shuffle, remembering only the swapped entries.
+     *
+     * @return the values, in the order they were drawn
+     */
+    static int[] sample(SplittableRandom random, int n, int k) {
+        int[] out = new int[k];
+        SwapTable swapped = new SwapTable(k);
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(n - i);
+            int atJ = swapped.get(j);
+            out[i] = atJ;
+            swapped.put(j, swapped.get(i));
+        }
+        return out;
+    }
+
+    /**
+     * Entries of the virtual permutation that moved: an open-addressing map from position to value, where a
+     * position that was never written holds itself.
+     */
+    private static final class SwapTable {
+
+        private final int[] keys;
+        private final int[] values;
+
+        SwapTable(int swaps) {
+            int capacity = Integer.highestOneBit(Math.max(4 * swaps, 8) - 1) << 1;
+            keys = new int[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, -1);
+        }
+
+        int get(int position) {
+            int mask = keys.length - 1;
+            for (int i = hash(position) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == position) return values[i];
+                if (keys[i] < 0) return position;
+            }
+        }
+
+        void put(int position, int value) {
+            int mask = keys.length - 1;
+            int i = hash(position) & mask;
+            while (keys[i] >= 0 && keys[i] != position) i = (i + 1) & mask;
+            keys[i] = position;
+            values[i] = value;
+        }
+
+        private static int hash(int position) {
+            int h = position * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
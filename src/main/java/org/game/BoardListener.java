@@ -0,0 +1,24 @@
+package org.game;
+
+/**
+ * Observer of changes made to a {@link Board}.
+ */
+public interface BoardListener {
+
+    /**
+     * Called after an entity moved.
+     *
+     * @param entity the entity that moved (already at its new position)
+     * @param from   flat index of the cell it left
+     * @param to     flat index of the cell it entered
+     */
+    void onMove(Entity entity, int from, int to);
+
+    /**
+     * Called after a cell was overwritten with {@link Board#setEntity}, outside of a move.
+     *
+     * @param cell flat index of the cell
+     */
+    default void onCellChanged(int cell) {
+    }
+}
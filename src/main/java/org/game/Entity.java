@@ -5,6 +5,10 @@ import org.game.enums.EntityType;
 /**
  * Represents an entity on the game board.
  * An entity has a type (e.g., A-player, B-player, obstacle, phone) and a current position.
+ *
+ * For entities placed by a {@link Board}, the board's {@link EntityStore} holds the same cell, type and alive
+ * flag in primitive arrays indexed by {@link #id}; this object is the view used by code that handles one entity
+ * at a time, and the board updates both on every move.
  */
 public class Entity {
 
@@ -14,6 +18,9 @@ public class Entity {
     /** The current position of the entity on the board */
     public Position position;
 
+    /** Identifier assigned by the {@link Board} that placed this entity, or -1 if it was created elsewhere. */
+    public int id = -1;
+
     /**
      * Constructs an entity of a given type and position.
      *
@@ -0,0 +1,73 @@
+package org.game;
+
+import org.game.metrics.GameMetrics;
+
+/**
+ * Decision logic of one moving entity, independent of the thread that runs it.
+ *
+ * An agent {@link #plan(long) plans} its next position against a consistent view of the board and
+ * {@link #step(long) steps} by committing that plan. Threads ({@link APlayerThread}, {@link BPlayerThread})
+ * and the virtual-thread swarm only decide when an agent steps.
+ */
+public abstract class EntityAgent {
+
+    /** Reference to the shared game board. */
+    protected final Board board;
+
+    /** The entity this agent moves. */
+    protected final Entity entity;
+
+    /** Cleared when the entity should leave the game. */
+    private volatile boolean alive = true;
+
+    /**
+     * @param board  the shared game board
+     * @param entity the entity this agent moves
+     */
+    protected EntityAgent(Board board, Entity entity) {
+        this.board = board;
+        this.entity = entity;
+    }
+
+    /**
+     * Computes the position the entity wants to move to this tick, without changing the board.
+     *
+     * @param tick the current tick
+     * @return the planned position, or {@code null} to stay put
+     */
+    public abstract Position plan(long tick);
+
+    /**
+     * Plans and commits one move.
+     *
+     * @param tick the current tick
+     * @return true if the entity moved
+     */
+    public boolean step(long tick) {
+        long started = System.nanoTime();
+        Position next = plan(tick);
+        GameMetrics.global().recordPlan(System.nanoTime() - started);
+        return next != null && board.commitMove(entity, next);
+    }
+
+    /**
+     * @return the entity this agent moves
+     */
+    public Entity getEntity() {
+        return entity;
+    }
+
+    /**
+     * @return false once the entity has been told to leave the game
+     */
+    public boolean isAlive() {
+        return alive;
+    }
+
+    /**
+     * Tells the entity to leave the game at the next tick boundary.
+     */
+    public void kill() {
+        alive = false;
+    }
+}
@@ -0,0 +1,160 @@
+package org.game;
+
+import org.game.enums.EntityType;
+
+import java.util.Arrays;
+
+/**
+ * Positions, types and alive flags of every entity a {@link Board} placed, in parallel primitive arrays indexed
+ * by entity id.
+ *
+ * Code that walks many entities (the headless game loop, shared pursuit, connectivity counts) iterates these
+ * arrays instead of following {@link Entity} references across the heap: {@link #forEach(EntityType, Visitor)}
+ * visits the live entities of one type in id order, reading one {@code int} per entity. Ids of a type are
+ * contiguous when the board is generated, so that walk is sequential in memory. {@link Entity} objects remain as
+ * views for the code that moves one entity at a time; the board keeps their {@link Entity#position} in step.
+ *
+ * Cells are written by the board while it holds the tile of the cell, like the grid; readers racing with a move
+ * may see the old or the new cell.
+ */
+public final class EntityStore {
+
+    /** Visitor of the entities of a type. */
+    @FunctionalInterface
+    public interface Visitor {
+
+        /**
+         * @param id   the entity id
+         * @param cell flat index of the entity's cell
+         */
+        void visit(int id, int cell);
+    }
+
+    private static final EntityType[] TYPES = EntityType.values();
+
+    /** Flat cell of each entity. */
+    private int[] cells = new int[16];
+
+    /** {@link EntityType#ordinal()} of each entity. */
+    private byte[] types = new byte[16];
+
+    /** Whether each entity is still on the board. */
+    private boolean[] alive = new boolean[16];
+
+    /** Number of entities. */
+    private int size;
+
+    /** Ids of the entities of each type, in increasing order. */
+    private final int[][] idsByType = new int[TYPES.length][];
+
+    /** Number of ids in each list of {@link #idsByType}. */
+    private final int[] countByType = new int[TYPES.length];
+
+    EntityStore() {
+        Arrays.fill(idsByType, new int[0]);
+    }
+
+    /**
+     * Adds a live entity.
+     *
+     * @return its id
+     */
+    int add(EntityType type, int cell) {
+        if (size == cells.length) {
+            int capacity = size * 2;
+            cells = Arrays.copyOf(cells, capacity);
+            types = Arrays.copyOf(types, capacity);
+            alive = Arrays.copyOf(alive, capacity);
+        }
+        int id = size++;
+        cells[id] = cell;
+        types[id] = (byte) type.ordinal();
+        alive[id] = true;
+        int t = type.ordinal();
+        if (countByType[t] == idsByType[t].length) {
+            idsByType[t] = Arrays.copyOf(idsByType[t], Math.max(16, countByType[t] * 2));
+        }
+        idsByType[t][countByType[t]++] = id;
+        return id;
+    }
+
+    void moveTo(int id, int cell) {
+        cells[id] = cell;
+    }
+
+    void remove(int id) {
+        alive[id] = false;
+    }
+
+    /**
+     * @return the number of entities ever added, live or not
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param type an entity type
+     * @return the number of entities of that type ever added, live or not
+     */
+    public int count(EntityType type) {
+        return countByType[type.ordinal()];
+    }
+
+    /**
+     * @param id an entity id
+     * @return flat index of the entity's cell
+     */
+    public int cellOf(int id) {
+        return cells[id];
+    }
+
+    /**
+     * @param id an entity id
+     * @return the entity's type
+     */
+    public EntityType typeOf(int id) {
+        return TYPES[types[id]];
+    }
+
+    /**
+     * @param id an entity id
+     * @return false once the entity's cell was {@link Board#setEntity overwritten}
+     */
+    public boolean isAlive(int id) {
+        return alive[id];
+    }
+
+    /**
+     * Visits the live entities of a type in id order. Entities may be moved while they are visited.
+     *
+     * @param type    the type to visit
+     * @param visitor called with the id and cell of each entity
+     */
+    public void forEach(EntityType type, Visitor visitor) {
+        int t = type.ordinal();
+        int[] ids = idsByType[t];
+        for (int k = 0, n = countByType[t]; k < n; k++) {
+            int id = ids[k];
+            if (alive[id]) visitor.visit(id, cells[id]);
+        }
+    }
+
+    /**
+     * Copies the cells of the live entities of a type, in id order.
+     *
+     * @param type the type to collect
+     * @param dst  destination of at least {@link #count(EntityType)} entries
+     * @return the number of cells copied
+     */
+    public int collectCells(EntityType type, int[] dst) {
+        int t = type.ordinal();
+        int[] ids = idsByType[t];
+        int copied = 0;
+        for (int k = 0, n = countByType[t]; k < n; k++) {
+            int id = ids[k];
+            if (alive[id]) dst[copied++] = cells[id];
+        }
+        return copied;
+    }
+}
@@ -1,7 +1,29 @@
 package org.game;
 
+import org.game.enums.GameOutcome;
+import org.game.enums.PursuitMode;
+import org.game.enums.RenderMode;
+import org.game.enums.RouteMode;
+import org.game.jfr.GameRecording;
+import org.game.jfr.TickPhaseEvent;
+import org.game.journal.MoveJournal;
+import org.game.metrics.GameMetrics;
+import org.game.metrics.MetricsReporter;
+import org.game.pathfinding.ConnectivityIndex;
+import org.game.pathfinding.DStarLite;
+import org.game.pathfinding.PursuitField;
+import org.game.render.BoardRenderer;
+import org.game.simulation.EntitySwarm;
+import org.game.simulation.TickClock;
+import org.game.simulation.TickPipeline;
+import org.game.simulation.VirtualThreads;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CyclicBarrier;
 
@@ -18,7 +40,7 @@ import java.util.concurrent.CyclicBarrier;
 public class Game {
 
     /** The shared game board. */
-    private final Board board = new Board();
+    private final Board board;
 
     /** The thread responsible for controlling the A player. */
     private APlayerThread aThread;
@@ -29,103 +51,264 @@ public class Game {
     /** Synchronization barrier to coordinate turn-based movement. */
     private final CyclicBarrier barrier;
 
+    /** Runtime options such as the pursuit mode. */
+    private final GameOptions options;
+
+    /** Draws the board, either every tick or on its own thread. */
+    private BoardRenderer renderer;
+
+    /** Records every move when a journal file is configured, otherwise {@code null}. */
+    private MoveJournal journal;
+
+    /** A's incremental route to the phones, or {@code null} when A searches from scratch every tick. */
+    private DStarLite route;
+
+    /** Flight recording of the game, or {@code null} when none was requested. */
+    private GameRecording recording;
+
+    /** Number of the tick being played, stamped on journal records. */
+    private int tick;
+
     /**
-     * Constructs the game with the provided synchronization barrier.
+     * Constructs the game with the provided synchronization barrier on a default 10x10 board.
      *
      * @param barrier the CyclicBarrier used to synchronize thread movement
      */
     public Game(CyclicBarrier barrier){
+        this(barrier, BoardConfig.defaults());
+    }
+
+    /**
+     * Constructs the game with the provided synchronization barrier and board configuration.
+     * The barrier must have one party per B-player plus two (the A-player and the main thread).
+     *
+     * @param barrier the CyclicBarrier used to synchronize thread movement
+     * @param config  the board dimensions and entity counts
+     */
+    public Game(CyclicBarrier barrier, BoardConfig config){
+        this(barrier, config, new GameOptions());
+    }
+
+    /**
+     * Constructs the game with the provided synchronization barrier, board configuration and options.
+     *
+     * @param barrier the CyclicBarrier used to synchronize thread movement
+     * @param config  the board dimensions and entity counts
+     * @param options runtime options such as the pursuit mode
+     */
+    public Game(CyclicBarrier barrier, BoardConfig config, GameOptions options){
         this.barrier = barrier;
+        this.board = new Board(config);
+        this.options = options;
     }
 
     /**
      * Starts the game by:
      * - Initializing the board and entities.
-     * - Spawning and starting threads for A and B players.
+     * - Spawning and starting threads for A and B players (platform threads or a virtual-thread swarm).
      * - Displaying the board and running the game loop until a win/loss condition is met.
      *
-     * @throws InterruptedException if thread sleep is interrupted
+     * @throws InterruptedException if the main thread is interrupted while waiting at the barrier
      * @throws BrokenBarrierException if the barrier is broken during synchronization
      */
     public void start() throws InterruptedException, BrokenBarrierException {
-        board.initialize();
-        board.display();
+        if (options.jfrPath != null) {
+            try {
+                recording = GameRecording.start(Path.of(options.jfrPath));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        long seed = options.seed != null ? options.seed : ThreadLocalRandom.current().nextLong();
+        System.out.println("Board seed: " + seed);
+        board.initialize(seed);
+        if (options.journalPath != null) {
+            try {
+                journal = new MoveJournal(Path.of(options.journalPath), board.getConfig(), seed);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            board.addListener(journal);
+        }
+        renderer = new BoardRenderer(System.out, options.renderMode);
+        renderer.render(board);
+        if (options.renderFps > 0) renderer.start(board, options.renderFps);
+
+        // Metrics are always readable over JMX; the periodic dump is optional
+        GameMetrics.registerMBean();
+        MetricsReporter reporter = new MetricsReporter(GameMetrics.global(), System.out);
+        if (options.metricsPeriodMillis > 0) reporter.start(options.metricsPeriodMillis);
+
+        // Label the static components now rather than in the first end-of-tick check
+        ConnectivityIndex.of(board);
+
+        // A keeps its route across ticks if requested
+        if (options.route == RouteMode.INCREMENTAL) route = new DStarLite(board, board.phones);
+
+        // B players share one distance field if requested
+        PursuitField pursuitField = options.pursuit == PursuitMode.SHARED_DISTANCE_FIELD
+                ? new PursuitField(board) : null;
+
+        // Game loop, paced by a single clock
+        TickClock clock = new TickClock(options.tickMode, options.tickPeriodMillis);
+        switch (options.execution) {
+            case VIRTUAL_THREADS -> runSwarm(pursuitField, clock);
+            case TICK_PIPELINE -> runPipeline(pursuitField, clock);
+            default -> runThreads(pursuitField, clock);
+        }
+
+        System.out.println("Tick clock: " + clock);
+        if (options.metricsPeriodMillis > 0) {
+            reporter.stop();
+            reporter.report();
+        }
+        closeJournal();
+        if (recording != null) {
+            recording.close();
+            System.out.println("Flight recording written to " + recording.getDestination());
+        }
+        System.exit(0);
+    }
 
+    /**
+     * Runs the game with one platform thread per entity, synchronized by the barrier.
+     */
+    private void runThreads(PursuitField pursuitField, TickClock clock)
+            throws InterruptedException, BrokenBarrierException {
         // Create and start A thread
-        aThread = new APlayerThread(board, board.phones, barrier);
+        aThread = new APlayerThread(new APlayerAgent(board, board.phones, options.planner, route), barrier);
 
         // Create and start B threads
         for (Entity b : board.bPlayers) {
-            bThreads.add(new BPlayerThread(board, b, barrier));
+            bThreads.add(new BPlayerThread(new BPlayerAgent(board, b, pursuitField, options.planner), barrier));
         }
 
         aThread.start();
         for (BPlayerThread bt : bThreads) bt.start();
 
-        // Game loop
         while (true) {
-            barrier.await();  // wait before printing
-            Thread.sleep(2000);
-
-            synchronized (board) {
-                System.out.println("\nEstado del tablero:");
-                board.display();
-
-                // Check for end conditions
-                if (hasWin() || isCaught() || !hasPathToPhone()) {
-                    if (hasWin()) {
-                        System.out.println("A has arrived to a Phone. ¡A wins!");
-                    } else if (isCaught()) {
-                        System.out.println("B has caught A. ¡B wins!");
-                    } else {
-                        System.out.println("A has no path to a Phone. Game Over.");
-                    }
-                    break;
-                }
-            }
-
-            barrier.await();  // wait after processing
+            clock.beginTick();
+            if (journal != null) journal.beginTick(tick);
+            TickPhaseEvent phase = beginPhase(TickPhaseEvent.RELEASE);
+            barrier.await();  // release the entities for this tick
+            phase.commit();
+            phase = beginPhase(TickPhaseEvent.MOVES);
+            barrier.await();  // wait until every entity has moved
+            phase.commit();
+            if (endOfTick()) break;
+            clock.endTick();  // wait until the next tick is due
         }
 
         stopThreads();
-        System.exit(0);
     }
 
     /**
-     * Checks if A-player has reached any phone.
-     *
-     * @return true if A has won; false otherwise
+     * Runs the game with one virtual thread per entity, synchronized by a phaser that needs no fixed party count.
      */
-    private boolean hasWin() {
-        for (Position phone : board.phones) {
-            if (board.aPlayer.position.equals(phone)) {
-                return true;
-            }
+    private void runSwarm(PursuitField pursuitField, TickClock clock) {
+        EntitySwarm swarm = new EntitySwarm(VirtualThreads.factory());
+        swarm.spawn(new APlayerAgent(board, board.phones, options.planner, route));
+        for (Entity b : board.bPlayers) {
+            swarm.spawn(new BPlayerAgent(board, b, pursuitField, options.planner));
         }
-        return false;
+
+        while (true) {
+            clock.beginTick();
+            if (journal != null) journal.beginTick(tick);
+            TickPhaseEvent phase = beginPhase(TickPhaseEvent.RELEASE);
+            swarm.awaitTickStart();  // release the entities for this tick
+            phase.commit();
+            phase = beginPhase(TickPhaseEvent.MOVES);
+            swarm.awaitTickEnd();    // wait until every entity has moved
+            phase.commit();
+            if (endOfTick()) break;
+            clock.endTick();
+        }
+
+        swarm.shutdown();
     }
 
     /**
-     * Checks if A-player has been caught by any B-player.
-     *
-     * @return true if A is caught; false otherwise
+     * Runs the game on the game loop thread, planning every tick's moves in parallel and applying them in one pass.
      */
-    private boolean isCaught() {
+    private void runPipeline(PursuitField pursuitField, TickClock clock) {
+        TickPipeline pipeline = new TickPipeline(board);
+        pipeline.add(new APlayerAgent(board, board.phones, options.planner, route));
         for (Entity b : board.bPlayers) {
-            if (b.position.equals(board.aPlayer.position)) {
-                return true;
-            }
+            pipeline.add(new BPlayerAgent(board, b, pursuitField, options.planner));
+        }
+
+        while (true) {
+            clock.beginTick();
+            if (journal != null) journal.beginTick(tick);
+            TickPhaseEvent phase = beginPhase(TickPhaseEvent.MOVES);
+            pipeline.tick();
+            phase.commit();
+            if (endOfTick()) break;
+            clock.endTick();
         }
-        return false;
     }
 
     /**
-     * Determines whether there is a valid path from A-player to any phone.
+     * Displays the board (unless a background renderer does it) and checks for end conditions once, against a
+     * consistent board state.
      *
-     * @return true if a path exists; false if A is blocked
+     * @return true if the game is over
      */
-    private boolean hasPathToPhone() {
-        return GameUtils.findNextMoveTowards(board, board.aPlayer.position, board.phones) != null;
+    private boolean endOfTick() {
+        TickPhaseEvent phase = beginPhase(TickPhaseEvent.END_OF_TICK);
+        try {
+            return checkEndOfTick();
+        } finally {
+            phase.commit();
+        }
+    }
+
+    private boolean checkEndOfTick() {
+        tick++;
+        if (options.renderFps == 0) {
+            if (options.renderMode == RenderMode.FULL_FRAME) System.out.println("\nEstado del tablero:");
+            renderer.render(board);
+        }
+
+        GameOutcome outcome = board.readLocked(() -> GameUtils.checkOutcome(board, route));
+        if (outcome == null) return false;
+        if (options.renderFps > 0) {
+            // Make sure the final position is on screen before announcing the result
+            renderer.stop();
+            renderer.render(board);
+        }
+        switch (outcome) {
+            case A_WINS -> System.out.println("A has arrived to a Phone. ¡A wins!");
+            case B_WINS -> System.out.println("B has caught A. ¡B wins!");
+            default -> System.out.println("A has no path to a Phone. Game Over.");
+        }
+        return true;
+    }
+
+    /**
+     * Starts timing a phase of the current tick; committing the event is a no-op unless a recording enables it.
+     */
+    private TickPhaseEvent beginPhase(String name) {
+        TickPhaseEvent phase = new TickPhaseEvent();
+        phase.tick = tick;
+        phase.phase = name;
+        phase.begin();
+        return phase;
+    }
+
+    /**
+     * Publishes the record count of the journal, if any, and closes its file.
+     */
+    private void closeJournal() {
+        if (journal == null) return;
+        board.removeListener(journal);
+        try {
+            journal.close();
+            System.out.println("Journal: " + journal.getRecords() + " moves written to " + options.journalPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
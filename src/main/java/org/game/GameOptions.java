@@ -0,0 +1,94 @@
+package org.game;
+
+import org.game.enums.ExecutionMode;
+import org.game.enums.PlannerType;
+import org.game.enums.PursuitMode;
+import org.game.enums.RenderMode;
+import org.game.enums.RouteMode;
+import org.game.enums.TickMode;
+
+import java.util.Properties;
+
+/**
+ * Runtime options of a game that are not part of the board itself.
+ */
+public class GameOptions {
+
+    /** Search algorithm of the individual searches (A toward the phones, and B-players without a shared field). */
+    public PlannerType planner = PlannerType.A_STAR;
+
+    /** How A plans its route to the phones. */
+    public RouteMode route = RouteMode.PER_TICK_SEARCH;
+
+    /** How B-players plan their chase of A. */
+    public PursuitMode pursuit = PursuitMode.INDIVIDUAL_SEARCH;
+
+    /** How the game clock paces ticks. */
+    public TickMode tickMode = TickMode.FIXED_RATE;
+
+    /** Tick period in milliseconds when running at a fixed rate. */
+    public long tickPeriodMillis = 2000;
+
+    /** How entities are mapped onto threads. */
+    public ExecutionMode execution = ExecutionMode.PLATFORM_THREADS;
+
+    /** How board frames are written to the console. */
+    public RenderMode renderMode = RenderMode.FULL_FRAME;
+
+    /**
+     * Frame rate cap of the background renderer; 0 renders every tick on the game loop thread instead.
+     */
+    public int renderFps = 0;
+
+    /** Seed of the board generator; {@code null} picks a random one, which is printed so the game can be replayed. */
+    public Long seed = null;
+
+    /** File to journal every move to, or {@code null} to not record the game. */
+    public String journalPath = null;
+
+    /** File to write a flight recording of the game to, or {@code null} to not record one. */
+    public String jfrPath = null;
+
+    /** Period of the metrics dump on standard output in milliseconds; 0 prints no periodic dump. */
+    public long metricsPeriodMillis = 0;
+
+    /**
+     * Reads the options from properties, keeping the defaults for missing keys.
+     * Recognized keys: {@code game.planner} ({@link PlannerType} name), {@code game.route} ({@link RouteMode}
+     * name), {@code game.pursuit} ({@link PursuitMode} name), {@code game.tickMode} ({@link TickMode} name),
+     * {@code game.tickPeriodMs}, {@code game.execution} ({@link ExecutionMode} name), {@code game.renderMode}
+     * ({@link RenderMode} name), {@code game.renderFps}, {@code game.seed}, {@code game.journal} (a file path),
+     * {@code game.jfr} (a file path) and {@code game.metricsPeriodMs}.
+     *
+     * @param props the properties to read
+     * @return the options
+     */
+    public static GameOptions fromProperties(Properties props) {
+        GameOptions options = new GameOptions();
+        String planner = props.getProperty("game.planner");
+        if (planner != null) options.planner = PlannerType.valueOf(planner.trim().toUpperCase());
+        String route = props.getProperty("game.route");
+        if (route != null) options.route = RouteMode.valueOf(route.trim().toUpperCase());
+        String pursuit = props.getProperty("game.pursuit");
+        if (pursuit != null) options.pursuit = PursuitMode.valueOf(pursuit.trim().toUpperCase());
+        String tickMode = props.getProperty("game.tickMode");
+        if (tickMode != null) options.tickMode = TickMode.valueOf(tickMode.trim().toUpperCase());
+        String period = props.getProperty("game.tickPeriodMs");
+        if (period != null) options.tickPeriodMillis = Long.parseLong(period.trim());
+        String execution = props.getProperty("game.execution");
+        if (execution != null) options.execution = ExecutionMode.valueOf(execution.trim().toUpperCase());
+        String renderMode = props.getProperty("game.renderMode");
+        if (renderMode != null) options.renderMode = RenderMode.valueOf(renderMode.trim().toUpperCase());
+        String fps = props.getProperty("game.renderFps");
+        if (fps != null) options.renderFps = Integer.parseInt(fps.trim());
+        String seed = props.getProperty("game.seed");
+        if (seed != null) options.seed = Long.parseLong(seed.trim());
+        String journal = props.getProperty("game.journal");
+        if (journal != null && !journal.isBlank()) options.journalPath = journal.trim();
+        String jfr = props.getProperty("game.jfr");
+        if (jfr != null && !jfr.isBlank()) options.jfrPath = jfr.trim();
+        String metricsPeriod = props.getProperty("game.metricsPeriodMs");
+        if (metricsPeriod != null) options.metricsPeriodMillis = Long.parseLong(metricsPeriod.trim());
+        return options;
+    }
+}
@@ -1,11 +1,19 @@
 package org.game;
 
-import org.game.enums.EntityType;
+import org.game.enums.GameOutcome;
+import org.game.enums.PlannerType;
+import org.game.jfr.SearchEvent;
+import org.game.metrics.GameMetrics;
+import org.game.pathfinding.AStarEngine;
+import org.game.pathfinding.ConnectivityIndex;
+import org.game.pathfinding.DStarLite;
+import org.game.pathfinding.PathPlanner;
 
-import java.util.*;
+import java.util.List;
 
 /**
- * Utility class for game logic operations, including pathfinding using the A* algorithm.
+ * Utility class for game logic operations, including pathfinding using the A* algorithm
+ * and the end-of-game rules.
  */
 public class GameUtils {
 
@@ -13,95 +21,142 @@ public class GameUtils {
      * Finds the next optimal position for an entity to move toward one of the goal positions using
      * the A* pathfinding algorithm.
      *
+     * The search itself runs on the calling thread's {@link AStarEngine}, which works on flat cell
+     * indices and reuses its buffers, so this method only allocates the goal array and the result.
+     * Where several shortest paths exist, it picks the same next move as the original planner did.
+     * It holds no lock: callers that race with moves should call it through
+     * {@link Board#readConsistent(java.util.function.Supplier)}.
+     *
      * @param board the current game board
      * @param start the starting position of the entity
      * @param goals a list of possible goal positions to reach
      * @return the immediate next {@link Position} toward the closest reachable goal,
      *         or {@code null} if no path is found
      */
-    public static synchronized Position findNextMoveTowards(Board board, Position start, List<Position> goals) {
-        Set<Position> goalSet = new HashSet<>(goals);
-        Map<Position, Position> cameFrom = new HashMap<>();
-        Map<Position, Double> gScore = new HashMap<>();
-        Map<Position, Double> fScore = new HashMap<>();
-
-        Comparator<Position> comparator = Comparator.comparingDouble(p -> fScore.getOrDefault(p, Double.POSITIVE_INFINITY));
-        PriorityQueue<Position> openSet = new PriorityQueue<>(comparator);
-        Set<Position> closedSet = new HashSet<>();
-
-        gScore.put(start, 0.0);
-        fScore.put(start, estimateMinDistance(start, goals));
-        openSet.add(start);
-
-        int[][] dirs = {
-                {-1, 0}, {1, 0}, {0, -1}, {0, 1},
-                {-1, -1}, {-1, 1}, {1, 1}, {1, -1}
-        };
-
-        while (!openSet.isEmpty()) {
-            Position current = openSet.poll();
-
-            // If we've reached any goal, backtrack to find the next move
-            if (goalSet.contains(current)) {
-                Position backtrack = current;
-                while (cameFrom.containsKey(backtrack) && !cameFrom.get(backtrack).equals(start)) {
-                    backtrack = cameFrom.get(backtrack);
-                }
-                return cameFrom.containsKey(backtrack) ? backtrack : current;
-            }
-
-            closedSet.add(current);
-
-            // Explore neighbors
-            for (int[] d : dirs) {
-                Position neighbor = new Position(current.row + d[0], current.col + d[1]);
-
-                if (!board.isInBounds(neighbor) || !board.isWalkable(neighbor) || closedSet.contains(neighbor))
-                    continue;
+    public static Position findNextMoveTowards(Board board, Position start, List<Position> goals) {
+        return findNextMoveTowards(board, start, goals, PlannerType.A_STAR);
+    }
 
-                double tentativeG = gScore.get(current) + distance(current, neighbor);
+    /**
+     * Finds the next position toward the closest reachable goal with the calling thread's planner of the given
+     * type. Every planner finds a goal whenever one is reachable; all but {@link PlannerType#HIERARCHICAL}
+     * follow a path of optimal length.
+     *
+     * @param board   the current game board
+     * @param start   the starting position of the entity
+     * @param goals   a list of possible goal positions to reach
+     * @param planner the search algorithm to use
+     * @return the immediate next {@link Position} toward the closest reachable goal,
+     *         or {@code null} if no path is found
+     */
+    public static Position findNextMoveTowards(Board board, Position start, List<Position> goals,
+                                               PlannerType planner) {
+        int width = board.getWidth();
+        int[] goalCells = new int[goals.size()];
+        for (int i = 0; i < goalCells.length; i++) {
+            Position goal = goals.get(i);
+            goalCells[i] = goal.row * width + goal.col;
+        }
 
-                if (tentativeG < gScore.getOrDefault(neighbor, Double.POSITIVE_INFINITY)) {
-                    cameFrom.put(neighbor, current);
-                    gScore.put(neighbor, tentativeG);
-                    double h = estimateMinDistance(neighbor, goals);
-                    fScore.put(neighbor, tentativeG + h);
+        int next = findNextCell(board, start.row * width + start.col, goalCells, goalCells.length, planner);
+        return next == AStarEngine.NO_PATH ? null : board.positionOf(next);
+    }
 
-                    // Update priority in open set
-                    openSet.remove(neighbor);
-                    openSet.add(neighbor);
-                }
-            }
+    /**
+     * Allocation-free variant of {@link #findNextMoveTowards(Board, Position, List, PlannerType)} over flat cell
+     * indices {@code row * width + col}, for callers that iterate the {@link EntityStore}.
+     *
+     * @param board     the current game board
+     * @param start     flat index of the starting cell
+     * @param goals     flat indices of the goal cells
+     * @param goalCount number of valid entries in {@code goals}
+     * @param planner   the search algorithm to use
+     * @return the flat index of the next cell, {@code start} itself if it is a goal, or
+     *         {@link AStarEngine#NO_PATH} if no goal is reachable
+     */
+    public static int findNextCell(Board board, int start, int[] goals, int goalCount, PlannerType planner) {
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        PathPlanner search = PathPlanner.forCurrentThread(planner);
+        int next = search.findNextCell(board, start, goals, goalCount);
+        GameMetrics.global().recordSearch(search.getNodesExpanded(), search.getOpenSetPeak());
+        event.end();
+        if (event.shouldCommit()) {
+            int width = board.getWidth();
+            event.planner = planner.name();
+            event.startRow = start / width;
+            event.startCol = start % width;
+            event.goalCount = goalCount;
+            event.nodesExpanded = search.getNodesExpanded();
+            event.openSetPeak = search.getOpenSetPeak();
+            event.found = next != AStarEngine.NO_PATH;
+            event.nextRow = event.found ? next / width : -1;
+            event.nextCol = event.found ? next % width : -1;
+            event.commit();
         }
+        return next;
+    }
+
+    /**
+     * Evaluates the end-of-game rules once:
+     * - A reaches a phone (A wins).
+     * - A is caught by any B (B wins).
+     * - A cannot reach any phone (blocked).
+     *
+     * @param board the current game board
+     * @return the outcome if the game is over, or {@code null} if it goes on
+     */
+    public static GameOutcome checkOutcome(Board board) {
+        return checkOutcome(board, null);
+    }
 
+    /**
+     * Evaluates the end-of-game rules once, asking A's incremental route whether a phone is still reachable
+     * instead of searching from scratch.
+     *
+     * @param board the current game board
+     * @param route A's incremental route to the phones, or {@code null} to run a fresh search
+     * @return the outcome if the game is over, or {@code null} if it goes on
+     */
+    public static GameOutcome checkOutcome(Board board, DStarLite route) {
+        if (hasWin(board)) return GameOutcome.A_WINS;
+        if (isCaught(board)) return GameOutcome.B_WINS;
+        boolean reachable = route != null ? route.hasPath(board.aPlayer.position) : hasPathToPhone(board);
+        if (!reachable) return GameOutcome.BLOCKED;
         return null;
     }
 
     /**
-     * Calculates the Euclidean distance between two positions.
+     * Checks if A-player has reached any phone, in constant time through the board's phone bits.
      *
-     * @param a the first position
-     * @param b the second position
-     * @return the Euclidean distance between a and b
+     * @param board the current game board
+     * @return true if A has won; false otherwise
      */
-    private static double distance(Position a, Position b) {
-        int dx = a.row - b.row;
-        int dy = a.col - b.col;
-        return Math.sqrt(dx * dx + dy * dy);
+    public static boolean hasWin(Board board) {
+        Position a = board.aPlayer.position;
+        return board.hasPhoneAt(a.row * board.getWidth() + a.col);
     }
 
     /**
-     * Estimates the minimum distance from a given position to any of the goals.
-     * Used as the heuristic function in A*.
+     * Checks if A-player has been caught by any B-player, in constant time through the board's B-player bits.
      *
-     * @param from  the starting position
-     * @param goals the list of goal positions
-     * @return the minimum Euclidean distance to any goal
+     * @param board the current game board
+     * @return true if A is caught; false otherwise
+     */
+    public static boolean isCaught(Board board) {
+        Position a = board.aPlayer.position;
+        return board.hasBAt(a.row * board.getWidth() + a.col);
+    }
+
+    /**
+     * Determines whether there is a valid path from A-player to any phone. The board's
+     * {@link ConnectivityIndex} answers from its static components when it can, and otherwise with a bounded
+     * search or a word-parallel flood fill, never with a full search.
+     *
+     * @param board the current game board
+     * @return true if a path exists; false if A is blocked
      */
-    private static double estimateMinDistance(Position from, List<Position> goals) {
-        return goals.stream()
-                .mapToDouble(goal -> distance(from, goal))
-                .min()
-                .orElse(Double.POSITIVE_INFINITY);
+    public static boolean hasPathToPhone(Board board) {
+        return ConnectivityIndex.of(board).phoneReachable();
     }
 }
@@ -7,8 +7,13 @@ import java.util.concurrent.CyclicBarrier;
  * Entry point for the MatrixConcurrent game.
  *
  * This class initializes the synchronization barrier and starts the game loop.
- * The barrier is configured to wait for 4 threads: 1 A-player thread, 2 B-player threads,
- * and the main thread (used for printing and logic coordination).
+ * The barrier is configured to wait for 1 A-player thread, one thread per B-player,
+ * and the main thread (used for printing and logic coordination). In the virtual-thread execution mode
+ * ({@code -Dgame.execution=VIRTUAL_THREADS}, Java 21+) entities synchronize through a phaser instead.
+ *
+ * The board is configured through system properties (see {@link BoardConfig#fromProperties}), e.g.
+ * {@code -Dboard.width=1000 -Dboard.height=1000 -Dboard.obstacles=50000 -Dboard.bPlayers=20}, and the game
+ * options likewise (see {@link GameOptions#fromProperties}), e.g. {@code -Dgame.pursuit=SHARED_DISTANCE_FIELD}.
  */
 public class Main {
 
@@ -20,11 +25,13 @@ public class Main {
      * @throws BrokenBarrierException if the synchronization barrier is broken
      */
     public static void main(String[] args) throws InterruptedException, BrokenBarrierException {
-        // Create a barrier for 4 parties (A, B1, B2, and the main thread)
-        CyclicBarrier barrier = new CyclicBarrier(4);
+        BoardConfig config = BoardConfig.fromProperties(System.getProperties());
+
+        // Create a barrier for A, every B, and the main thread
+        CyclicBarrier barrier = new CyclicBarrier(config.bPlayers + 2);
 
         // Initialize and start the game
-        Game game = new Game(barrier);
+        Game game = new Game(barrier, config, GameOptions.fromProperties(System.getProperties()));
         game.start();
     }
 }
@@ -0,0 +1,116 @@
+package org.game;
+
+/**
+ * Maps occupied cells to the id of the entity standing on them.
+ *
+ * An open-addressing hash table with linear probing over one primitive array, so a lookup is a couple of array
+ * reads and nothing is boxed. Only occupied cells take space, which keeps the index small next to the
+ * one-byte-per-cell grid even on 10,000x10,000 boards.
+ *
+ * Not thread-safe; the {@link Board} keeps one per tile and only changes it while holding that tile's write lock.
+ * Lookups may race with a writer: each slot keeps its cell and id side by side in one array, and a grown table is
+ * filled before it is published through a volatile field, so a reader always works on one complete table. It may
+ * get a stale answer, but never reads past the table and never probes more than every slot once.
+ */
+final class OccupantIndex {
+
+    private static final int NONE = -1;
+
+    /**
+     * Slot {@code i} holds its cell at {@code 2 * i} ({@link #NONE} if empty) and the entity id at {@code 2 * i + 1}.
+     * The number of slots is a power of two and at most half of them are occupied.
+     */
+    private volatile int[] table;
+
+    /** Number of occupied slots. */
+    private int size;
+
+    OccupantIndex() {
+        table = emptyTable(16);
+    }
+
+    /**
+     * @param cell flat index of a cell
+     * @return the id of the entity on the cell, or -1 if none is recorded
+     */
+    int get(int cell) {
+        int[] t = table;
+        int mask = (t.length >>> 1) - 1;
+        int i = hash(cell) & mask;
+        for (int probes = 0; probes <= mask; probes++, i = (i + 1) & mask) {
+            int key = t[2 * i];
+            if (key == cell) return t[2 * i + 1];
+            if (key == NONE) return NONE;
+        }
+        return NONE;
+    }
+
+    /**
+     * Records {@code id} as the occupant of {@code cell}, replacing the previous one.
+     */
+    void put(int cell, int id) {
+        int[] t = table;
+        if (2 * (size + 1) > t.length >>> 1) t = grow(t);
+        int mask = (t.length >>> 1) - 1;
+        int i = hash(cell) & mask;
+        while (t[2 * i] != NONE && t[2 * i] != cell) i = (i + 1) & mask;
+        if (t[2 * i] == NONE) size++;
+        t[2 * i + 1] = id;
+        t[2 * i] = cell;
+    }
+
+    /**
+     * Forgets the occupant of {@code cell}, if any.
+     */
+    void remove(int cell) {
+        int[] t = table;
+        int mask = (t.length >>> 1) - 1;
+        int i = hash(cell) & mask;
+        while (t[2 * i] != cell) {
+            if (t[2 * i] == NONE) return;
+            i = (i + 1) & mask;
+        }
+        // Shift later entries of the probe run back so that no lookup stops at the hole
+        int hole = i;
+        for (int j = (hole + 1) & mask; t[2 * j] != NONE; j = (j + 1) & mask) {
+            int home = hash(t[2 * j]) & mask;
+            boolean movable = hole <= j ? (home <= hole || home > j) : (home <= hole && home > j);
+            if (movable) {
+                t[2 * hole + 1] = t[2 * j + 1];
+                t[2 * hole] = t[2 * j];
+                hole = j;
+            }
+        }
+        t[2 * hole] = NONE;
+        size--;
+    }
+
+    private int[] grow(int[] old) {
+        int[] t = emptyTable(old.length);
+        int mask = (t.length >>> 1) - 1;
+        for (int k = 0; k < old.length; k += 2) {
+            if (old[k] == NONE) continue;
+            int i = hash(old[k]) & mask;
+            while (t[2 * i] != NONE) i = (i + 1) & mask;
+            t[2 * i] = old[k];
+            t[2 * i + 1] = old[k + 1];
+        }
+        // Publish the filled table as a whole, so a racing reader sees either the old or the new one
+        table = t;
+        return t;
+    }
+
+    /**
+     * @return a table of {@code slots} empty slots
+     */
+    private static int[] emptyTable(int slots) {
+        int[] t = new int[2 * slots];
+        for (int i = 0; i < t.length; i += 2) t[i] = NONE;
+        return t;
+    }
+
+    private static int hash(int cell) {
+        int h = cell * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
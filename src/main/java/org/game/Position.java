@@ -1,7 +1,5 @@
 package org.game;
 
-import java.util.Objects;
-
 /**
  * Represents a coordinate (row, column) on the game board.
  * Positions are immutable and used to determine the location of entities.
@@ -41,12 +39,12 @@ public class Position {
     }
 
     /**
-     * Returns a hash code for this position based on its row and column.
+     * Returns a hash code for this position based on its row and column, computed without boxing them.
      *
      * @return the hash code
      */
     @Override
     public int hashCode() {
-        return Objects.hash(row, col);
+        return 31 * row + col;
     }
 }
@@ -0,0 +1,94 @@
+package org.game;
+
+/**
+ * Interns the {@link Position}s of the cells that entities have stood on, so that moves by cell index can keep
+ * {@link Entity#position} up to date without allocating.
+ *
+ * An open-addressing hash table with linear probing over one array of positions; the cell of a slot is derived
+ * from the position it holds, so there is no key array. Only visited cells take space, unlike a table with one
+ * entry per cell of the board. Entries are never removed: an entity is likely to come back to a cell it left.
+ *
+ * Not thread-safe; the {@link Board} keeps one per tile and only adds to it while holding that tile's write lock,
+ * like the {@link OccupantIndex}. Lookups may race with a writer: positions are immutable, and a grown table is
+ * filled before it is published through a volatile field, so a reader sees either a complete position or none.
+ */
+final class PositionTable {
+
+    /** Width of the board, to turn a position back into its cell. */
+    private final int width;
+
+    /** Slots holding a position or {@code null}; a power of two in length and at most half full. */
+    private volatile Position[] table;
+
+    /** Number of occupied slots. */
+    private int size;
+
+    PositionTable(int width) {
+        this.width = width;
+        this.table = new Position[16];
+    }
+
+    /**
+     * @param cell flat index of a cell
+     * @return the interned position of the cell, or {@code null} if there is none yet
+     */
+    Position get(int cell) {
+        Position[] t = table;
+        int mask = t.length - 1;
+        int i = hash(cell) & mask;
+        for (int probes = 0; probes <= mask; probes++, i = (i + 1) & mask) {
+            Position p = t[i];
+            if (p == null) return null;
+            if (p.row * width + p.col == cell) return p;
+        }
+        return null;
+    }
+
+    /**
+     * @param cell flat index of a cell
+     * @return the interned position of the cell, created and added if there is none yet
+     */
+    Position intern(int cell) {
+        Position[] t = table;
+        int mask = t.length - 1;
+        int i = hash(cell) & mask;
+        for (Position p = t[i]; p != null; p = t[i]) {
+            if (p.row * width + p.col == cell) return p;
+            i = (i + 1) & mask;
+        }
+        Position p = new Position(cell / width, cell % width);
+        if (2 * (size + 1) > t.length) {
+            t = grow(t);
+            add(t, p);
+            // Publish the filled table as a whole, so a racing reader sees either the old or the new one
+            table = t;
+        } else {
+            t[i] = p;
+        }
+        size++;
+        return p;
+    }
+
+    private Position[] grow(Position[] old) {
+        Position[] t = new Position[2 * old.length];
+        for (Position p : old) {
+            if (p != null) add(t, p);
+        }
+        return t;
+    }
+
+    /**
+     * Adds a position to a table that does not hold its cell yet.
+     */
+    private void add(Position[] t, Position p) {
+        int mask = t.length - 1;
+        int i = hash(p.row * width + p.col) & mask;
+        while (t[i] != null) i = (i + 1) & mask;
+        t[i] = p;
+    }
+
+    private static int hash(int cell) {
+        int h = cell * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -7,9 +7,35 @@ public enum EntityType {
     B('B'),
     EMPTY('.');
 
+    private static final EntityType[] BY_CODE = values();
+
     public final char symbol;
 
+    /** Compact code of this type as stored in the board grid (its ordinal). */
+    public final byte code;
+
     EntityType(char symbol) {
         this.symbol = symbol;
+        this.code = (byte) ordinal();
+    }
+
+    /**
+     * Decodes a grid cell code back into its entity type.
+     *
+     * @param code the code stored in the grid
+     * @return the matching entity type
+     */
+    public static EntityType ofCode(byte code) {
+        return BY_CODE[code];
+    }
+
+    /**
+     * A cell can be moved to if it is empty, contains a phone, or contains A itself.
+     *
+     * @param code the code stored in the grid
+     * @return true if a cell holding this code is walkable
+     */
+    public static boolean isWalkableCode(byte code) {
+        return code == EMPTY.code || code == PHONE.code || code == A.code;
     }
 }
@@ -0,0 +1,18 @@
+package org.game.enums;
+
+/**
+ * How entity logic is mapped onto threads.
+ */
+public enum ExecutionMode {
+    /** One platform thread per entity, synchronized by a fixed-size {@link java.util.concurrent.CyclicBarrier}. */
+    PLATFORM_THREADS,
+
+    /** One virtual thread per entity, synchronized by a tiered {@link java.util.concurrent.Phaser}. */
+    VIRTUAL_THREADS,
+
+    /**
+     * Every entity plans in parallel against the same board, then the game loop resolves conflicting moves and
+     * applies them in a fixed order, so a tick's outcome does not depend on thread scheduling.
+     */
+    TICK_PIPELINE
+}
@@ -0,0 +1,18 @@
+package org.game.enums;
+
+/**
+ * How a game ended.
+ */
+public enum GameOutcome {
+    /** A reached a phone. */
+    A_WINS,
+
+    /** A B-player caught A. */
+    B_WINS,
+
+    /** A has no path to any phone. */
+    BLOCKED,
+
+    /** The game did not end within the allowed number of ticks (headless runs only). */
+    TIMEOUT
+}
@@ -0,0 +1,13 @@
+package org.game.enums;
+
+/**
+ * Search algorithm used to find the next step toward a set of goals.
+ */
+public enum PlannerType {
+    /** Plain A*, expanding all 8 neighbors of every cell. */
+    A_STAR,
+    /** Jump Point Search: A* over jump points only, which skips the symmetric paths of open areas. */
+    JUMP_POINT,
+    /** Hierarchical A* (HPA*) over the board's clusters: near-optimal paths, cheap on very large boards. */
+    HIERARCHICAL
+}
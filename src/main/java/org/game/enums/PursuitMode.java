@@ -0,0 +1,12 @@
+package org.game.enums;
+
+/**
+ * How B-players plan their chase of A.
+ */
+public enum PursuitMode {
+    /** Every B-player runs its own A* search toward A each tick. */
+    INDIVIDUAL_SEARCH,
+
+    /** One distance field is flooded from A per tick and shared by every B-player. */
+    SHARED_DISTANCE_FIELD
+}
@@ -0,0 +1,12 @@
+package org.game.enums;
+
+/**
+ * How board frames are written to the console.
+ */
+public enum RenderMode {
+    /** Every frame prints the whole board, one line per row. */
+    FULL_FRAME,
+
+    /** The first frame clears the screen; later frames only redraw cells that changed, using ANSI cursor moves. */
+    ANSI_DIFF
+}
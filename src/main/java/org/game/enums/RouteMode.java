@@ -0,0 +1,11 @@
+package org.game.enums;
+
+/**
+ * How the A-player plans its route to the phones.
+ */
+public enum RouteMode {
+    /** A fresh search from scratch every tick. */
+    PER_TICK_SEARCH,
+    /** One D* Lite search kept across ticks and repaired where the board changed. */
+    INCREMENTAL
+}
@@ -0,0 +1,12 @@
+package org.game.enums;
+
+/**
+ * How the game clock paces ticks.
+ */
+public enum TickMode {
+    /** Ticks start at a fixed period, measured from the first tick so that delays do not accumulate. */
+    FIXED_RATE,
+
+    /** The next tick starts as soon as the previous one is done; used for throughput testing. */
+    AS_FAST_AS_POSSIBLE
+}
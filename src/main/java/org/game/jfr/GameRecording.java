@@ -0,0 +1,80 @@
+package org.game.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * A Java Flight Recorder recording of a game, configured by the bundled {@value #SETTINGS} settings.
+ *
+ * The settings enable the game's own events ({@link TickPhaseEvent}, {@link SearchEvent}, {@link MoveEvent},
+ * {@link RenderEvent}) next to a few JVM events (garbage collections, CPU load, lock contention). Code emitting
+ * an event checks {@code isEnabled()} or {@code shouldCommit()} first, so without a recording, or with the event
+ * disabled, it only costs that check; the event object itself does not escape and is not allocated once the
+ * code is compiled.
+ */
+public final class GameRecording implements AutoCloseable {
+
+    /** Classpath resource of the recording settings. */
+    public static final String SETTINGS = "/org/game/jfr/game.jfc";
+
+    private final Recording recording;
+
+    private GameRecording(Recording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * @return the bundled recording settings
+     * @throws IOException if the settings cannot be read
+     */
+    public static Configuration settings() throws IOException {
+        InputStream in = GameRecording.class.getResourceAsStream(SETTINGS);
+        if (in == null) throw new IOException("Missing " + SETTINGS);
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        } catch (ParseException e) {
+            throw new IOException("Invalid " + SETTINGS, e);
+        }
+    }
+
+    /**
+     * Starts recording with the bundled settings; the recording is written to {@code destination} when it is
+     * {@link #close() closed}.
+     *
+     * @param destination the {@code .jfr} file to write
+     * @return the running recording
+     * @throws IOException if the settings cannot be read or the destination cannot be written
+     */
+    public static GameRecording start(Path destination) throws IOException {
+        Recording recording = new Recording(settings());
+        recording.setName("MatrixConcurrent");
+        recording.setToDisk(true);
+        recording.setDestination(destination);
+        recording.start();
+        return new GameRecording(recording);
+    }
+
+    /**
+     * @return the file the recording is written to
+     */
+    public Path getDestination() {
+        return recording.getDestination();
+    }
+
+    /**
+     * Stops the recording and writes it to its destination.
+     */
+    @Override
+    public void close() {
+        recording.stop();
+        recording.close();
+    }
+}
@@ -0,0 +1,28 @@
+package org.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One move applied by {@link org.game.Board#moveEntity}.
+ */
+@Name("org.game.Move")
+@Label("Entity Move")
+@Category({"MatrixConcurrent", "Board"})
+@Description("An entity moved from one cell to another")
+public class MoveEvent extends jdk.jfr.Event {
+
+    @Label("Entity Id")
+    public int entityId;
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("From Cell")
+    public int from;
+
+    @Label("To Cell")
+    public int to;
+}
@@ -0,0 +1,27 @@
+package org.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One frame drawn by {@link org.game.render.BoardRenderer}.
+ */
+@Name("org.game.Render")
+@Label("Board Render")
+@Category({"MatrixConcurrent", "Render"})
+@Description("A frame of the board written to the console")
+public class RenderEvent extends jdk.jfr.Event {
+
+    @Label("Mode")
+    public String mode;
+
+    @Label("Cells")
+    public int cells;
+
+    @Label("Frame Size")
+    @DataAmount
+    public int bytes;
+}
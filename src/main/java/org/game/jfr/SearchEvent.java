@@ -0,0 +1,44 @@
+package org.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One path search of {@link org.game.GameUtils#findNextMoveTowards}.
+ */
+@Name("org.game.Search")
+@Label("Path Search")
+@Category({"MatrixConcurrent", "Pathfinding"})
+@Description("A search for the next step toward the closest reachable goal")
+public class SearchEvent extends jdk.jfr.Event {
+
+    @Label("Planner")
+    public String planner;
+
+    @Label("Start Row")
+    public int startRow;
+
+    @Label("Start Column")
+    public int startCol;
+
+    @Label("Goal Count")
+    public int goalCount;
+
+    @Label("Nodes Expanded")
+    public int nodesExpanded;
+
+    @Label("Open Set Peak")
+    public int openSetPeak;
+
+    @Label("Found")
+    @Description("Whether a goal was reachable")
+    public boolean found;
+
+    @Label("Next Row")
+    public int nextRow;
+
+    @Label("Next Column")
+    public int nextCol;
+}
@@ -0,0 +1,32 @@
+package org.game.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One phase of a tick on the game loop thread: releasing the entities, waiting for their moves, or the end of the
+ * tick (rendering and the end-of-game check).
+ */
+@Name("org.game.TickPhase")
+@Label("Tick Phase")
+@Category({"MatrixConcurrent", "Tick"})
+@Description("A phase of a game tick, as seen by the game loop")
+public class TickPhaseEvent extends jdk.jfr.Event {
+
+    /** The entities are released for the tick. */
+    public static final String RELEASE = "release";
+
+    /** The entities plan and commit their moves. */
+    public static final String MOVES = "moves";
+
+    /** The board is rendered and the end-of-game rules are checked. */
+    public static final String END_OF_TICK = "end of tick";
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Phase")
+    public String phase;
+}
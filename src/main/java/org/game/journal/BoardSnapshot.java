@@ -0,0 +1,92 @@
+package org.game.journal;
+
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.EntityStore;
+
+/**
+ * In-memory copy of the full state of a {@link Board} at one point of a game: its grid and its entity table.
+ *
+ * {@link #capture(Board, int)} holds the board still only for as long as copying it takes (a memory copy of one
+ * byte per cell and a few per entity); the copy can then be written by {@link SnapshotWriter} on any thread while
+ * the game goes on.
+ */
+public final class BoardSnapshot {
+
+    private final BoardConfig config;
+    private final int tick;
+    private final long version;
+    final byte[] grid;
+    final int[] cells;
+    final byte[] types;
+    final boolean[] alive;
+    final int entities;
+
+    private BoardSnapshot(BoardConfig config, int tick, long version, byte[] grid, int[] cells, byte[] types,
+                          boolean[] alive) {
+        this.config = config;
+        this.tick = tick;
+        this.version = version;
+        this.grid = grid;
+        this.cells = cells;
+        this.types = types;
+        this.alive = alive;
+        this.entities = cells.length;
+    }
+
+    /**
+     * Copies the board while no move can land, by {@link Board#readLocked reading it locked}. Call it between
+     * ticks so that the copy holds whole ticks only.
+     *
+     * @param board the board to copy
+     * @param tick  the last tick whose moves the board holds
+     * @return the copy
+     */
+    public static BoardSnapshot capture(Board board, int tick) {
+        BoardConfig config = board.getConfig();
+        // Allocated before locking, so that the board is only held for the copy itself
+        byte[] grid = new byte[config.width * config.height];
+        return board.readLocked(() -> {
+            EntityStore store = board.getEntityStore();
+            int n = store.size();
+            int[] cells = new int[n];
+            byte[] types = new byte[n];
+            boolean[] alive = new boolean[n];
+            long version = board.copyGrid(grid);
+            for (int id = 0; id < n; id++) {
+                cells[id] = store.cellOf(id);
+                types[id] = store.typeOf(id).code;
+                alive[id] = store.isAlive(id);
+            }
+            return new BoardSnapshot(config, tick, version, grid, cells, types, alive);
+        });
+    }
+
+    /**
+     * @return the board configuration
+     */
+    public BoardConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * @return the last tick whose moves the snapshot holds
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * @return the {@link Board#getVersion() version} of the board when it was copied
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the number of entities in the snapshot, live or not
+     */
+    public int getEntities() {
+        return entities;
+    }
+}
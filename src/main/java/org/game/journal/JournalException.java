@@ -0,0 +1,17 @@
+package org.game.journal;
+
+/**
+ * Thrown when a move journal or a board snapshot cannot be written or read.
+ */
+public class JournalException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message what went wrong
+     * @param cause   the underlying error, may be {@code null}
+     */
+    public JournalException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,116 @@
+package org.game.journal;
+
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.Position;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Rebuilds the board of a journaled game at any tick, without pathfinding or sleeps.
+ *
+ * The initial board is regenerated from the seed in the journal header; the move records are then streamed
+ * from a read-only memory mapping and applied with {@link Board#moveEntity}, so replay runs at memory speed.
+ */
+public class JournalReplayer implements Closeable {
+
+    /** Records mapped at a time, so journals larger than 2 GB can be streamed. */
+    private static final long RECORDS_PER_REGION = 1L << 24;
+
+    private final FileChannel channel;
+
+    /** Board configuration of the journaled game. */
+    private final BoardConfig config;
+
+    /** Seed the journaled board was generated from. */
+    private final long seed;
+
+    /** Number of records in the journal. */
+    private final long records;
+
+    /**
+     * Opens a journal written by {@link MoveJournal}.
+     *
+     * @param path the journal file
+     * @throws IOException      if the file cannot be read
+     * @throws JournalException if the file is not a journal of a supported version
+     */
+    public JournalReplayer(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, MoveJournal.HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != MoveJournal.MAGIC) {
+            channel.close();
+            throw new JournalException("Not a move journal: " + path, null);
+        }
+        if (header.getInt(4) != MoveJournal.VERSION || header.getInt(8) != MoveJournal.RECORD_SIZE) {
+            channel.close();
+            throw new JournalException("Unsupported journal version " + header.getInt(4) + ": " + path, null);
+        }
+        config = new BoardConfig(header.getInt(12), header.getInt(16), header.getInt(20),
+                header.getInt(24), header.getInt(28));
+        seed = header.getLong(32);
+        long available = (channel.size() - MoveJournal.HEADER_SIZE) / MoveJournal.RECORD_SIZE;
+        records = Math.min(header.getLong(MoveJournal.COUNT_OFFSET), available);
+    }
+
+    /**
+     * Rebuilds the board as it was at the end of {@code tick}.
+     *
+     * @param tick the last tick whose moves are applied; use {@link Integer#MAX_VALUE} for the final state
+     * @return a new board in that state
+     * @throws IOException if the journal cannot be read
+     */
+    public Board replayTo(int tick) throws IOException {
+        Board board = new Board(config);
+        board.initialize(seed);
+
+        for (long first = 0; first < records; first += RECORDS_PER_REGION) {
+            long count = Math.min(RECORDS_PER_REGION, records - first);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY,
+                    MoveJournal.HEADER_SIZE + first * MoveJournal.RECORD_SIZE, count * MoveJournal.RECORD_SIZE);
+            region.order(ByteOrder.LITTLE_ENDIAN);
+            for (long i = 0; i < count; i++) {
+                int recordTick = region.getInt();
+                int entityId = region.getInt();
+                int cell = region.getInt();
+                // Ticks are non-decreasing, so the first later tick ends the replay
+                if (recordTick > tick) return board;
+                board.moveEntity(entityId, cell);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * @return the board configuration of the journaled game
+     */
+    public BoardConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * @return the seed the journaled board was generated from
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return the number of move records in the journal
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
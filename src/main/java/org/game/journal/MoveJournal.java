@@ -0,0 +1,154 @@
+package org.game.journal;
+
+import org.game.BoardConfig;
+import org.game.BoardListener;
+import org.game.Entity;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only binary journal of every move of a game, written through a memory-mapped file.
+ *
+ * The file starts with a {@value #HEADER_SIZE}-byte header holding the board configuration and the seed it
+ * was generated from, followed by one {@value #RECORD_SIZE}-byte record per {@code moveEntity} call:
+ * {@code int tick, int entityId, int cell}. Records are written with plain stores into a mapped region, so
+ * logging a move costs about as much as writing three ints to memory; the operating system flushes the pages.
+ *
+ * The journal registers as a {@link BoardListener}; the game loop tells it the current tick with
+ * {@link #beginTick(int)}. Together with the seed, the records are enough for {@link JournalReplayer} to
+ * rebuild the board at any tick.
+ */
+public class MoveJournal implements BoardListener, Closeable {
+
+    /** File signature, "MCJ1". */
+    static final int MAGIC = 0x4D434A31;
+
+    /**
+     * Format version. Version 2 came with the sparse-shuffle board generator: the same seed no longer builds the
+     * same board, so version 1 journals would replay onto the wrong grid.
+     */
+    static final int VERSION = 2;
+
+    /** Size of the file header in bytes. */
+    static final int HEADER_SIZE = 64;
+
+    /** Size of one move record in bytes. */
+    static final int RECORD_SIZE = 12;
+
+    /** Offset of the record count inside the header. */
+    static final int COUNT_OFFSET = 40;
+
+    /** Bytes mapped at a time; a multiple of the record size. */
+    private static final long REGION_SIZE = RECORD_SIZE * (1L << 22);
+
+    private final FileChannel channel;
+
+    /** Mapped header, kept to update the record count. */
+    private final MappedByteBuffer header;
+
+    /** Currently mapped region of records. */
+    private MappedByteBuffer region;
+
+    /** File offset of {@link #region}. */
+    private long regionStart;
+
+    /** Number of records written. */
+    private long records;
+
+    /** Tick stamped on the records being written. */
+    private volatile int tick;
+
+    /**
+     * Creates (or truncates) a journal file for a game generated from {@code seed}.
+     *
+     * @param path   the journal file
+     * @param config the board configuration of the game
+     * @param seed   the seed the board was initialized with
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public MoveJournal(Path path, BoardConfig config, long seed) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, MAGIC)
+                .putInt(4, VERSION)
+                .putInt(8, RECORD_SIZE)
+                .putInt(12, config.width)
+                .putInt(16, config.height)
+                .putInt(20, config.obstacles)
+                .putInt(24, config.phones)
+                .putInt(28, config.bPlayers)
+                .putLong(32, seed)
+                .putLong(COUNT_OFFSET, 0L);
+        mapRegion(HEADER_SIZE);
+    }
+
+    /**
+     * Sets the tick stamped on the moves recorded from now on.
+     *
+     * @param tick the tick being played
+     */
+    public void beginTick(int tick) {
+        this.tick = tick;
+    }
+
+    @Override
+    public void onMove(Entity entity, int from, int to) {
+        append(tick, entity.id, to);
+    }
+
+    /**
+     * Appends one record.
+     *
+     * @param tick     the tick the move happened in
+     * @param entityId the id of the entity that moved
+     * @param cell     the flat index of the cell it moved to
+     */
+    public synchronized void append(int tick, int entityId, int cell) {
+        if (region.remaining() < RECORD_SIZE) {
+            try {
+                mapRegion(regionStart + region.position());
+            } catch (IOException e) {
+                throw new JournalException("Cannot grow journal", e);
+            }
+        }
+        region.putInt(tick).putInt(entityId).putInt(cell);
+        records++;
+    }
+
+    /**
+     * @return the number of records written so far
+     */
+    public synchronized long getRecords() {
+        return records;
+    }
+
+    /**
+     * Publishes the record count in the header, trims the file to its used length and closes it.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        header.putLong(COUNT_OFFSET, records);
+        header.force();
+        region.force();
+        region = null;
+        channel.truncate(HEADER_SIZE + records * RECORD_SIZE);
+        channel.close();
+    }
+
+    private void mapRegion(long start) throws IOException {
+        regionStart = start;
+        region = channel.map(FileChannel.MapMode.READ_WRITE, start, REGION_SIZE);
+        region.order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(COUNT_OFFSET, records);
+    }
+}
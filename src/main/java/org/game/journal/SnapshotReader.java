@@ -0,0 +1,148 @@
+package org.game.journal;
+
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.enums.EntityType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Restores boards from snapshot files written by {@link SnapshotWriter}, without regenerating them.
+ *
+ * The file is mapped read-only and the packed grid is decoded in large sequential chunks straight into the new
+ * board, so restoring is bound by the disk (or the page cache) rather than by the board size.
+ */
+public class SnapshotReader implements Closeable {
+
+    private static final int TYPES = EntityType.values().length;
+
+    private final FileChannel channel;
+
+    /** Board configuration of the snapshot. */
+    private final BoardConfig config;
+
+    /** Last tick whose moves the snapshot holds. */
+    private final int tick;
+
+    /** Board version when the snapshot was captured. */
+    private final long version;
+
+    /** Number of entities in the snapshot. */
+    private final int entities;
+
+    /**
+     * Opens a snapshot written by {@link SnapshotWriter}.
+     *
+     * @param path the snapshot file
+     * @throws IOException      if the file cannot be read
+     * @throws JournalException if the file is not a complete snapshot of a supported version
+     */
+    public SnapshotReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        if (channel.size() < SnapshotWriter.HEADER_SIZE) {
+            channel.close();
+            throw new JournalException("Not a board snapshot: " + path, null);
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SnapshotWriter.HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != SnapshotWriter.MAGIC) {
+            channel.close();
+            throw new JournalException("Not a board snapshot: " + path, null);
+        }
+        if (header.getInt(4) != SnapshotWriter.VERSION) {
+            channel.close();
+            throw new JournalException("Unsupported snapshot version " + header.getInt(4) + ": " + path, null);
+        }
+        config = new BoardConfig(header.getInt(8), header.getInt(12), header.getInt(16),
+                header.getInt(20), header.getInt(24));
+        tick = header.getInt(28);
+        version = header.getLong(32);
+        entities = header.getInt(40);
+        if (entities < 0 || channel.size() != gridOffset() + packedGridSize()) {
+            channel.close();
+            throw new JournalException("Truncated board snapshot: " + path, null);
+        }
+    }
+
+    /**
+     * Builds a new board in the saved state: the same grid, and the same entities with the same ids.
+     *
+     * @return the restored board
+     * @throws IOException      if the file cannot be read
+     * @throws JournalException if the file holds an unknown cell or entity code
+     */
+    public Board restore() throws IOException {
+        Board board = new Board(config);
+        int cellCount = config.width * config.height;
+
+        MappedByteBuffer packed = channel.map(FileChannel.MapMode.READ_ONLY, gridOffset(), packedGridSize());
+        byte[] in = new byte[SnapshotWriter.CHUNK_SIZE];
+        byte[] codes = new byte[2 * SnapshotWriter.CHUNK_SIZE];
+        for (int first = 0; first < cellCount; ) {
+            int bytes = Math.min(in.length, packed.remaining());
+            packed.get(in, 0, bytes);
+            int length = Math.min(2 * bytes, cellCount - first);
+            for (int i = 0; i < length; i++) {
+                int code = (in[i >>> 1] >>> ((i & 1) << 2)) & 0xF;
+                if (code >= TYPES) throw new JournalException("Unknown cell code " + code, null);
+                codes[i] = (byte) code;
+            }
+            board.restoreCells(first, codes, 0, length);
+            first += length;
+        }
+
+        MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, SnapshotWriter.HEADER_SIZE,
+                5L * entities);
+        table.order(ByteOrder.LITTLE_ENDIAN);
+        for (int id = 0; id < entities; id++) {
+            int cell = table.getInt(4 * id);
+            int type = table.get(4 * entities + id) & 0xFF;
+            int code = type & ~SnapshotWriter.ALIVE;
+            if (code >= TYPES || cell < 0 || cell >= cellCount) {
+                throw new JournalException("Invalid entity " + id + " in snapshot", null);
+            }
+            board.restoreEntity(EntityType.ofCode((byte) code), cell, (type & SnapshotWriter.ALIVE) != 0);
+        }
+        return board;
+    }
+
+    /**
+     * @return the board configuration of the snapshot
+     */
+    public BoardConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * @return the last tick whose moves the snapshot holds
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * @return the {@link Board#getVersion() version} of the board when the snapshot was captured
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long gridOffset() {
+        return SnapshotWriter.HEADER_SIZE + 5L * entities;
+    }
+
+    private long packedGridSize() {
+        return ((long) config.width * config.height + 1) / 2;
+    }
+}
@@ -0,0 +1,86 @@
+package org.game.journal;
+
+import org.game.BoardConfig;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes {@link BoardSnapshot}s to binary snapshot files, which {@link SnapshotReader} restores.
+ *
+ * The file starts with a {@value #HEADER_SIZE}-byte little-endian header: magic, format version, the board
+ * configuration, the tick, the board version and the entity count. The entity table follows as one {@code int}
+ * cell per entity, then one byte per entity holding its {@link org.game.enums.EntityType#code type code}, with
+ * the {@value #ALIVE} bit set while the entity is on the board. The grid comes last, packed at two cells per
+ * byte: the low nibble holds the even cell, the high nibble the odd one. The phone, A-player and B-player lists
+ * are not stored; they are the entities of those types in id order.
+ */
+public final class SnapshotWriter {
+
+    /** File signature, "MCS1". */
+    static final int MAGIC = 0x4D435331;
+
+    /** Format version. */
+    static final int VERSION = 1;
+
+    /** Size of the file header in bytes. */
+    static final int HEADER_SIZE = 64;
+
+    /** Flag of the entity type byte set for entities still on the board. */
+    static final int ALIVE = 0x80;
+
+    /** Bytes of packed grid written at a time. */
+    static final int CHUNK_SIZE = 1 << 20;
+
+    private SnapshotWriter() {
+    }
+
+    /**
+     * Writes a snapshot, creating or truncating the file. This does not touch the board the snapshot was
+     * captured from, so it can run on any thread while the game goes on.
+     *
+     * @param snapshot the snapshot to write
+     * @param path     the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(BoardSnapshot snapshot, Path path) throws IOException {
+        BoardConfig config = snapshot.getConfig();
+        int n = snapshot.entities;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer head = ByteBuffer.allocate(HEADER_SIZE + 5 * n).order(ByteOrder.LITTLE_ENDIAN);
+            head.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(config.width)
+                    .putInt(config.height)
+                    .putInt(config.obstacles)
+                    .putInt(config.phones)
+                    .putInt(config.bPlayers)
+                    .putInt(snapshot.getTick())
+                    .putLong(snapshot.getVersion())
+                    .putInt(n);
+            head.position(HEADER_SIZE);
+            for (int id = 0; id < n; id++) head.putInt(snapshot.cells[id]);
+            for (int id = 0; id < n; id++) head.put((byte) (snapshot.types[id] | (snapshot.alive[id] ? ALIVE : 0)));
+            writeFully(channel, head.flip());
+
+            byte[] grid = snapshot.grid;
+            ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+            for (int cell = 0; cell < grid.length; cell += 2) {
+                int high = cell + 1 < grid.length ? grid[cell + 1] : 0;
+                chunk.put((byte) (grid[cell] | high << 4));
+                if (!chunk.hasRemaining()) writeFully(channel, chunk.flip());
+            }
+            writeFully(channel, chunk.flip());
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+}
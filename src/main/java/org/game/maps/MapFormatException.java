@@ -0,0 +1,16 @@
+package org.game.maps;
+
+/**
+ * Thrown when a map or scenario file is malformed.
+ */
+public class MapFormatException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message what is wrong, with the line it was found on
+     */
+    public MapFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,110 @@
+package org.game.maps;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Byte-at-a-time reader of an ASCII file through a buffered {@link FileChannel}, tracking the line number for
+ * error messages. Grid rows are consumed byte by byte; only header words and scenario fields become strings.
+ */
+final class MapInput implements Closeable {
+
+    /** Returned by {@link #read()} at the end of the file. */
+    static final int EOF = -1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final Path path;
+
+    /** Line of the byte returned last, starting at 1. */
+    private int line = 1;
+
+    /** Separator that ended the last {@link #word()}, or {@link #EOF}. */
+    int lastSeparator;
+
+    MapInput(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer.flip();
+    }
+
+    /**
+     * @return the next byte, or {@link #EOF}; {@code \r} is skipped so that both line endings read the same
+     */
+    int read() throws IOException {
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int n = channel.read(buffer);
+                buffer.flip();
+                if (n < 0) return EOF;
+                continue;
+            }
+            int b = buffer.get() & 0xFF;
+            if (b == '\r') continue;
+            if (b == '\n') line++;
+            return b;
+        }
+    }
+
+    /**
+     * Reads up to the next space, tab or line end and consumes that separator.
+     *
+     * @return the word, empty if a separator came first, or {@code null} at the end of the file
+     */
+    String word() throws IOException {
+        byte[] bytes = new byte[32];
+        int length = 0;
+        int b = read();
+        if (b == EOF) return null;
+        while (b != EOF && b != ' ' && b != '\t' && b != '\n') {
+            if (length == bytes.length) bytes = Arrays.copyOf(bytes, length * 2);
+            bytes[length++] = (byte) b;
+            b = read();
+        }
+        lastSeparator = b;
+        return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Skips the rest of the current line.
+     */
+    void skipLine() throws IOException {
+        int b;
+        do {
+            b = read();
+        } while (b != EOF && b != '\n');
+    }
+
+    /**
+     * Reads a non-negative decimal integer word.
+     */
+    int integer() throws IOException {
+        String word = word();
+        try {
+            return Integer.parseInt(word);
+        } catch (NumberFormatException e) {
+            throw error("expected a number but found '" + word + "'");
+        }
+    }
+
+    /**
+     * @return an exception pointing at the current line of the file
+     */
+    MapFormatException error(String message) {
+        return new MapFormatException(path + ":" + line + ": " + message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,237 @@
+package org.game.maps;
+
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.Position;
+import org.game.enums.EntityType;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Loads boards from map files instead of {@link Board#initialize() generating} them:
+ * <ul>
+ *     <li>MovingAI grid maps ({@code .map}): an {@code octile} header followed by one character per cell, where
+ *     {@code .}, {@code G} and {@code S} are passable and {@code @}, {@code O}, {@code T} and {@code W} are
+ *     not;</li>
+ *     <li>plain text maps: one line per row of {@link EntityType#symbol} characters ({@code #}, {@code T},
+ *     {@code A}, {@code B}, {@code .}), all of the same length;</li>
+ *     <li>MovingAI scenario files ({@code .scen}), as a list of {@link Scenario}s.</li>
+ * </ul>
+ * Files are streamed through a buffered channel one byte at a time into the grid codes, so no string is built
+ * per row. Obstacles are only written to the grid, like {@link Board#setEntity} does, so a large map does not
+ * create one {@link org.game.Entity} per wall; phones, the A-player and the B-players become entities, in that
+ * order and each in row-major order.
+ */
+public final class MapLoader {
+
+    /** Grid code of each byte of a MovingAI map, or -1 for bytes that are not cells. */
+    private static final byte[] MOVING_AI = new byte[256];
+
+    /** Grid code of each byte of a text map, or -1 for bytes that are not cells. */
+    private static final byte[] TEXT = new byte[256];
+
+    static {
+        Arrays.fill(MOVING_AI, (byte) -1);
+        for (char c : new char[]{'.', 'G', 'S'}) MOVING_AI[c] = EntityType.EMPTY.code;
+        for (char c : new char[]{'@', 'O', 'T', 'W'}) MOVING_AI[c] = EntityType.OBSTACLE.code;
+        Arrays.fill(TEXT, (byte) -1);
+        for (EntityType type : EntityType.values()) TEXT[type.symbol] = type.code;
+    }
+
+    private MapLoader() {
+    }
+
+    /**
+     * Loads a MovingAI {@code .map} file. The board holds only obstacles; there is no A-player.
+     *
+     * @param path the map file
+     * @return the board
+     * @throws IOException        if the file cannot be read
+     * @throws MapFormatException if the file is not an octile MovingAI map
+     */
+    public static Board loadMovingAi(Path path) throws IOException {
+        try (MapInput in = new MapInput(path)) {
+            int width = -1;
+            int height = -1;
+            while (true) {
+                String key = in.word();
+                if (key == null) throw in.error("missing 'map' line");
+                if (key.equals("map")) break;
+                switch (key) {
+                    case "type" -> {
+                        String type = in.word();
+                        if (!"octile".equals(type)) throw in.error("unsupported map type '" + type + "'");
+                    }
+                    case "height" -> height = in.integer();
+                    case "width" -> width = in.integer();
+                    default -> throw in.error("unknown header '" + key + "'");
+                }
+                if (in.lastSeparator != '\n') in.skipLine();
+            }
+            if (in.lastSeparator != '\n') in.skipLine();
+            if (width <= 0 || height <= 0) throw in.error("missing or invalid width and height");
+
+            Cells cells = new Cells(width, (long) width * height);
+            for (int row = 0; row < height; row++) {
+                for (int col = 0; col < width; col++) {
+                    int b = in.read();
+                    byte code = b < 0 ? -1 : MOVING_AI[b];
+                    if (code < 0) throw in.error("row " + row + " ends or has an unknown cell at column " + col);
+                    cells.add(code);
+                }
+                int end = in.read();
+                if (end != '\n' && end != MapInput.EOF) throw in.error("row " + row + " is longer than " + width);
+            }
+            return cells.toBoard();
+        }
+    }
+
+    /**
+     * Loads a text map of {@link EntityType#symbol} characters.
+     *
+     * @param path the map file
+     * @return the board
+     * @throws IOException        if the file cannot be read
+     * @throws MapFormatException if rows differ in length, a symbol is unknown, or there is more than one A
+     */
+    public static Board loadText(Path path) throws IOException {
+        try (MapInput in = new MapInput(path)) {
+            // The width is only known at the end of the first row
+            Cells cells = new Cells(0, 1 << 12);
+            int col = 0;
+            boolean ended = false;
+            for (int b = in.read(); b != MapInput.EOF; b = in.read()) {
+                if (b == '\n') {
+                    if (col == 0) {
+                        ended = true;
+                        continue;
+                    }
+                    endRow(in, cells, col);
+                    col = 0;
+                    continue;
+                }
+                byte code = TEXT[b];
+                if (code < 0) throw in.error("unknown symbol '" + (char) b + "'");
+                if (ended) throw in.error("blank line inside the map");
+                cells.add(code);
+                col++;
+            }
+            if (col > 0) endRow(in, cells, col);
+            if (cells.size == 0) throw in.error("empty map");
+            return cells.toBoard();
+        }
+    }
+
+    private static void endRow(MapInput in, Cells cells, int col) {
+        if (cells.width == 0) cells.width = col;
+        else if (col != cells.width) throw in.error("row has " + col + " cells instead of " + cells.width);
+    }
+
+    /**
+     * Loads the scenarios of a MovingAI {@code .scen} file (version 1).
+     *
+     * @param path the scenario file
+     * @return the scenarios in file order
+     * @throws IOException        if the file cannot be read
+     * @throws MapFormatException if a line is malformed
+     */
+    public static List<Scenario> loadScenarios(Path path) throws IOException {
+        try (MapInput in = new MapInput(path)) {
+            if (!"version".equals(in.word())) throw in.error("missing 'version' line");
+            String version = in.word();
+            if (!"1".equals(version) && !"1.0".equals(version)) {
+                throw in.error("unsupported scenario version " + version);
+            }
+            if (in.lastSeparator != '\n') in.skipLine();
+
+            List<Scenario> scenarios = new ArrayList<>();
+            String map = null;
+            while (true) {
+                String first = in.word();
+                if (first == null) break;
+                if (first.isEmpty()) continue;
+                int bucket;
+                try {
+                    bucket = Integer.parseInt(first);
+                } catch (NumberFormatException e) {
+                    throw in.error("expected a bucket number but found '" + first + "'");
+                }
+                String name = in.word();
+                if (name == null) throw in.error("missing map name");
+                // Scenario files name the same map on every line: keep one copy of the string
+                if (!name.equals(map)) map = name;
+                int mapWidth = in.integer();
+                int mapHeight = in.integer();
+                // Coordinates are written x (column) first, then y (row)
+                int startCol = in.integer();
+                Position start = new Position(in.integer(), startCol);
+                int goalCol = in.integer();
+                Position goal = new Position(in.integer(), goalCol);
+                String optimal = in.word();
+                double length;
+                try {
+                    if (optimal == null) throw new NumberFormatException();
+                    length = Double.parseDouble(optimal);
+                } catch (NumberFormatException e) {
+                    throw in.error("expected an optimal length but found '" + optimal + "'");
+                }
+                scenarios.add(new Scenario(bucket, map, mapWidth, mapHeight, start, goal, length));
+                if (in.lastSeparator != '\n' && in.lastSeparator != MapInput.EOF) in.skipLine();
+            }
+            return scenarios;
+        }
+    }
+
+    /**
+     * Grid codes of a map being read, with the cells of the entities it contains.
+     */
+    private static final class Cells {
+
+        int width;
+        byte[] codes;
+        int size;
+        int obstacles;
+        int[] phones = new int[4];
+        int phoneCount;
+        int a = -1;
+        int[] bPlayers = new int[4];
+        int bCount;
+
+        Cells(int width, long capacity) {
+            if (capacity > Integer.MAX_VALUE) throw new MapFormatException("Map is too large");
+            this.width = width;
+            this.codes = new byte[(int) capacity];
+        }
+
+        void add(byte code) {
+            if (size == codes.length) codes = Arrays.copyOf(codes, size * 2);
+            int cell = size;
+            codes[size++] = code;
+            if (code == EntityType.OBSTACLE.code) {
+                obstacles++;
+            } else if (code == EntityType.PHONE.code) {
+                if (phoneCount == phones.length) phones = Arrays.copyOf(phones, phoneCount * 2);
+                phones[phoneCount++] = cell;
+            } else if (code == EntityType.A.code) {
+                if (a >= 0) throw new MapFormatException("More than one A-player");
+                a = cell;
+            } else if (code == EntityType.B.code) {
+                if (bCount == bPlayers.length) bPlayers = Arrays.copyOf(bPlayers, bCount * 2);
+                bPlayers[bCount++] = cell;
+            }
+        }
+
+        Board toBoard() {
+            Board board = new Board(new BoardConfig(width, size / width, obstacles, phoneCount, bCount));
+            board.restoreCells(0, codes, 0, size);
+            for (int i = 0; i < phoneCount; i++) board.restoreEntity(EntityType.PHONE, phones[i], true);
+            if (a >= 0) board.restoreEntity(EntityType.A, a, true);
+            for (int i = 0; i < bCount; i++) board.restoreEntity(EntityType.B, bPlayers[i], true);
+            return board;
+        }
+    }
+}
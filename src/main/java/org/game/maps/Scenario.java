@@ -0,0 +1,91 @@
+package org.game.maps;
+
+import org.game.Board;
+import org.game.GameUtils;
+import org.game.Position;
+import org.game.enums.PlannerType;
+import org.game.pathfinding.AStarEngine;
+import org.game.pathfinding.PathPlanner;
+
+/**
+ * One problem of a MovingAI {@code .scen} file: a start and a goal on a map, with the published optimal length.
+ *
+ * MovingAI lengths count straight steps as 1 and diagonal steps as {@code sqrt(2)}, like the planners here, but
+ * forbid cutting the corner of an obstacle. The planners allow it, so {@link #measure} is not comparable with
+ * {@link #optimal} on maps where a corner cut pays off: the optimal planners can only come out shorter there.
+ */
+public final class Scenario {
+
+    /** Difficulty bucket the scenario belongs to. */
+    public final int bucket;
+
+    /** File name of the map, as written in the scenario file. */
+    public final String map;
+
+    /** Width and height of the map the scenario was made for. */
+    public final int mapWidth;
+    public final int mapHeight;
+
+    /** Start and goal cells. */
+    public final Position start;
+    public final Position goal;
+
+    /** Published optimal path length. */
+    public final double optimal;
+
+    /**
+     * @param bucket    the difficulty bucket
+     * @param map       the map file name
+     * @param mapWidth  the map width
+     * @param mapHeight the map height
+     * @param start     the start cell
+     * @param goal      the goal cell
+     * @param optimal   the published optimal length
+     */
+    public Scenario(int bucket, String map, int mapWidth, int mapHeight, Position start, Position goal,
+                    double optimal) {
+        this.bucket = bucket;
+        this.map = map;
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        this.start = start;
+        this.goal = goal;
+        this.optimal = optimal;
+    }
+
+    /**
+     * Measures the length of the path the planner finds from the start to the goal, without moving anything on
+     * the board. The optimal planners search once and report the cost of their path; the
+     * {@link PlannerType#HIERARCHICAL hierarchical} one is walked one step at a time and its step costs are added
+     * up, since its path is refined as it goes.
+     *
+     * @param board   the loaded map
+     * @param planner the search algorithm to use
+     * @return the length of the path, or -1 if the goal is unreachable
+     */
+    public double measure(Board board, PlannerType planner) {
+        int width = board.getWidth();
+        int[] goals = {goal.row * width + goal.col};
+        int cell = start.row * width + start.col;
+        if (planner != PlannerType.HIERARCHICAL) {
+            PathPlanner search = PathPlanner.forCurrentThread(planner);
+            if (search.findNextCell(board, cell, goals, 1) == AStarEngine.NO_PATH) return -1;
+            return search.getPathCost();
+        }
+        double length = 0;
+        // A path never needs more steps than there are cells; the bound only guards against a planner cycling
+        for (int steps = 0; cell != goals[0]; steps++) {
+            int next = GameUtils.findNextCell(board, cell, goals, 1, planner);
+            if (next == AStarEngine.NO_PATH || next == cell || steps == width * board.getHeight()) return -1;
+            boolean diagonal = next / width != cell / width && next % width != cell % width;
+            length += diagonal ? Math.sqrt(2.0) : 1.0;
+            cell = next;
+        }
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return map + " " + start.col + "," + start.row + " -> " + goal.col + "," + goal.row + " (" + optimal + ")";
+    }
+}
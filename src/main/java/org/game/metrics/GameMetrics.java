@@ -0,0 +1,253 @@
+package org.game.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide runtime metrics of the game: tick duration, planning time, search cost, barrier wait, moves and
+ * exceptions that would otherwise be dropped silently.
+ *
+ * Recording is cheap enough for the hot paths: counters are {@link LongAdder}s and latencies go to
+ * {@link Histogram}s, so entity threads never contend on a shared word. The metrics can be read through JMX
+ * (see {@link #registerMBean()}), printed periodically by a {@link MetricsReporter}, or formatted with
+ * {@link #dump()}.
+ */
+public final class GameMetrics implements GameMetricsMXBean {
+
+    /** Name the metrics are registered under with the platform MBean server. */
+    public static final String OBJECT_NAME = "org.game:type=GameMetrics";
+
+    private static final GameMetrics GLOBAL = new GameMetrics();
+
+    /** Work time of each tick, in nanoseconds. */
+    private final Histogram tickNanos = new Histogram();
+
+    /** Time of each {@link org.game.EntityAgent#plan(long) plan}, in nanoseconds. */
+    private final Histogram planNanos = new Histogram();
+
+    /** Nodes expanded by each path search. */
+    private final Histogram nodesExpanded = new Histogram();
+
+    /** Largest open set of each path search. */
+    private final Histogram openSetPeak = new Histogram();
+
+    /** Time entity threads spent at the tick barrier, in nanoseconds. */
+    private final Histogram barrierWaitNanos = new Histogram();
+
+    /** Moves applied to boards. */
+    private final LongAdder moves = new LongAdder();
+
+    /** Exceptions caught and dropped. */
+    private final LongAdder swallowed = new LongAdder();
+
+    /**
+     * @return the metrics shared by the whole process
+     */
+    public static GameMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Registers the {@link #global() shared metrics} with the platform MBean server under {@value #OBJECT_NAME},
+     * unless they already are.
+     */
+    public static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(GLOBAL, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by an earlier game in this process
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * @param nanos work time of a tick
+     */
+    public void recordTick(long nanos) {
+        tickNanos.record(nanos);
+    }
+
+    /**
+     * @param nanos time an entity spent planning one move
+     */
+    public void recordPlan(long nanos) {
+        planNanos.record(nanos);
+    }
+
+    /**
+     * @param expanded nodes expanded by a path search
+     * @param openPeak largest open set of the search
+     */
+    public void recordSearch(int expanded, int openPeak) {
+        nodesExpanded.record(expanded);
+        openSetPeak.record(openPeak);
+    }
+
+    /**
+     * @param nanos time an entity thread waited at the tick barrier
+     */
+    public void recordBarrierWait(long nanos) {
+        barrierWaitNanos.record(nanos);
+    }
+
+    /**
+     * Counts one move applied to a board.
+     */
+    public void recordMove() {
+        moves.increment();
+    }
+
+    /**
+     * Counts an exception that was caught and not rethrown.
+     *
+     * @param e the exception
+     */
+    public void recordSwallowed(Throwable e) {
+        swallowed.increment();
+    }
+
+    /** @return the tick duration histogram, in nanoseconds */
+    public Histogram tickNanos() {
+        return tickNanos;
+    }
+
+    /** @return the planning time histogram, in nanoseconds */
+    public Histogram planNanos() {
+        return planNanos;
+    }
+
+    /** @return the histogram of nodes expanded per search */
+    public Histogram nodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /** @return the histogram of the open set peak per search */
+    public Histogram openSetPeak() {
+        return openSetPeak;
+    }
+
+    /** @return the barrier wait histogram, in nanoseconds */
+    public Histogram barrierWaitNanos() {
+        return barrierWaitNanos;
+    }
+
+    @Override
+    public long getTicks() {
+        return tickNanos.getCount();
+    }
+
+    @Override
+    public double getTickMeanMicros() {
+        return tickNanos.getMean() / 1_000;
+    }
+
+    @Override
+    public long getTickP50Micros() {
+        return tickNanos.getValueAtPercentile(50) / 1_000;
+    }
+
+    @Override
+    public long getTickP99Micros() {
+        return tickNanos.getValueAtPercentile(99) / 1_000;
+    }
+
+    @Override
+    public long getTickMaxMicros() {
+        return tickNanos.getMax() / 1_000;
+    }
+
+    @Override
+    public long getPlans() {
+        return planNanos.getCount();
+    }
+
+    @Override
+    public long getPlanP50Micros() {
+        return planNanos.getValueAtPercentile(50) / 1_000;
+    }
+
+    @Override
+    public long getPlanP99Micros() {
+        return planNanos.getValueAtPercentile(99) / 1_000;
+    }
+
+    @Override
+    public long getSearches() {
+        return nodesExpanded.getCount();
+    }
+
+    @Override
+    public long getNodesExpandedP50() {
+        return nodesExpanded.getValueAtPercentile(50);
+    }
+
+    @Override
+    public long getNodesExpandedP99() {
+        return nodesExpanded.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getOpenSetPeakMax() {
+        return openSetPeak.getMax();
+    }
+
+    @Override
+    public long getBarrierWaitP99Micros() {
+        return barrierWaitNanos.getValueAtPercentile(99) / 1_000;
+    }
+
+    @Override
+    public long getBarrierWaitMaxMicros() {
+        return barrierWaitNanos.getMax() / 1_000;
+    }
+
+    @Override
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    @Override
+    public long getSwallowedExceptions() {
+        return swallowed.sum();
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        latency(out, "tick", tickNanos);
+        latency(out, "plan", planNanos);
+        count(out, "nodes expanded", nodesExpanded);
+        count(out, "open set peak", openSetPeak);
+        latency(out, "barrier wait", barrierWaitNanos);
+        out.append(String.format(Locale.ROOT, "%-15s %d%n", "moves", getMoves()));
+        out.append(String.format(Locale.ROOT, "%-15s %d%n", "swallowed", getSwallowedExceptions()));
+        return out.toString();
+    }
+
+    @Override
+    public void reset() {
+        tickNanos.reset();
+        planNanos.reset();
+        nodesExpanded.reset();
+        openSetPeak.reset();
+        barrierWaitNanos.reset();
+        moves.reset();
+        swallowed.reset();
+    }
+
+    private static void latency(StringBuilder out, String name, Histogram h) {
+        out.append(String.format(Locale.ROOT, "%-15s n=%d mean=%.3fms p50=%.3fms p99=%.3fms max=%.3fms%n", name,
+                h.getCount(), h.getMean() / 1e6, h.getValueAtPercentile(50) / 1e6,
+                h.getValueAtPercentile(99) / 1e6, h.getMax() / 1e6));
+    }
+
+    private static void count(StringBuilder out, String name, Histogram h) {
+        out.append(String.format(Locale.ROOT, "%-15s n=%d mean=%.1f p50=%d p99=%d max=%d%n", name, h.getCount(),
+                h.getMean(), h.getValueAtPercentile(50), h.getValueAtPercentile(99), h.getMax()));
+    }
+}
@@ -0,0 +1,66 @@
+package org.game.metrics;
+
+/**
+ * JMX view of {@link GameMetrics}, registered as {@value GameMetrics#OBJECT_NAME}. Latencies are in
+ * microseconds.
+ */
+public interface GameMetricsMXBean {
+
+    /** @return the number of ticks played */
+    long getTicks();
+
+    /** @return the mean tick duration */
+    double getTickMeanMicros();
+
+    /** @return the median tick duration */
+    long getTickP50Micros();
+
+    /** @return the 99th percentile of the tick duration */
+    long getTickP99Micros();
+
+    /** @return the longest tick */
+    long getTickMaxMicros();
+
+    /** @return the number of moves planned */
+    long getPlans();
+
+    /** @return the median time an entity spent planning a move */
+    long getPlanP50Micros();
+
+    /** @return the 99th percentile of the time an entity spent planning a move */
+    long getPlanP99Micros();
+
+    /** @return the number of path searches run */
+    long getSearches();
+
+    /** @return the median number of nodes a search expanded */
+    long getNodesExpandedP50();
+
+    /** @return the 99th percentile of the number of nodes a search expanded */
+    long getNodesExpandedP99();
+
+    /** @return the largest open set of any search */
+    long getOpenSetPeakMax();
+
+    /** @return the 99th percentile of the time an entity thread waited at the tick barrier */
+    long getBarrierWaitP99Micros();
+
+    /** @return the longest time an entity thread waited at the tick barrier */
+    long getBarrierWaitMaxMicros();
+
+    /** @return the number of entity moves applied to boards */
+    long getMoves();
+
+    /** @return the number of exceptions caught and dropped by entity threads and tick loops */
+    long getSwallowedExceptions();
+
+    /**
+     * @return every metric as text, one line per metric
+     */
+    String dump();
+
+    /**
+     * Forgets every recorded value.
+     */
+    void reset();
+}
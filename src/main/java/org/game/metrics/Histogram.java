@@ -0,0 +1,115 @@
+package org.game.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent histogram of non-negative {@code long} values (latencies in nanoseconds, node counts) with a bounded
+ * relative error, in the style of HdrHistogram.
+ *
+ * Values below {@value #SUB_BUCKETS} get a bucket each. Above that, every power of two is split into
+ * {@value #SUB_BUCKETS} equal sub-buckets, so a recorded value is known to within about 3% whatever its
+ * magnitude, and the whole range of {@code long} fits in under two thousand buckets. Each bucket is a
+ * {@link LongAdder}, so many threads can record at once without contending on a shared counter.
+ */
+public final class Histogram {
+
+    /** log2 of {@link #SUB_BUCKETS}. */
+    private static final int SUB_BITS = 5;
+
+    /** Sub-buckets per power of two. */
+    static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /** Number of buckets needed for every non-negative {@code long}. */
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Creates an empty histogram.
+     */
+    public Histogram() {
+        for (int i = 0; i < BUCKETS; i++) counts[i] = new LongAdder();
+    }
+
+    /**
+     * Records one value; negative values are recorded as 0.
+     *
+     * @param value the value
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts[bucketOf(value)].increment();
+        total.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return total.sum();
+    }
+
+    /**
+     * @return the largest recorded value, or 0 if none was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return the mean of the recorded values, or 0 if none was recorded
+     */
+    public double getMean() {
+        long count = total.sum();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * Returns a value that {@code percentile} percent of the recorded values do not exceed, rounded up to the
+     * top of its bucket and capped at the largest recorded value.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the value at that percentile, or 0 if none was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = total.sum();
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(percentile, 100.0) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i].sum();
+            if (seen >= rank) return Math.min(highestValueIn(i), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * Forgets every recorded value. Values recorded concurrently may be partly kept.
+     */
+    public void reset() {
+        for (LongAdder count : counts) count.reset();
+        total.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long highestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,59 @@
+package org.game.metrics;
+
+import java.io.PrintStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prints a {@link GameMetrics#dump() dump} of the metrics at a fixed period, on a daemon thread of its own.
+ */
+public final class MetricsReporter {
+
+    private final GameMetrics metrics;
+    private final PrintStream out;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param metrics the metrics to print
+     * @param out     where to print them
+     */
+    public MetricsReporter(GameMetrics metrics, PrintStream out) {
+        this.metrics = metrics;
+        this.out = out;
+    }
+
+    /**
+     * Starts printing every {@code periodMillis} milliseconds.
+     *
+     * @param periodMillis the period
+     * @throws IllegalArgumentException if the period is not positive
+     */
+    public synchronized void start(long periodMillis) {
+        if (periodMillis <= 0) throw new IllegalArgumentException("Period must be positive: " + periodMillis);
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::report, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops printing; does nothing if not started.
+     */
+    public synchronized void stop() {
+        if (scheduler == null) return;
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    /**
+     * Prints the metrics once, now.
+     */
+    public void report() {
+        out.print("-- metrics --" + System.lineSeparator() + metrics.dump());
+        out.flush();
+    }
+}
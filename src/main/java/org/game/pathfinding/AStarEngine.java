@@ -0,0 +1,206 @@
+package org.game.pathfinding;
+
+import org.game.Board;
+
+import java.util.Arrays;
+
+/**
+ * Allocation-free A* search over the 8-connected board grid.
+ *
+ * Cells are addressed by their flat index {@code row * width + col}. Scores live in primitive arrays
+ * that are sized once per board size and reused across searches: a generation stamp tells which
+ * entries belong to the current search, so nothing has to be cleared between calls. The open set is an
+ * {@link IndexedMinHeap}.
+ *
+ * The search returns the same next cell as the original {@code PriorityQueue} planner, including among paths
+ * of equal cost: costs are added up in {@code double} in the same order, nodes are ordered by their f-score
+ * alone, neighbors are visited in the same {@link #DR direction order}, and a node whose cost improves is
+ * removed and queued again rather than moved up in place, which places it among equal keys as the original did.
+ *
+ * An engine instance is not thread-safe; use {@link #forCurrentThread()} to get the calling thread's
+ * reusable instance.
+ */
+public final class AStarEngine implements PathPlanner {
+
+    /** Cost of a diagonal step. */
+    static final float SQRT2 = (float) Math.sqrt(2.0);
+
+    /** Row offsets of the 8 neighbor directions, in the same order the original planner used. */
+    static final int[] DR = {-1, 1, 0, 0, -1, -1, 1, 1};
+
+    /** Column offsets of the 8 neighbor directions. */
+    static final int[] DC = {0, 0, -1, 1, -1, 1, 1, -1};
+
+    /** Step cost of each direction. */
+    static final float[] STEP = {1f, 1f, 1f, 1f, SQRT2, SQRT2, SQRT2, SQRT2};
+
+    /** Step cost of each direction at the precision of the original planner. */
+    private static final double[] EXACT_STEP = {1, 1, 1, 1, Math.sqrt(2.0), Math.sqrt(2.0), Math.sqrt(2.0),
+            Math.sqrt(2.0)};
+
+    /** Value returned when no goal can be reached. */
+    public static final int NO_PATH = -1;
+
+    private static final ThreadLocal<AStarEngine> LOCAL = ThreadLocal.withInitial(AStarEngine::new);
+
+    /** Current search generation; an entry is valid only if its stamp equals this value. */
+    private int generation;
+
+    /** Generation in which {@link #g} and {@link #parent} were last written for each cell. */
+    private int[] seen = new int[0];
+
+    /** Generation in which each cell was closed. */
+    private int[] closed = new int[0];
+
+    /** Generation in which each cell was marked as a goal. */
+    private int[] goalMark = new int[0];
+
+    /** Best known cost from the start to each cell. */
+    private double[] g = new double[0];
+
+    /** Predecessor of each cell on the best known path. */
+    private int[] parent = new int[0];
+
+    /** Goal coordinates of the current search, used by the heuristic. */
+    private int[] goalRow = new int[0];
+    private int[] goalCol = new int[0];
+    private int goalCount;
+
+    /** Open set. */
+    private final IndexedMinHeap open = new IndexedMinHeap(0);
+
+    /** Nodes closed by the last search. */
+    private int expanded;
+
+    /** Largest size of the open set during the last search. */
+    private int openPeak;
+
+    /** Cost of the path found by the last search. */
+    private float pathCost;
+
+    /**
+     * @return the reusable engine owned by the calling thread
+     */
+    public static AStarEngine forCurrentThread() {
+        return LOCAL.get();
+    }
+
+    @Override
+    public int findNextCell(Board board, int start, int[] goals, int goalCount) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        prepare(width * height, goals, goalCount, width);
+        int gen = generation;
+        expanded = 0;
+        openPeak = 0;
+        pathCost = Float.POSITIVE_INFINITY;
+
+        g[start] = 0;
+        parent[start] = start;
+        seen[start] = gen;
+        open.pushOrUpdate(start, heuristic(start / width, start % width), 0f);
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+
+            if (goalMark[current] == gen) {
+                openPeak = open.peakSize();
+                open.clear();
+                pathCost = (float) g[current];
+                int step = current;
+                while (parent[step] != start) step = parent[step];
+                return current == start ? start : step;
+            }
+
+            closed[current] = gen;
+            expanded++;
+            int row = current / width;
+            int col = current % width;
+            double gCurrent = g[current];
+
+            for (int d = 0; d < 8; d++) {
+                int nr = row + DR[d];
+                int nc = col + DC[d];
+                if (nr < 0 || nr >= height || nc < 0 || nc >= width) continue;
+                int neighbor = nr * width + nc;
+                if (closed[neighbor] == gen || !board.isWalkable(nr, nc)) continue;
+
+                double tentativeG = gCurrent + EXACT_STEP[d];
+                if (seen[neighbor] != gen || tentativeG < g[neighbor]) {
+                    seen[neighbor] = gen;
+                    g[neighbor] = tentativeG;
+                    parent[neighbor] = current;
+                    // Requeue rather than decrease the key, so the node lands among equal f-scores where the
+                    // original planner's PriorityQueue.remove and add put it
+                    open.remove(neighbor);
+                    open.pushOrUpdate(neighbor, tentativeG + heuristic(nr, nc), 0f);
+                }
+            }
+        }
+
+        openPeak = open.peakSize();
+        open.clear();
+        return NO_PATH;
+    }
+
+    @Override
+    public int getNodesExpanded() {
+        return expanded;
+    }
+
+    @Override
+    public int getOpenSetPeak() {
+        return openPeak;
+    }
+
+    @Override
+    public float getPathCost() {
+        return pathCost;
+    }
+
+    /**
+     * Sizes the scratch buffers for {@code cells} cells, starts a new generation and marks the goals.
+     */
+    private void prepare(int cells, int[] goals, int count, int width) {
+        if (seen.length < cells) {
+            seen = new int[cells];
+            closed = new int[cells];
+            goalMark = new int[cells];
+            g = new double[cells];
+            parent = new int[cells];
+            open.ensureCapacity(cells);
+            generation = 0;
+        }
+        if (goalRow.length < count) {
+            goalRow = new int[count];
+            goalCol = new int[count];
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            Arrays.fill(closed, 0);
+            Arrays.fill(goalMark, 0);
+            generation = 1;
+        }
+        for (int i = 0; i < count; i++) {
+            int goal = goals[i];
+            goalMark[goal] = generation;
+            goalRow[i] = goal / width;
+            goalCol[i] = goal % width;
+        }
+        goalCount = count;
+    }
+
+    /**
+     * Euclidean distance from the given cell to the closest goal.
+     */
+    private double heuristic(int row, int col) {
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < goalCount; i++) {
+            int dr = row - goalRow[i];
+            int dc = col - goalCol[i];
+            double d = Math.sqrt(dr * dr + dc * dc);
+            if (d < best) best = d;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,200 @@
+package org.game.pathfinding;
+
+import org.game.Board;
+
+import java.util.Arrays;
+
+/**
+ * Reachability over the board's walkability mask, 64 cells at a time.
+ *
+ * The set of reached cells is a bitset laid out like {@link Board#copyWalkable(long[]) the board's mask}. A fill
+ * sweeps the rows down and then up until nothing changes. Within a row, a reached cell is spread over its whole
+ * run of walkable cells with one addition per word: adding the seeds to the run's bits makes the carry ripple up
+ * to the end of the run, and the bits it flipped are exactly the run above the seed (the same is done on the
+ * bit-reversed words for the other direction). Between rows, {@link RowKernel} dilates the previous row by one
+ * cell and masks it with the walkable cells, so diagonal steps and corner cutting match {@link AStarEngine}.
+ * Each sweep costs one pass over {@code cells / 64} words, and most boards settle in a few sweeps.
+ *
+ * Like the other searches, the buffers are reused across fills. An instance is not thread-safe; use
+ * {@link #forCurrentThread()} to get the calling thread's reusable instance.
+ */
+public final class BitFloodFill {
+
+    private static final ThreadLocal<BitFloodFill> LOCAL = ThreadLocal.withInitial(BitFloodFill::new);
+
+    /** Kernel spreading reached cells from row to row, shared by every instance. */
+    private static final RowKernel KERNEL = RowKernel.best();
+
+    /** Snapshot of the board's walkability mask. */
+    private long[] walkable = new long[0];
+
+    /** Reached cells of the last fill. */
+    private long[] reached = new long[0];
+
+    /** Layout of the last fill. */
+    private int width;
+    private int height;
+    private int words;
+
+    /** Sweeps performed by the last fill. */
+    private int sweeps;
+
+    /**
+     * @return the reusable fill owned by the calling thread
+     */
+    public static BitFloodFill forCurrentThread() {
+        return LOCAL.get();
+    }
+
+    /**
+     * @return true if fills run on the Vector API kernel
+     */
+    public static boolean isVectorized() {
+        return !(KERNEL instanceof RowKernel.Scalar);
+    }
+
+    /**
+     * Marks every cell reachable from {@code source} through walkable cells. The source itself counts as reached
+     * even if it is occupied, like the start of a search.
+     *
+     * @param board  the board to fill
+     * @param source flat index of the source cell
+     */
+    public void fill(Board board, int source) {
+        fill(board, source, null, 0);
+    }
+
+    /**
+     * Tells whether any goal can be reached from {@code start}, stopping as soon as one is. A goal counts when it
+     * is the start itself or a walkable cell connected to it, matching what {@link AStarEngine} would find.
+     *
+     * @param board     the board to search
+     * @param start     flat index of the starting cell
+     * @param goals     flat indices of the goal cells
+     * @param goalCount number of valid entries in {@code goals}
+     * @return true if a goal is reachable
+     */
+    public boolean reachesAny(Board board, int start, int[] goals, int goalCount) {
+        for (int i = 0; i < goalCount; i++) {
+            if (goals[i] == start) return true;
+        }
+        return fill(board, start, goals, goalCount);
+    }
+
+    /**
+     * @param cell flat index of a cell
+     * @return true if the last fill reached the cell
+     */
+    public boolean isReached(int cell) {
+        int row = cell / width;
+        int col = cell % width;
+        return (reached[row * words + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    /**
+     * @return the number of cells reached by the last fill, including its source
+     */
+    public int getReachedCount() {
+        int count = 0;
+        for (int i = 0; i < height * words; i++) count += Long.bitCount(reached[i]);
+        return count;
+    }
+
+    /**
+     * @return the number of row sweeps of the last fill
+     */
+    public int getSweeps() {
+        return sweeps;
+    }
+
+    /**
+     * Runs the fill, stopping early once one of the goals is reached if any are given.
+     *
+     * @return true if a goal was reached
+     */
+    private boolean fill(Board board, int source, int[] goals, int goalCount) {
+        width = board.getWidth();
+        height = board.getHeight();
+        words = board.getWordsPerRow();
+        int size = words * height;
+        if (walkable.length < size) {
+            walkable = new long[size];
+            reached = new long[size];
+        }
+        board.copyWalkable(walkable);
+        Arrays.fill(reached, 0, size, 0L);
+        sweeps = 0;
+
+        // The source may be occupied, so its neighbors are seeded directly instead of through the row fills
+        int sr = source / width;
+        int sc = source % width;
+        reached[sr * words + (sc >>> 6)] |= 1L << sc;
+        for (int r = Math.max(0, sr - 1); r <= Math.min(height - 1, sr + 1); r++) {
+            for (int c = Math.max(0, sc - 1); c <= Math.min(width - 1, sc + 1); c++) {
+                int word = r * words + (c >>> 6);
+                reached[word] |= walkable[word] & (1L << c);
+            }
+        }
+
+        // A sweep leaves every row consistent with the row before it in the sweep direction, so the fill is done
+        // once a sweep changes nothing after a sweep in the other direction
+        boolean changed;
+        boolean down = true;
+        do {
+            changed = false;
+            sweeps++;
+            for (int i = 0; i < height; i++) {
+                int row = down ? i : height - 1 - i;
+                int offset = row * words;
+                if (i > 0) changed |= KERNEL.spread(reached, walkable, offset + (down ? -words : words), offset, words);
+                changed |= fillRow(offset);
+            }
+            if (goals != null) {
+                for (int g = 0; g < goalCount; g++) {
+                    int cell = goals[g];
+                    if (cell != source && isReached(cell)) return true;
+                }
+            }
+            down = !down;
+        } while (changed || sweeps < 2);
+        return false;
+    }
+
+    /**
+     * Spreads the reached cells of a row over their runs of walkable cells, right then left.
+     *
+     * @return true if a bit was added
+     */
+    private boolean fillRow(int offset) {
+        long added = 0;
+        long carry = 0;
+        for (int i = 0; i < words; i++) {
+            long w = walkable[offset + i];
+            long seeds = reached[offset + i] & w;
+            if (seeds == 0 && carry == 0) continue;
+            long sum = w + seeds;
+            boolean overflow = Long.compareUnsigned(sum, w) < 0;
+            long total = sum + carry;
+            overflow |= carry != 0 && total == 0;
+            long run = ((total ^ w) & w) | seeds;
+            added |= run & ~reached[offset + i];
+            reached[offset + i] |= run;
+            carry = overflow ? 1 : 0;
+        }
+        carry = 0;
+        for (int i = words - 1; i >= 0; i--) {
+            long w = Long.reverse(walkable[offset + i]);
+            long seeds = Long.reverse(reached[offset + i]) & w;
+            if (seeds == 0 && carry == 0) continue;
+            long sum = w + seeds;
+            boolean overflow = Long.compareUnsigned(sum, w) < 0;
+            long total = sum + carry;
+            overflow |= carry != 0 && total == 0;
+            long run = Long.reverse(((total ^ w) & w) | seeds);
+            added |= run & ~reached[offset + i];
+            reached[offset + i] |= run;
+            carry = overflow ? 1 : 0;
+        }
+        return added != 0;
+    }
+}
@@ -0,0 +1,455 @@
+package org.game.pathfinding;
+
+import org.game.Board;
+import org.game.BoardListener;
+import org.game.Entity;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+import static org.game.pathfinding.AStarEngine.SQRT2;
+
+/**
+ * Abstract graph of a board for hierarchical path planning (HPA*).
+ *
+ * The board is split into square clusters of {@link #getClusterSize()} cells. Wherever two adjacent clusters
+ * can be crossed, the border cells on both sides become nodes joined by a transition: one transition in the
+ * middle of each short run of crossable border cells, one at each end of a long run, plus the diagonal
+ * crossings that no straight one covers. Inside each cluster the cost between every pair of its nodes is
+ * precomputed with a search that stays inside the cluster.
+ *
+ * The graph listens to the board. A change only marks the clusters containing the cell and its neighbors as
+ * dirty; they are rebuilt right before the next query, so moving entities cost a few cluster rebuilds per
+ * tick instead of a full rebuild.
+ *
+ * One graph is shared by every thread planning on the board ({@link #of(Board)}); queries run under a read
+ * lock and rebuilds under the write lock.
+ */
+public final class ClusterGraph implements BoardListener {
+
+    /** Side of a cluster used by {@link #of(Board)}. */
+    public static final int DEFAULT_CLUSTER_SIZE = 32;
+
+    /** Longest run of crossable border cells that gets a single transition in its middle. */
+    private static final int MAX_SINGLE_ENTRANCE = 5;
+
+    /** The board the graph abstracts. */
+    final Board board;
+
+    final int width;
+    final int height;
+
+    /** Side of a cluster in cells. */
+    final int clusterSize;
+
+    /** Number of cluster columns and rows. */
+    final int clustersX;
+    final int clustersY;
+
+    /** Node ids available per cluster: every cell of a cluster's border has a fixed slot. */
+    final int slotsPerCluster;
+
+    /** Clusters, row by row. */
+    final Cluster[] clusters;
+
+    /** Guards {@link #clusters}: queries read, rebuilds write. */
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Whether each cluster is waiting for a rebuild. */
+    private final boolean[] dirtyFlag;
+
+    /** Clusters waiting for a rebuild. */
+    private int[] dirty = new int[16];
+    private int dirtyCount;
+
+    /** Guards the dirty set, which listeners fill from the moving threads. */
+    private final Object dirtyLock = new Object();
+
+    /** Number of cluster rebuilds since the graph was built. */
+    private long rebuilds;
+
+    private static final ThreadLocal<ClusterSearch> SEARCH = ThreadLocal.withInitial(ClusterSearch::new);
+
+    /**
+     * A cluster and its part of the abstract graph. Node {@code i} lives on border slot {@code nodes[i]}.
+     */
+    static final class Cluster {
+
+        /** Rectangle covered by the cluster. */
+        final int row0, col0, row1, col1;
+
+        /** Border slot of each node. */
+        int[] nodes = new int[0];
+
+        /** Node index of each border slot, or -1. */
+        int[] nodeOfSlot;
+
+        /** Cost between every pair of nodes, staying inside the cluster ({@code nodes.length} squared). */
+        float[] cost = new float[0];
+
+        /** Transitions of node {@code i} are {@code [transStart[i], transStart[i + 1])}. */
+        int[] transStart = new int[1];
+
+        /** Global node id reached by each transition. */
+        int[] transTarget = new int[0];
+
+        /** Cost of each transition. */
+        float[] transCost = new float[0];
+
+        Cluster(int row0, int col0, int row1, int col1, int slots) {
+            this.row0 = row0;
+            this.col0 = col0;
+            this.row1 = row1;
+            this.col1 = col1;
+            this.nodeOfSlot = new int[slots];
+            Arrays.fill(nodeOfSlot, -1);
+        }
+    }
+
+    /**
+     * Returns the graph shared by everyone planning on {@code board}, building it with the
+     * {@link #DEFAULT_CLUSTER_SIZE default cluster size} on first use.
+     *
+     * @param board the board
+     * @return the board's graph
+     */
+    public static ClusterGraph of(Board board) {
+        ClusterGraph graph = board.getListener(ClusterGraph.class);
+        if (graph != null) return graph;
+        synchronized (board) {
+            graph = board.getListener(ClusterGraph.class);
+            return graph != null ? graph : new ClusterGraph(board, DEFAULT_CLUSTER_SIZE);
+        }
+    }
+
+    /**
+     * Builds the graph of {@code board} and registers it as the board's shared graph.
+     *
+     * @param board       the board
+     * @param clusterSize side of a cluster in cells
+     * @throws IllegalArgumentException if the cluster size is not positive
+     */
+    public ClusterGraph(Board board, int clusterSize) {
+        if (clusterSize <= 0) throw new IllegalArgumentException("Cluster size must be positive: " + clusterSize);
+        this.board = board;
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+        this.clusterSize = clusterSize;
+        this.clustersX = (width + clusterSize - 1) / clusterSize;
+        this.clustersY = (height + clusterSize - 1) / clusterSize;
+        this.slotsPerCluster = 4 * clusterSize;
+        this.clusters = new Cluster[clustersX * clustersY];
+        this.dirtyFlag = new boolean[clusters.length];
+        IntStream.range(0, clusters.length).parallel().forEach(k -> clusters[k] = build(k));
+        board.addListener(this);
+    }
+
+    /**
+     * @return the side of a cluster in cells
+     */
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    /**
+     * @return the number of cluster rebuilds caused by board changes so far
+     */
+    public synchronized long getRebuilds() {
+        return rebuilds;
+    }
+
+    /**
+     * @return the number of nodes of the abstract graph
+     */
+    public int getNodeCount() {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (Cluster cluster : clusters) count += cluster.nodes.length;
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onMove(Entity entity, int from, int to) {
+        synchronized (dirtyLock) {
+            markAround(from);
+            markAround(to);
+        }
+    }
+
+    @Override
+    public void onCellChanged(int cell) {
+        synchronized (dirtyLock) {
+            markAround(cell);
+        }
+    }
+
+    /**
+     * Rebuilds the clusters changed since the last call. Called before every query.
+     */
+    void refresh() {
+        synchronized (dirtyLock) {
+            if (dirtyCount == 0) return;
+        }
+        lock.writeLock().lock();
+        try {
+            int[] pending;
+            int count;
+            synchronized (dirtyLock) {
+                pending = Arrays.copyOf(dirty, dirtyCount);
+                count = dirtyCount;
+                for (int i = 0; i < count; i++) dirtyFlag[pending[i]] = false;
+                dirtyCount = 0;
+            }
+            if (count == 0) return;
+            IntStream stream = IntStream.of(pending);
+            if (count > 8) stream = stream.parallel();
+            stream.forEach(k -> clusters[k] = build(k));
+            synchronized (this) {
+                rebuilds += count;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** @return the index of the cluster containing the cell at ({@code row}, {@code col}) */
+    int clusterOf(int row, int col) {
+        return (row / clusterSize) * clustersX + col / clusterSize;
+    }
+
+    /**
+     * @return the border slot of the cell at ({@code row}, {@code col}) in cluster {@code c}, which must lie on
+     *         its border
+     */
+    static int slotOf(Cluster c, int row, int col) {
+        int cols = c.col1 - c.col0 + 1;
+        int rows = c.row1 - c.row0 + 1;
+        if (row == c.row0) return col - c.col0;
+        if (row == c.row1) return cols + (col - c.col0);
+        if (col == c.col0) return 2 * cols + (row - c.row0 - 1);
+        return 2 * cols + (rows - 2) + (row - c.row0 - 1);
+    }
+
+    /**
+     * @return the flat index of the cell on border slot {@code slot} of cluster {@code c}
+     */
+    int cellOfSlot(Cluster c, int slot) {
+        int cols = c.col1 - c.col0 + 1;
+        int rows = c.row1 - c.row0 + 1;
+        if (slot < cols) return c.row0 * width + c.col0 + slot;
+        if (slot < 2 * cols) return c.row1 * width + c.col0 + slot - cols;
+        int q = slot - 2 * cols;
+        if (q < rows - 2) return (c.row0 + 1 + q) * width + c.col0;
+        return (c.row0 + 1 + q - (rows - 2)) * width + c.col1;
+    }
+
+    /**
+     * @return the global node id of the cell at ({@code row}, {@code col}), which must lie on a cluster border
+     */
+    int nodeId(int row, int col) {
+        int k = clusterOf(row, col);
+        int row0 = (k / clustersX) * clusterSize;
+        int col0 = (k % clustersX) * clusterSize;
+        int row1 = Math.min(row0 + clusterSize, height) - 1;
+        int col1 = Math.min(col0 + clusterSize, width) - 1;
+        int cols = col1 - col0 + 1;
+        int rows = row1 - row0 + 1;
+        int slot;
+        if (row == row0) slot = col - col0;
+        else if (row == row1) slot = cols + (col - col0);
+        else if (col == col0) slot = 2 * cols + (row - row0 - 1);
+        else slot = 2 * cols + (rows - 2) + (row - row0 - 1);
+        return k * slotsPerCluster + slot;
+    }
+
+    /**
+     * Marks the clusters of the cell and of its 8 neighbors: their nodes, transitions or inner costs may depend
+     * on it.
+     */
+    private void markAround(int cell) {
+        int row = cell / width;
+        int col = cell % width;
+        for (int r = Math.max(0, row - 1); r <= Math.min(height - 1, row + 1); r++) {
+            for (int c = Math.max(0, col - 1); c <= Math.min(width - 1, col + 1); c++) {
+                int k = clusterOf(r, c);
+                if (dirtyFlag[k]) continue;
+                dirtyFlag[k] = true;
+                if (dirtyCount == dirty.length) dirty = Arrays.copyOf(dirty, dirty.length * 2);
+                dirty[dirtyCount++] = k;
+            }
+        }
+    }
+
+    /**
+     * Builds cluster {@code k} from the current board: its transitions toward each of its 8 neighbors, its
+     * nodes, and the costs between its nodes.
+     */
+    private Cluster build(int k) {
+        int row0 = (k / clustersX) * clusterSize;
+        int col0 = (k % clustersX) * clusterSize;
+        int row1 = Math.min(row0 + clusterSize, height) - 1;
+        int col1 = Math.min(col0 + clusterSize, width) - 1;
+        Cluster c = new Cluster(row0, col0, row1, col1, slotsPerCluster);
+
+        // Transitions as (our cell, their cell, cost) triples. The rules only look at the two border lines and
+        // treat both sides alike, so the neighbor derives the same crossings from its side.
+        Transitions t = new Transitions();
+        if (col1 + 1 < width) verticalBorder(t, row0, row1, col1, true);
+        if (col0 > 0) verticalBorder(t, row0, row1, col0 - 1, false);
+        if (row1 + 1 < height) horizontalBorder(t, col0, col1, row1, true);
+        if (row0 > 0) horizontalBorder(t, col0, col1, row0 - 1, false);
+        corner(t, row1, col1, row1 + 1, col1 + 1);
+        corner(t, row0, col0, row0 - 1, col0 - 1);
+        corner(t, row1, col0, row1 + 1, col0 - 1);
+        corner(t, row0, col1, row0 - 1, col1 + 1);
+
+        // Nodes, in order of first appearance
+        int[] nodes = new int[t.size];
+        int count = 0;
+        for (int i = 0; i < t.size; i++) {
+            int slot = slotOf(c, t.ours[i] / width, t.ours[i] % width);
+            if (c.nodeOfSlot[slot] < 0) {
+                c.nodeOfSlot[slot] = count;
+                nodes[count++] = slot;
+            }
+        }
+        c.nodes = Arrays.copyOf(nodes, count);
+
+        // Transitions grouped by node
+        c.transStart = new int[count + 1];
+        for (int i = 0; i < t.size; i++) {
+            c.transStart[c.nodeOfSlot[slotOf(c, t.ours[i] / width, t.ours[i] % width)] + 1]++;
+        }
+        for (int i = 0; i < count; i++) c.transStart[i + 1] += c.transStart[i];
+        c.transTarget = new int[t.size];
+        c.transCost = new float[t.size];
+        int[] fill = Arrays.copyOf(c.transStart, count);
+        for (int i = 0; i < t.size; i++) {
+            int node = c.nodeOfSlot[slotOf(c, t.ours[i] / width, t.ours[i] % width)];
+            int at = fill[node]++;
+            c.transTarget[at] = nodeId(t.theirs[i] / width, t.theirs[i] % width);
+            c.transCost[at] = t.cost[i];
+        }
+
+        // Costs between nodes, without leaving the cluster
+        c.cost = new float[count * count];
+        ClusterSearch search = SEARCH.get();
+        for (int i = 0; i < count; i++) {
+            search.run(board, row0, col0, row1, col1, cellOfSlot(c, c.nodes[i]));
+            for (int j = 0; j < count; j++) {
+                c.cost[i * count + j] = search.distanceTo(cellOfSlot(c, c.nodes[j]));
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Adds the crossings of the vertical border between columns {@code left} and {@code left + 1} over rows
+     * [{@code row0}, {@code row1}], from the left side if {@code oursLeft}, otherwise from the right side.
+     */
+    private void verticalBorder(Transitions t, int row0, int row1, int left, boolean oursLeft) {
+        int right = left + 1;
+        int run = -1;
+        for (int r = row0; r <= row1 + 1; r++) {
+            boolean open = r <= row1 && walkable(r, left) && walkable(r, right);
+            if (open && run < 0) run = r;
+            if (!open && run >= 0) {
+                int end = r - 1;
+                if (end - run + 1 <= MAX_SINGLE_ENTRANCE) {
+                    int mid = (run + end) / 2;
+                    addCrossing(t, mid, left, mid, right, 1f, oursLeft);
+                } else {
+                    addCrossing(t, run, left, run, right, 1f, oursLeft);
+                    addCrossing(t, end, left, end, right, 1f, oursLeft);
+                }
+                run = -1;
+            }
+        }
+        // Diagonal crossings between two rows that cannot be crossed straight
+        for (int r = row0; r < row1; r++) {
+            if (straight(r, left, r, right) || straight(r + 1, left, r + 1, right)) continue;
+            if (walkable(r, left) && walkable(r + 1, right)) addCrossing(t, r, left, r + 1, right, SQRT2, oursLeft);
+            if (walkable(r + 1, left) && walkable(r, right)) addCrossing(t, r + 1, left, r, right, SQRT2, oursLeft);
+        }
+    }
+
+    /**
+     * Adds the crossings of the horizontal border between rows {@code top} and {@code top + 1} over columns
+     * [{@code col0}, {@code col1}], from the top side if {@code oursTop}, otherwise from the bottom side.
+     */
+    private void horizontalBorder(Transitions t, int col0, int col1, int top, boolean oursTop) {
+        int bottom = top + 1;
+        int run = -1;
+        for (int c = col0; c <= col1 + 1; c++) {
+            boolean open = c <= col1 && walkable(top, c) && walkable(bottom, c);
+            if (open && run < 0) run = c;
+            if (!open && run >= 0) {
+                int end = c - 1;
+                if (end - run + 1 <= MAX_SINGLE_ENTRANCE) {
+                    int mid = (run + end) / 2;
+                    addCrossing(t, top, mid, bottom, mid, 1f, oursTop);
+                } else {
+                    addCrossing(t, top, run, bottom, run, 1f, oursTop);
+                    addCrossing(t, top, end, bottom, end, 1f, oursTop);
+                }
+                run = -1;
+            }
+        }
+        for (int c = col0; c < col1; c++) {
+            if (straight(top, c, bottom, c) || straight(top, c + 1, bottom, c + 1)) continue;
+            if (walkable(top, c) && walkable(bottom, c + 1)) addCrossing(t, top, c, bottom, c + 1, SQRT2, oursTop);
+            if (walkable(top, c + 1) && walkable(bottom, c)) addCrossing(t, top, c + 1, bottom, c, SQRT2, oursTop);
+        }
+    }
+
+    /**
+     * Adds the diagonal crossing from our corner cell to the facing corner of the diagonal neighbor, if both are
+     * walkable.
+     */
+    private void corner(Transitions t, int row, int col, int otherRow, int otherCol) {
+        if (otherRow < 0 || otherRow >= height || otherCol < 0 || otherCol >= width) return;
+        if (walkable(row, col) && walkable(otherRow, otherCol)) {
+            t.add(row * width + col, otherRow * width + otherCol, SQRT2);
+        }
+    }
+
+    private void addCrossing(Transitions t, int r1, int c1, int r2, int c2, float cost, boolean oursFirst) {
+        int first = r1 * width + c1;
+        int second = r2 * width + c2;
+        if (oursFirst) t.add(first, second, cost);
+        else t.add(second, first, cost);
+    }
+
+    private boolean straight(int r1, int c1, int r2, int c2) {
+        return walkable(r1, c1) && walkable(r2, c2);
+    }
+
+    private boolean walkable(int row, int col) {
+        return board.isWalkable(row, col);
+    }
+
+    /** Growable list of transitions found while building a cluster. */
+    private static final class Transitions {
+        int[] ours = new int[16];
+        int[] theirs = new int[16];
+        float[] cost = new float[16];
+        int size;
+
+        void add(int our, int their, float c) {
+            if (size == ours.length) {
+                ours = Arrays.copyOf(ours, size * 2);
+                theirs = Arrays.copyOf(theirs, size * 2);
+                cost = Arrays.copyOf(cost, size * 2);
+            }
+            ours[size] = our;
+            theirs[size] = their;
+            cost[size] = c;
+            size++;
+        }
+    }
+}
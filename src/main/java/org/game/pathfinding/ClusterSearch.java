@@ -0,0 +1,128 @@
+package org.game.pathfinding;
+
+import org.game.Board;
+
+import java.util.Arrays;
+
+import static org.game.pathfinding.AStarEngine.DC;
+import static org.game.pathfinding.AStarEngine.DR;
+import static org.game.pathfinding.AStarEngine.STEP;
+
+/**
+ * Dijkstra search from one cell to every cell of a rectangle, never leaving it. Used by the hierarchical
+ * planner to connect the nodes of a cluster to each other, and the start and goals of a query to them.
+ *
+ * Like the other searches, the buffers are reused across runs and stamped with a generation. Not thread-safe.
+ */
+final class ClusterSearch {
+
+    /** Current run generation; an entry is valid only if its stamp equals this value. */
+    private int generation;
+
+    /** Generation in which each local cell was reached. */
+    private int[] stamp = new int[0];
+
+    /** Cost from the source to each local cell. */
+    private float[] dist = new float[0];
+
+    /** Predecessor of each local cell, as a local index. */
+    private int[] parent = new int[0];
+
+    /** Open set. */
+    private final IndexedMinHeap open = new IndexedMinHeap(0);
+
+    /** Rectangle of the last run. */
+    private int row0;
+    private int col0;
+    private int rows;
+    private int cols;
+
+    /** Board width, to convert between flat cells and local indices. */
+    private int width;
+
+    /**
+     * Floods the rectangle [{@code row0}, {@code row1}] x [{@code col0}, {@code col1}] from {@code source}.
+     * Like every search in the game, only walkable cells may be entered; the source itself may be occupied.
+     *
+     * @param board  the board to search
+     * @param row0   first row of the rectangle
+     * @param col0   first column of the rectangle
+     * @param row1   last row of the rectangle
+     * @param col1   last column of the rectangle
+     * @param source flat index of the source cell, inside the rectangle
+     */
+    void run(Board board, int row0, int col0, int row1, int col1, int source) {
+        this.row0 = row0;
+        this.col0 = col0;
+        this.rows = row1 - row0 + 1;
+        this.cols = col1 - col0 + 1;
+        this.width = board.getWidth();
+        int cells = rows * cols;
+        if (stamp.length < cells) {
+            stamp = new int[cells];
+            dist = new float[cells];
+            parent = new int[cells];
+            open.ensureCapacity(cells);
+            generation = 0;
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        int gen = generation;
+
+        int start = local(source);
+        stamp[start] = gen;
+        dist[start] = 0f;
+        parent[start] = start;
+        open.pushOrUpdate(start, 0f, 0f);
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            int r = current / cols;
+            int c = current % cols;
+            float d = dist[current];
+            for (int k = 0; k < 8; k++) {
+                int nr = r + DR[k];
+                int nc = c + DC[k];
+                if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                if (!board.isWalkable(row0 + nr, col0 + nc)) continue;
+                int neighbor = nr * cols + nc;
+                float candidate = d + STEP[k];
+                if (stamp[neighbor] == gen && candidate >= dist[neighbor]) continue;
+                stamp[neighbor] = gen;
+                dist[neighbor] = candidate;
+                parent[neighbor] = current;
+                open.pushOrUpdate(neighbor, candidate, 0f);
+            }
+        }
+    }
+
+    /**
+     * @param cell flat index of a cell inside the rectangle of the last run
+     * @return the cost from the source to the cell, or infinity if it cannot be reached inside the rectangle
+     */
+    float distanceTo(int cell) {
+        int i = local(cell);
+        return stamp[i] == generation ? dist[i] : Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Walks back from a reached cell to the cell right after the source.
+     *
+     * @param cell flat index of a reached cell other than the source
+     * @return the flat index of the first step from the source toward {@code cell}
+     */
+    int firstStepTo(int cell) {
+        int step = local(cell);
+        while (true) {
+            int p = parent[step];
+            if (parent[p] == p) break;
+            step = p;
+        }
+        return (row0 + step / cols) * width + col0 + step % cols;
+    }
+
+    private int local(int cell) {
+        return (cell / width - row0) * cols + (cell % width - col0);
+    }
+}
@@ -0,0 +1,296 @@
+package org.game.pathfinding;
+
+import org.game.Board;
+import org.game.BoardListener;
+import org.game.Entity;
+import org.game.EntityStore;
+import org.game.Position;
+import org.game.enums.EntityType;
+
+import java.util.Arrays;
+
+import static org.game.pathfinding.AStarEngine.DC;
+import static org.game.pathfinding.AStarEngine.DR;
+
+/**
+ * Static connectivity of a board: which cells could reach each other if nothing but the obstacles blocked the
+ * way.
+ *
+ * Obstacles never move, so the cells that are not obstacles are labeled once with their 8-connected component,
+ * together with the number of phones and B-players in each component. B-players move but never leave their
+ * component, so these counts stay valid. Whether A can still reach a phone then takes a couple of array reads in
+ * the common cases:
+ * <ul>
+ *     <li>no phone shares A's component: A is blocked for good;</li>
+ *     <li>a phone does and no B-player does: only B-players could be in the way, so A can reach it.</li>
+ * </ul>
+ * Only when B-players share A's component could they cut the path. The index then runs a bounded search around
+ * A, which settles the question when A is boxed in or a phone is close. If that search runs out of budget,
+ * it falls back to a {@link BitFloodFill}.
+ *
+ * The index listens to the board and relabels on the first query after a {@link Board#setEntity cell change};
+ * moves do not affect it. Queries are synchronized; the caller must keep the board still while one runs.
+ */
+public final class ConnectivityIndex implements BoardListener {
+
+    /** Cells the bounded search may visit before giving up. */
+    static final int LOCAL_BUDGET = 4096;
+
+    /** Label of obstacle cells. */
+    private static final int BLOCKED = -1;
+
+    /** Answers of the bounded search. */
+    private static final int UNREACHABLE = 0;
+    private static final int REACHABLE = 1;
+    private static final int UNKNOWN = 2;
+
+    /** The board being indexed. */
+    private final Board board;
+
+    private final int width;
+    private final int height;
+
+    /** Component of each cell, or {@link #BLOCKED} for obstacles. */
+    private final int[] label;
+
+    /** Number of phones and B-players in each component. */
+    private int[] phones = new int[0];
+    private int[] bPlayers = new int[0];
+
+    /** Set when a cell changed since the last labeling. */
+    private volatile boolean stale = true;
+
+    /** Number of labelings so far. */
+    private int builds;
+
+    /** Cells visited by the bounded search: an open-addressing set, at most half full. */
+    private final int[] visited = new int[2 * LOCAL_BUDGET];
+
+    /** Queue of the bounded search. */
+    private final int[] queue = new int[LOCAL_BUDGET];
+
+    /** Whether each cell is a phone, for the bounded search. */
+    private final boolean[] phoneCell;
+
+    /** How the last query was answered, for tests and metrics. */
+    private Resolution lastResolution;
+
+    /**
+     * How {@link #phoneReachable()} settled its last answer.
+     */
+    public enum Resolution {
+        /** From the component labels alone. */
+        STATIC,
+        /** By the bounded search around A. */
+        LOCAL,
+        /** By a flood fill of the whole board. */
+        FLOOD
+    }
+
+    /**
+     * Returns the index shared by everyone using {@code board}, labeling it on first use.
+     *
+     * @param board the board
+     * @return the board's index
+     */
+    public static ConnectivityIndex of(Board board) {
+        ConnectivityIndex index = board.getListener(ConnectivityIndex.class);
+        if (index != null) return index;
+        synchronized (board) {
+            index = board.getListener(ConnectivityIndex.class);
+            return index != null ? index : new ConnectivityIndex(board);
+        }
+    }
+
+    /**
+     * Labels {@code board} and registers the index as its shared connectivity index.
+     *
+     * @param board the board, already initialized
+     */
+    public ConnectivityIndex(Board board) {
+        this.board = board;
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+        this.label = new int[width * height];
+        this.phoneCell = new boolean[width * height];
+        build();
+        board.addListener(this);
+    }
+
+    @Override
+    public void onMove(Entity entity, int from, int to) {
+        // Entities move between cells of the same component
+    }
+
+    @Override
+    public void onCellChanged(int cell) {
+        stale = true;
+    }
+
+    /**
+     * @return the number of times the board was labeled
+     */
+    public synchronized int getBuilds() {
+        return builds;
+    }
+
+    /**
+     * @return how the last query was answered, or {@code null} before the first one
+     */
+    public synchronized Resolution getLastResolution() {
+        return lastResolution;
+    }
+
+    /**
+     * @param a one cell
+     * @param b another cell
+     * @return true if nothing but B-players could stand between the two cells
+     */
+    public synchronized boolean sameComponent(int a, int b) {
+        if (stale) build();
+        return label[a] != BLOCKED && label[a] == label[b];
+    }
+
+    /**
+     * Tells whether A can reach any phone through walkable cells, like a search from A would.
+     *
+     * @return true if a phone is reachable
+     */
+    public synchronized boolean phoneReachable() {
+        if (stale) build();
+        Position a = board.aPlayer.position;
+        int start = a.row * width + a.col;
+        if (phoneCell[start]) return answer(true, Resolution.STATIC);
+        int component = label[start];
+        if (component == BLOCKED || phones[component] == 0) return answer(false, Resolution.STATIC);
+        if (bPlayers[component] == 0) return answer(true, Resolution.STATIC);
+
+        int local = searchAround(start);
+        if (local != UNKNOWN) return answer(local == REACHABLE, Resolution.LOCAL);
+
+        EntityStore store = board.getEntityStore();
+        int[] goals = new int[store.count(EntityType.PHONE)];
+        int goalCount = store.collectCells(EntityType.PHONE, goals);
+        boolean reachable = BitFloodFill.forCurrentThread().reachesAny(board, start, goals, goalCount);
+        return answer(reachable, Resolution.FLOOD);
+    }
+
+    private boolean answer(boolean reachable, Resolution resolution) {
+        lastResolution = resolution;
+        return reachable;
+    }
+
+    /**
+     * Breadth-first search from A over walkable cells, visiting at most {@link #LOCAL_BUDGET} cells.
+     */
+    private int searchAround(int start) {
+        Arrays.fill(visited, -1);
+        int head = 0;
+        int tail = 0;
+        visit(start);
+        queue[tail++] = start;
+        while (head < tail) {
+            int cell = queue[head++];
+            int row = cell / width;
+            int col = cell % width;
+            for (int k = 0; k < 8; k++) {
+                int nr = row + DR[k];
+                int nc = col + DC[k];
+                if (nr < 0 || nr >= height || nc < 0 || nc >= width) continue;
+                int next = nr * width + nc;
+                if (!board.isWalkable(nr, nc)) continue;
+                if (phoneCell[next]) return REACHABLE;
+                if (tail == LOCAL_BUDGET) return UNKNOWN;
+                if (visit(next)) queue[tail++] = next;
+            }
+        }
+        return UNREACHABLE;
+    }
+
+    /**
+     * Adds a cell to the visited set.
+     *
+     * @return true if it was not visited yet
+     */
+    private boolean visit(int cell) {
+        int mask = visited.length - 1;
+        for (int i = (cell * 0x9E3779B9 >>> 16) & mask; ; i = (i + 1) & mask) {
+            if (visited[i] == cell) return false;
+            if (visited[i] < 0) {
+                visited[i] = cell;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Labels every non-obstacle cell with its 8-connected component and counts the phones and B-players in each.
+     * B-players are counted from the grid, so that cells marked B without an entity count too.
+     */
+    private void build() {
+        stale = false;
+        // Union-find over the cells, each joined with its already visited neighbors (left, up-left, up, up-right)
+        Arrays.fill(label, BLOCKED);
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int cell = row * width + col;
+                if (board.getAt(row, col) == EntityType.OBSTACLE) continue;
+                label[cell] = cell;
+                if (col > 0) union(cell, cell - 1);
+                if (row > 0) {
+                    if (col > 0) union(cell, cell - width - 1);
+                    union(cell, cell - width);
+                    if (col + 1 < width) union(cell, cell - width + 1);
+                }
+            }
+        }
+        // Compact the roots into dense component numbers. Every parent has a smaller index than its child, so it
+        // already holds its component when the child is reached; components are encoded as -2, -3, ... meanwhile
+        int components = 0;
+        for (int cell = 0; cell < label.length; cell++) {
+            int parent = label[cell];
+            if (parent == BLOCKED) continue;
+            label[cell] = parent == cell ? -2 - components++ : label[parent];
+        }
+        for (int cell = 0; cell < label.length; cell++) {
+            if (label[cell] != BLOCKED) label[cell] = -2 - label[cell];
+        }
+
+        phones = new int[components];
+        bPlayers = new int[components];
+        Arrays.fill(phoneCell, false);
+        EntityStore store = board.getEntityStore();
+        store.forEach(EntityType.PHONE, (id, cell) -> {
+            phoneCell[cell] = true;
+            if (label[cell] != BLOCKED) phones[label[cell]]++;
+        });
+        // B codes can also be written with Board.setEntity, so they are counted from the grid
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                if (board.getAt(row, col) == EntityType.B) bPlayers[label[row * width + col]]++;
+            }
+        }
+        builds++;
+    }
+
+    private void union(int a, int b) {
+        if (label[b] == BLOCKED) return;
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) return;
+        // Keep the smaller index as root, so roots are met before their children when compacting
+        if (ra < rb) label[rb] = ra;
+        else label[ra] = rb;
+    }
+
+    private int find(int cell) {
+        int root = cell;
+        while (label[root] != root) root = label[root];
+        while (label[cell] != root) {
+            int next = label[cell];
+            label[cell] = root;
+            cell = next;
+        }
+        return root;
+    }
+}
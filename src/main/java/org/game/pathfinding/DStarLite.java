@@ -0,0 +1,312 @@
+package org.game.pathfinding;
+
+import org.game.Board;
+import org.game.BoardListener;
+import org.game.Entity;
+import org.game.Position;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.game.pathfinding.AStarEngine.DC;
+import static org.game.pathfinding.AStarEngine.DR;
+import static org.game.pathfinding.AStarEngine.SQRT2;
+import static org.game.pathfinding.AStarEngine.STEP;
+
+/**
+ * Incremental route from a moving start to a fixed set of goals (A's route to the phones), using D* Lite.
+ *
+ * The search runs backwards from the goals, so its state stays valid while the start moves: {@code g} holds the
+ * cost from each cell to the closest goal and {@code rhs} its one-step lookahead. The planner listens to the
+ * board; every move or cell change is queued, and before the next query only the cells next to a changed cell
+ * are re-evaluated and the inconsistencies they cause are propagated. The cost of a query therefore depends on
+ * how much the board changed since the previous one, not on its size. Only the first query searches the map.
+ *
+ * Costs are those of {@link AStarEngine}: straight steps cost 1, diagonal steps {@code sqrt(2)}, corners may be
+ * cut and only walkable cells may be entered, so both find paths of the same length.
+ *
+ * Queries are synchronized; the caller must keep the board still while one runs, e.g. with
+ * {@link Board#readLocked}. Change notifications may arrive from any thread.
+ */
+public final class DStarLite implements BoardListener {
+
+    /** The board being played. */
+    private final Board board;
+
+    private final int width;
+    private final int height;
+
+    /** Whether each cell is a goal. */
+    private final boolean[] goal;
+
+    /** Flat indices of the goals. */
+    private final int[] goals;
+
+    /** Cost of the cheapest known path from each cell to a goal. */
+    private final float[] g;
+
+    /** One-step lookahead of {@link #g}: the best cost through a neighbor. */
+    private final float[] rhs;
+
+    /** Inconsistent cells, keyed by [min(g, rhs) + h + km, min(g, rhs)]. */
+    private final IndexedMinHeap open;
+
+    /** Sum of the heuristic distances the start moved, added to keys instead of re-keying the open set. */
+    private float km;
+
+    /** Start of the previous query, or -1 before the first one. */
+    private int lastStart = -1;
+
+    /** Coordinates of the start of the current query. */
+    private int startRow;
+    private int startCol;
+
+    /** Cells changed since the last query. */
+    private int[] dirty = new int[16];
+    private int dirtyCount;
+
+    /** Buffer swapped with {@link #dirty} while a query processes the changes. */
+    private int[] draining = new int[16];
+
+    /** Guards {@link #dirty}, which listeners fill from the moving threads. */
+    private final Object dirtyLock = new Object();
+
+    /** Nodes expanded by the last query. */
+    private int expanded;
+
+    /**
+     * Creates the planner and registers it as a listener of the board. The first query runs the full search.
+     *
+     * @param board the board being played
+     * @param goals goal positions; they must not change for the planner's lifetime
+     */
+    public DStarLite(Board board, List<Position> goals) {
+        this.board = board;
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+        int cells = width * height;
+        goal = new boolean[cells];
+        g = new float[cells];
+        rhs = new float[cells];
+        Arrays.fill(g, Float.POSITIVE_INFINITY);
+        Arrays.fill(rhs, Float.POSITIVE_INFINITY);
+        open = new IndexedMinHeap(cells);
+        this.goals = new int[goals.size()];
+        for (int i = 0; i < this.goals.length; i++) {
+            int cell = goals.get(i).row * width + goals.get(i).col;
+            this.goals[i] = cell;
+            goal[cell] = true;
+            rhs[cell] = 0f;
+        }
+        board.addListener(this);
+    }
+
+    /**
+     * Stops listening to the board.
+     */
+    public void detach() {
+        board.removeListener(this);
+    }
+
+    @Override
+    public void onMove(Entity entity, int from, int to) {
+        synchronized (dirtyLock) {
+            if (dirtyCount + 2 > dirty.length) dirty = Arrays.copyOf(dirty, dirty.length * 2);
+            dirty[dirtyCount++] = from;
+            dirty[dirtyCount++] = to;
+        }
+    }
+
+    @Override
+    public void onCellChanged(int cell) {
+        synchronized (dirtyLock) {
+            if (dirtyCount == dirty.length) dirty = Arrays.copyOf(dirty, dirty.length * 2);
+            dirty[dirtyCount++] = cell;
+        }
+    }
+
+    /**
+     * Repairs the route and returns the next step from {@code start} toward the closest reachable goal.
+     *
+     * @param start the current position of the moving entity
+     * @return the next position, {@code start} itself if it is a goal, or {@code null} if no goal is reachable
+     */
+    public Position nextMove(Position start) {
+        int next = nextCell(start.row * width + start.col);
+        return next == AStarEngine.NO_PATH ? null : board.positionOf(next);
+    }
+
+    /**
+     * Variant of {@link #nextMove(Position)} over flat cell indices, which does not allocate.
+     *
+     * @param start flat index of the moving entity's cell
+     * @return the flat index of the next cell, {@code start} itself if it is a goal, or
+     *         {@link AStarEngine#NO_PATH} if no goal is reachable
+     */
+    public synchronized int nextCell(int start) {
+        replan(start);
+        if (goal[start]) return start;
+        int row = start / width;
+        int col = start % width;
+        int best = AStarEngine.NO_PATH;
+        float bestCost = Float.POSITIVE_INFINITY;
+        for (int k = 0; k < 8; k++) {
+            int nr = row + DR[k];
+            int nc = col + DC[k];
+            if (nr < 0 || nr >= height || nc < 0 || nc >= width || !board.isWalkable(nr, nc)) continue;
+            float cost = STEP[k] + g[nr * width + nc];
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = nr * width + nc;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Repairs the route and tells whether a goal is reachable from {@code start}.
+     *
+     * @param start the current position of the moving entity
+     * @return true if a goal is reachable
+     */
+    public synchronized boolean hasPath(Position start) {
+        int s = start.row * width + start.col;
+        replan(s);
+        return g[s] != Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return the cost of the route from the start of the last query, or infinity if there is none
+     */
+    public synchronized float getPathCost() {
+        return lastStart < 0 ? Float.POSITIVE_INFINITY : g[lastStart];
+    }
+
+    /**
+     * @return the number of nodes expanded by the last query
+     */
+    public synchronized int getNodesExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Moves the start, re-evaluates the neighbors of every changed cell and propagates the changes until the
+     * start is consistent.
+     */
+    private void replan(int start) {
+        boolean first = lastStart < 0;
+        if (!first) km += heuristic(lastStart / width, lastStart % width, start / width, start % width);
+        lastStart = start;
+        startRow = start / width;
+        startCol = start % width;
+        expanded = 0;
+        if (first) {
+            // Keys depend on the start, so the goals are only queued once it is known
+            for (int cell : goals) open.pushOrUpdate(cell, key1(cell), key2(cell));
+        }
+
+        int[] changed;
+        int count;
+        synchronized (dirtyLock) {
+            changed = dirty;
+            count = dirtyCount;
+            dirty = draining;
+            dirtyCount = 0;
+            draining = changed;
+        }
+        for (int i = 0; i < count; i++) {
+            int cell = changed[i];
+            // Entering the cell got cheaper or more expensive, so every cell that can step onto it is affected
+            int row = cell / width;
+            int col = cell % width;
+            for (int k = 0; k < 8; k++) {
+                int nr = row + DR[k];
+                int nc = col + DC[k];
+                if (nr >= 0 && nr < height && nc >= 0 && nc < width) updateVertex(nr * width + nc);
+            }
+        }
+
+        computeShortestPath(start);
+    }
+
+    private void computeShortestPath(int start) {
+        while (!open.isEmpty()) {
+            double topKey = open.peekKey();
+            float topTie = open.peekTie();
+            // Keys that are equal in exact arithmetic can differ in their last bits, so the start is treated as
+            // behind a whole band of nearly equal keys; expanding a few extra nodes is harmless, stopping early
+            // is not
+            float startKey = key1(start);
+            boolean startBehind = topKey <= startKey + 64 * Math.ulp(startKey);
+            if (!startBehind && rhs[start] == g[start]) break;
+
+            int u = open.pop();
+            float newKey = key1(u);
+            float newTie = key2(u);
+            if (topKey < newKey || (topKey == newKey && topTie < newTie)) {
+                open.pushOrUpdate(u, newKey, newTie);
+                continue;
+            }
+
+            expanded++;
+            int row = u / width;
+            int col = u % width;
+            if (g[u] > rhs[u]) {
+                g[u] = rhs[u];
+            } else {
+                g[u] = Float.POSITIVE_INFINITY;
+                updateVertex(u);
+            }
+            // Only walkable cells can be stepped onto, so only then do the neighbors depend on g[u]
+            if (!board.isWalkable(row, col)) continue;
+            for (int k = 0; k < 8; k++) {
+                int nr = row + DR[k];
+                int nc = col + DC[k];
+                if (nr >= 0 && nr < height && nc >= 0 && nc < width) updateVertex(nr * width + nc);
+            }
+        }
+    }
+
+    /**
+     * Recomputes the lookahead of {@code u} and queues it if it became inconsistent.
+     */
+    private void updateVertex(int u) {
+        if (!goal[u]) {
+            int row = u / width;
+            int col = u % width;
+            float best = Float.POSITIVE_INFINITY;
+            for (int k = 0; k < 8; k++) {
+                int nr = row + DR[k];
+                int nc = col + DC[k];
+                if (nr < 0 || nr >= height || nc < 0 || nc >= width || !board.isWalkable(nr, nc)) continue;
+                float cost = STEP[k] + g[nr * width + nc];
+                if (cost < best) best = cost;
+            }
+            rhs[u] = best;
+        }
+        if (g[u] != rhs[u]) {
+            open.pushOrUpdate(u, key1(u), key2(u));
+        } else if (open.contains(u)) {
+            open.remove(u);
+        }
+    }
+
+    private float key1(int u) {
+        float m = Math.min(g[u], rhs[u]);
+        return m + heuristic(startRow, startCol, u / width, u % width) + km;
+    }
+
+    private float key2(int u) {
+        return Math.min(g[u], rhs[u]);
+    }
+
+    /**
+     * Octile distance, the exact cost between two cells on an empty board.
+     */
+    private static float heuristic(int r1, int c1, int r2, int c2) {
+        int dr = Math.abs(r1 - r2);
+        int dc = Math.abs(c1 - c2);
+        int diagonal = Math.min(dr, dc);
+        return diagonal * SQRT2 + (Math.max(dr, dc) - diagonal);
+    }
+}
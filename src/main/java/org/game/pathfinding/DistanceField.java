@@ -0,0 +1,133 @@
+package org.game.pathfinding;
+
+import org.game.Board;
+
+import java.util.Arrays;
+
+import static org.game.pathfinding.AStarEngine.DC;
+import static org.game.pathfinding.AStarEngine.DR;
+import static org.game.pathfinding.AStarEngine.STEP;
+
+/**
+ * Reverse distance field: the cost of the cheapest 8-connected path from every cell to a single target,
+ * computed with one Dijkstra flood from the target over walkable cells.
+ *
+ * Once built, any number of pursuers can pick their next step by looking at their 8 neighbors, which
+ * replaces one full search per pursuer with one flood per target. Like {@link AStarEngine}, the buffers are
+ * reused across builds and stamped with a generation instead of being cleared.
+ *
+ * Building is not thread-safe; reading a built field from several threads is, as long as the build
+ * happened-before the reads.
+ */
+public final class DistanceField {
+
+    /** Current build generation; a distance is valid only if its stamp equals this value. */
+    private int generation;
+
+    /** Generation in which each cell's distance was last written. */
+    private int[] stamp = new int[0];
+
+    /** Cost of the cheapest path from each cell to the target. */
+    private float[] dist = new float[0];
+
+    /** Open set of the flood. */
+    private final IndexedMinHeap open = new IndexedMinHeap(0);
+
+    /** Width of the board the field was built for. */
+    private int width;
+
+    /** Height of the board the field was built for. */
+    private int height;
+
+    /** Target cell of the last build. */
+    private int target = -1;
+
+    /**
+     * Floods the board from {@code target}. A path may only step onto walkable cells, so occupied cells get
+     * a distance (an entity standing there can move off) but are never expanded.
+     *
+     * @param board  the board to flood
+     * @param target flat index of the cell every path leads to
+     */
+    public void build(Board board, int target) {
+        width = board.getWidth();
+        height = board.getHeight();
+        this.target = target;
+        int cells = width * height;
+        if (stamp.length < cells) {
+            stamp = new int[cells];
+            dist = new float[cells];
+            open.ensureCapacity(cells);
+            generation = 0;
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        int gen = generation;
+
+        stamp[target] = gen;
+        dist[target] = 0f;
+        open.pushOrUpdate(target, 0f, 0f);
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            int row = current / width;
+            int col = current % width;
+            float d = dist[current];
+
+            for (int k = 0; k < 8; k++) {
+                int nr = row + DR[k];
+                int nc = col + DC[k];
+                if (nr < 0 || nr >= height || nc < 0 || nc >= width) continue;
+                int neighbor = nr * width + nc;
+                float candidate = d + STEP[k];
+                if (stamp[neighbor] == gen && candidate >= dist[neighbor]) continue;
+                stamp[neighbor] = gen;
+                dist[neighbor] = candidate;
+                if (board.isWalkable(nr, nc)) open.pushOrUpdate(neighbor, candidate, 0f);
+            }
+        }
+    }
+
+    /**
+     * @return the target cell of the last build, or -1 if the field was never built
+     */
+    public int target() {
+        return target;
+    }
+
+    /**
+     * @param cell a flat cell index
+     * @return the cost of the cheapest path from the cell to the target, or infinity if there is none
+     */
+    public float distanceAt(int cell) {
+        return stamp[cell] == generation ? dist[cell] : Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Picks the walkable neighbor of {@code from} that lies on a cheapest path to the target.
+     * Walkability is read from the live board, so neighbors taken since the build are skipped.
+     *
+     * @param board the board the field was built for
+     * @param from  flat index of the pursuer's cell
+     * @return the flat index of the next cell, or {@link AStarEngine#NO_PATH} if the target is unreachable
+     */
+    public int nextStep(Board board, int from) {
+        int row = from / width;
+        int col = from % width;
+        int best = AStarEngine.NO_PATH;
+        float bestCost = Float.POSITIVE_INFINITY;
+        for (int k = 0; k < 8; k++) {
+            int nr = row + DR[k];
+            int nc = col + DC[k];
+            if (nr < 0 || nr >= height || nc < 0 || nc >= width || !board.isWalkable(nr, nc)) continue;
+            float cost = STEP[k] + distanceAt(nr * width + nc);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = nr * width + nc;
+            }
+        }
+        return best;
+    }
+}
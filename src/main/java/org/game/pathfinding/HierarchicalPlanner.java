@@ -0,0 +1,314 @@
+package org.game.pathfinding;
+
+import org.game.Board;
+
+import java.util.Arrays;
+
+import static org.game.pathfinding.AStarEngine.NO_PATH;
+import static org.game.pathfinding.AStarEngine.SQRT2;
+
+/**
+ * Hierarchical planner (HPA*) for very large boards.
+ *
+ * A query searches the abstract graph of the board's {@link ClusterGraph} instead of its cells: the start and
+ * the goals are connected to the nodes of their own clusters with a search limited to that cluster, A* runs
+ * over the nodes, and only the first segment of the abstract path is refined into cells to get the next step.
+ * The work per query therefore depends on the number of clusters crossed rather than on the number of cells.
+ *
+ * Paths follow the graph's transitions, so they are near-optimal rather than optimal; reachability is the same
+ * as with {@link AStarEngine}. Before each query the graph rebuilds the clusters the board changed since the
+ * previous one.
+ *
+ * Buffers are reused across searches and stamped with a generation, like in {@link AStarEngine}. A planner
+ * instance is not thread-safe; use {@link #forCurrentThread()} to get the calling thread's reusable instance.
+ */
+public final class HierarchicalPlanner implements PathPlanner {
+
+    private static final ThreadLocal<HierarchicalPlanner> LOCAL =
+            ThreadLocal.withInitial(HierarchicalPlanner::new);
+
+    /** Current search generation; an entry is valid only if its stamp equals this value. */
+    private int generation;
+
+    /** Generation in which {@link #g} and {@link #parent} were last written for each node. */
+    private int[] seen = new int[0];
+
+    /** Generation in which each node was closed. */
+    private int[] closed = new int[0];
+
+    /** Best known cost from the start to each node. */
+    private float[] g = new float[0];
+
+    /** Predecessor of each node on the best known path. */
+    private int[] parent = new int[0];
+
+    /** Generation in which {@link #goalCost} and {@link #goalCell} were written for each node. */
+    private int[] goalStamp = new int[0];
+
+    /** Cost from each node to the closest goal of its cluster, without leaving it. */
+    private float[] goalCost = new float[0];
+
+    /** Goal cell {@link #goalCost} leads to. */
+    private int[] goalCell = new int[0];
+
+    /** Goal coordinates of the current search, used by the heuristic. */
+    private int[] goalRow = new int[0];
+    private int[] goalCol = new int[0];
+    private int goalCount;
+
+    /** Goal cell of the best known edge into the goal node. */
+    private int goalVia;
+
+    /** Open set over the node ids, the start and the goal. */
+    private final IndexedMinHeap open = new IndexedMinHeap(0);
+
+    /** Connects the start to the nodes of its cluster; its parents refine the first segment. */
+    private final ClusterSearch startSearch = new ClusterSearch();
+
+    /** Connects each goal to the nodes of its cluster. */
+    private final ClusterSearch goalSearch = new ClusterSearch();
+
+    /** Graph and generation of the search in progress. */
+    private ClusterGraph graph;
+    private int gen;
+
+    /** Nodes closed by the last search. */
+    private int expanded;
+
+    /** Largest size of the open set during the last search. */
+    private int openPeak;
+
+    /** Cost of the path found by the last search. */
+    private float pathCost;
+
+    /**
+     * @return the reusable planner owned by the calling thread
+     */
+    public static HierarchicalPlanner forCurrentThread() {
+        return LOCAL.get();
+    }
+
+    @Override
+    public int findNextCell(Board board, int start, int[] goals, int goalCount) {
+        ClusterGraph graph = ClusterGraph.of(board);
+        graph.refresh();
+        graph.lock.readLock().lock();
+        try {
+            this.graph = graph;
+            return search(start, goals, goalCount);
+        } finally {
+            this.graph = null;
+            graph.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getNodesExpanded() {
+        return expanded;
+    }
+
+    @Override
+    public int getOpenSetPeak() {
+        return openPeak;
+    }
+
+    @Override
+    public float getPathCost() {
+        return pathCost;
+    }
+
+    private int search(int start, int[] goals, int count) {
+        Board board = graph.board;
+        int width = graph.width;
+        int slots = graph.slotsPerCluster;
+        int nodes = graph.clusters.length * slots;
+        int startNode = nodes;
+        int goalNode = nodes + 1;
+        prepare(nodes + 2, count);
+        gen = generation;
+        expanded = 0;
+        openPeak = 0;
+        pathCost = Float.POSITIVE_INFINITY;
+
+        for (int i = 0; i < count; i++) {
+            if (goals[i] == start) {
+                pathCost = 0f;
+                return start;
+            }
+        }
+
+        int startCluster = graph.clusterOf(start / width, start % width);
+        ClusterGraph.Cluster sc = graph.clusters[startCluster];
+        startSearch.run(board, sc.row0, sc.col0, sc.row1, sc.col1, start);
+
+        // Connect every reachable goal to the nodes of its cluster; searches are symmetric, so the cost from
+        // the goal to a node is also the cost from the node to the goal
+        goalVia = NO_PATH;
+        float direct = Float.POSITIVE_INFINITY;
+        goalCount = 0;
+        for (int i = 0; i < count; i++) {
+            int goal = goals[i];
+            int gr = goal / width;
+            int gc = goal % width;
+            if (!board.isWalkable(gr, gc)) continue;
+            goalRow[goalCount] = gr;
+            goalCol[goalCount] = gc;
+            goalCount++;
+
+            int k = graph.clusterOf(gr, gc);
+            ClusterGraph.Cluster c = graph.clusters[k];
+            if (k == startCluster) {
+                float d = startSearch.distanceTo(goal);
+                if (d < direct) {
+                    direct = d;
+                    goalVia = goal;
+                }
+            }
+            goalSearch.run(board, c.row0, c.col0, c.row1, c.col1, goal);
+            for (int slot : c.nodes) {
+                float d = goalSearch.distanceTo(graph.cellOfSlot(c, slot));
+                int id = k * slots + slot;
+                if (d == Float.POSITIVE_INFINITY || (goalStamp[id] == gen && goalCost[id] <= d)) continue;
+                goalStamp[id] = gen;
+                goalCost[id] = d;
+                goalCell[id] = goal;
+            }
+        }
+        if (goalCount == 0) return NO_PATH;
+
+        seen[startNode] = gen;
+        g[startNode] = 0f;
+        parent[startNode] = startNode;
+        open.pushOrUpdate(startNode, 0f, 0f);
+        if (direct != Float.POSITIVE_INFINITY) relax(startNode, goalNode, direct);
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (current == goalNode) {
+                openPeak = open.peakSize();
+                open.clear();
+                pathCost = g[goalNode];
+                return refine(start, startCluster, startNode, goalNode);
+            }
+            closed[current] = gen;
+            expanded++;
+            float gCurrent = g[current];
+
+            if (current == startNode) {
+                for (int slot : sc.nodes) {
+                    float d = startSearch.distanceTo(graph.cellOfSlot(sc, slot));
+                    if (d != Float.POSITIVE_INFINITY) relax(current, startCluster * slots + slot, d);
+                }
+                continue;
+            }
+
+            int k = current / slots;
+            ClusterGraph.Cluster c = graph.clusters[k];
+            int local = c.nodeOfSlot[current % slots];
+            // The other side of a transition may not be a node yet while the board is changing
+            if (local < 0) continue;
+            int n = c.nodes.length;
+            for (int j = 0; j < n; j++) {
+                float d = c.cost[local * n + j];
+                if (j != local && d != Float.POSITIVE_INFINITY) relax(current, k * slots + c.nodes[j], gCurrent + d);
+            }
+            for (int t = c.transStart[local]; t < c.transStart[local + 1]; t++) {
+                relax(current, c.transTarget[t], gCurrent + c.transCost[t]);
+            }
+            if (goalStamp[current] == gen) {
+                float before = seen[goalNode] == gen ? g[goalNode] : Float.POSITIVE_INFINITY;
+                relax(current, goalNode, gCurrent + goalCost[current]);
+                if (g[goalNode] < before) goalVia = goalCell[current];
+            }
+        }
+
+        openPeak = open.peakSize();
+        open.clear();
+        return NO_PATH;
+    }
+
+    /**
+     * Records {@code to} as reached from {@code from} with cost {@code cost} if that is better than what is known.
+     */
+    private void relax(int from, int to, float cost) {
+        if (closed[to] == gen || (seen[to] == gen && cost >= g[to])) return;
+        int goalNode = seen.length - 1;
+        float h = 0f;
+        if (to != goalNode) {
+            int slots = graph.slotsPerCluster;
+            ClusterGraph.Cluster c = graph.clusters[to / slots];
+            if (c.nodeOfSlot[to % slots] < 0) return;
+            int cell = graph.cellOfSlot(c, to % slots);
+            h = heuristic(cell / graph.width, cell % graph.width);
+        }
+        seen[to] = gen;
+        g[to] = cost;
+        parent[to] = from;
+        open.pushOrUpdate(to, cost + h, h);
+    }
+
+    /**
+     * Turns the first segment of the abstract path into the next cell from the start.
+     */
+    private int refine(int start, int startCluster, int startNode, int goalNode) {
+        int second = NO_PATH;
+        int first = goalNode;
+        while (parent[first] != startNode) {
+            second = first;
+            first = parent[first];
+        }
+        if (first == goalNode) return startSearch.firstStepTo(goalVia);
+
+        int slots = graph.slotsPerCluster;
+        int firstCell = graph.cellOfSlot(graph.clusters[first / slots], first % slots);
+        if (firstCell != start) return startSearch.firstStepTo(firstCell);
+
+        // The start is a node itself: the path leaves through its goal, a transition or another node
+        if (second == goalNode) return startSearch.firstStepTo(goalVia);
+        int secondCell = graph.cellOfSlot(graph.clusters[second / slots], second % slots);
+        if (second / slots != startCluster) return secondCell;
+        return startSearch.firstStepTo(secondCell);
+    }
+
+    /**
+     * Sizes the scratch buffers for {@code nodes} nodes and {@code goals} goals and starts a new generation.
+     */
+    private void prepare(int nodes, int goals) {
+        if (seen.length != nodes) {
+            seen = new int[nodes];
+            closed = new int[nodes];
+            g = new float[nodes];
+            parent = new int[nodes];
+            goalStamp = new int[nodes];
+            goalCost = new float[nodes];
+            goalCell = new int[nodes];
+            open.ensureCapacity(nodes);
+            generation = 0;
+        }
+        if (goalRow.length < goals) {
+            goalRow = new int[goals];
+            goalCol = new int[goals];
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            Arrays.fill(closed, 0);
+            Arrays.fill(goalStamp, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Octile distance from the given cell to the closest goal.
+     */
+    private float heuristic(int row, int col) {
+        float best = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < goalCount; i++) {
+            int dr = Math.abs(row - goalRow[i]);
+            int dc = Math.abs(col - goalCol[i]);
+            int diagonal = Math.min(dr, dc);
+            float d = diagonal * SQRT2 + (Math.max(dr, dc) - diagonal);
+            if (d < best) best = d;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,226 @@
+package org.game.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over integer items (cell indices) in the range {@code [0, capacity)}.
+ *
+ * Every item carries a primary {@code double} key and a secondary {@code float} key used to break ties. Searches
+ * on {@code float} costs pass them widened, which orders them exactly as before; the primary key is a
+ * {@code double} so that {@link AStarEngine} can order its nodes with the same arithmetic as the original planner.
+ * The heap keeps the slot of every queued item, so {@link #contains(int)} is O(1) and
+ * {@link #pushOrUpdate(int, double, float)} performs a real decrease-key instead of the O(n)
+ * remove-and-insert a {@link java.util.PriorityQueue} would require.
+ *
+ * Items with equal keys are sifted exactly like {@link java.util.PriorityQueue} sifts them: an item only moves
+ * past a strictly greater one, and of two equal children the left one is taken. {@link #remove(int)} followed by
+ * a push therefore leaves the heap in the same order as {@code PriorityQueue.remove} followed by {@code add}.
+ *
+ * The heap never allocates after construction (or after {@link #ensureCapacity(int)} has grown it),
+ * and {@link #clear()} only touches the items still queued, so it can be reused across searches.
+ */
+public final class IndexedMinHeap {
+
+    /** Heap array of items; only the first {@code size} slots are meaningful. */
+    private int[] heap;
+
+    /** Slot of each item inside {@link #heap}, or -1 when the item is not queued. */
+    private int[] slot;
+
+    /** Primary key of each item. */
+    private double[] key;
+
+    /** Secondary key of each item, compared only when primary keys are equal. */
+    private float[] tie;
+
+    /** Number of queued items. */
+    private int size;
+
+    /** Largest size reached since the last {@link #clear()}. */
+    private int peakSize;
+
+    /**
+     * Creates a heap able to hold items in {@code [0, capacity)}.
+     *
+     * @param capacity the number of distinct items
+     */
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        slot = new int[capacity];
+        key = new double[capacity];
+        tie = new float[capacity];
+        Arrays.fill(slot, -1);
+    }
+
+    /**
+     * Grows the heap so it can hold items in {@code [0, capacity)}. The heap must be empty.
+     *
+     * @param capacity the number of distinct items
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= slot.length) return;
+        heap = new int[capacity];
+        slot = new int[capacity];
+        key = new double[capacity];
+        tie = new float[capacity];
+        Arrays.fill(slot, -1);
+        size = 0;
+    }
+
+    /**
+     * @return true if no item is queued
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of queued items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the largest number of items queued at once since the last {@link #clear()}
+     */
+    public int peakSize() {
+        return peakSize;
+    }
+
+    /**
+     * @param item the item to check
+     * @return true if the item is currently queued
+     */
+    public boolean contains(int item) {
+        return slot[item] >= 0;
+    }
+
+    /**
+     * @return the primary key of the item with the smallest key, without removing it
+     */
+    public double peekKey() {
+        return key[heap[0]];
+    }
+
+    /**
+     * @return the secondary key of the item with the smallest key, without removing it
+     */
+    public float peekTie() {
+        return tie[heap[0]];
+    }
+
+    /**
+     * Inserts the item, or moves it to its new place if it is already queued.
+     *
+     * @param item       the item to queue
+     * @param primary    the primary key
+     * @param secondary  the tie-breaking key
+     */
+    public void pushOrUpdate(int item, double primary, float secondary) {
+        int s = slot[item];
+        if (s < 0) {
+            key[item] = primary;
+            tie[item] = secondary;
+            s = size++;
+            heap[s] = item;
+            slot[item] = s;
+            if (size > peakSize) peakSize = size;
+            siftUp(s);
+            return;
+        }
+        boolean decreased = less(primary, secondary, key[item], tie[item]);
+        key[item] = primary;
+        tie[item] = secondary;
+        if (decreased) siftUp(s);
+        else siftDown(s);
+    }
+
+    /**
+     * Removes and returns the item with the smallest key.
+     *
+     * @return the removed item
+     */
+    public int pop() {
+        int top = heap[0];
+        slot[top] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            slot[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Removes the item if it is queued.
+     *
+     * @param item the item to remove
+     */
+    public void remove(int item) {
+        int s = slot[item];
+        if (s < 0) return;
+        slot[item] = -1;
+        int last = heap[--size];
+        if (s == size) return;
+        heap[s] = last;
+        slot[last] = s;
+        siftUp(s);
+        siftDown(slot[last]);
+    }
+
+    /**
+     * Empties the heap. Runs in time proportional to the number of queued items, not to the capacity.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) slot[heap[i]] = -1;
+        size = 0;
+        peakSize = 0;
+    }
+
+    private void siftUp(int s) {
+        int item = heap[s];
+        double k = key[item];
+        float t = tie[item];
+        while (s > 0) {
+            int parent = (s - 1) >>> 1;
+            int p = heap[parent];
+            if (!less(k, t, key[p], tie[p])) break;
+            heap[s] = p;
+            slot[p] = s;
+            s = parent;
+        }
+        heap[s] = item;
+        slot[item] = s;
+    }
+
+    private void siftDown(int s) {
+        int item = heap[s];
+        double k = key[item];
+        float t = tie[item];
+        int half = size >>> 1;
+        while (s < half) {
+            int child = 2 * s + 1;
+            int c = heap[child];
+            int right = child + 1;
+            if (right < size) {
+                int r = heap[right];
+                if (less(key[r], tie[r], key[c], tie[c])) {
+                    child = right;
+                    c = r;
+                }
+            }
+            if (!less(key[c], tie[c], k, t)) break;
+            heap[s] = c;
+            slot[c] = s;
+            s = child;
+        }
+        heap[s] = item;
+        slot[item] = s;
+    }
+
+    private static boolean less(double k1, float t1, double k2, float t2) {
+        return k1 < k2 || (k1 == k2 && t1 < t2);
+    }
+}
@@ -0,0 +1,301 @@
+package org.game.pathfinding;
+
+import org.game.Board;
+
+import java.util.Arrays;
+
+import static org.game.pathfinding.AStarEngine.DC;
+import static org.game.pathfinding.AStarEngine.DR;
+import static org.game.pathfinding.AStarEngine.NO_PATH;
+import static org.game.pathfinding.AStarEngine.SQRT2;
+
+/**
+ * Allocation-free Jump Point Search over the 8-connected board grid.
+ *
+ * On a uniform-cost grid most cells have many equally short paths through them. Instead of pushing every
+ * neighbor onto the open set, JPS scans in straight lines from each node and only stops at jump points: goals
+ * and cells with a forced neighbor, i.e. a cell that can only be reached optimally by turning there. The open
+ * set therefore holds a handful of jump points instead of every cell of an open area.
+ *
+ * The pruning rules are those of the original algorithm, which allows diagonal steps between two blocked
+ * orthogonal neighbors, matching the corner cutting of {@link AStarEngine}. The path cost is the same as with
+ * A*; when several shortest paths exist the next step may differ, but it always lies on one of them.
+ *
+ * Buffers are reused across searches and stamped with a generation, like in {@link AStarEngine}. An engine
+ * instance is not thread-safe; use {@link #forCurrentThread()} to get the calling thread's reusable instance.
+ */
+public final class JumpPointEngine implements PathPlanner {
+
+    private static final ThreadLocal<JumpPointEngine> LOCAL = ThreadLocal.withInitial(JumpPointEngine::new);
+
+    /** Current search generation; an entry is valid only if its stamp equals this value. */
+    private int generation;
+
+    /** Generation in which {@link #g} and {@link #parent} were last written for each cell. */
+    private int[] seen = new int[0];
+
+    /** Generation in which each cell was closed. */
+    private int[] closed = new int[0];
+
+    /** Generation in which each cell was marked as a goal. */
+    private int[] goalMark = new int[0];
+
+    /** Best known cost from the start to each jump point. */
+    private float[] g = new float[0];
+
+    /** Jump point each jump point was reached from. */
+    private int[] parent = new int[0];
+
+    /** Goal coordinates of the current search, used by the heuristic. */
+    private int[] goalRow = new int[0];
+    private int[] goalCol = new int[0];
+    private int goalCount;
+
+    /** Open set. */
+    private final IndexedMinHeap open = new IndexedMinHeap(0);
+
+    /** Board, size and generation of the search in progress. */
+    private Board board;
+    private int width;
+    private int height;
+    private int gen;
+
+    /** Nodes closed by the last search. */
+    private int expanded;
+
+    /** Largest size of the open set during the last search. */
+    private int openPeak;
+
+    /** Cost of the path found by the last search. */
+    private float pathCost;
+
+    /** Directions to scan from the node being expanded. */
+    private final int[] scanDr = new int[8];
+    private final int[] scanDc = new int[8];
+
+    /**
+     * @return the reusable engine owned by the calling thread
+     */
+    public static JumpPointEngine forCurrentThread() {
+        return LOCAL.get();
+    }
+
+    @Override
+    public int findNextCell(Board board, int start, int[] goals, int goalCount) {
+        this.board = board;
+        width = board.getWidth();
+        height = board.getHeight();
+        prepare(width * height, goals, goalCount);
+        gen = generation;
+        expanded = 0;
+        openPeak = 0;
+        pathCost = Float.POSITIVE_INFINITY;
+
+        g[start] = 0f;
+        parent[start] = start;
+        seen[start] = gen;
+        open.pushOrUpdate(start, heuristic(start / width, start % width), 0f);
+
+        try {
+            while (!open.isEmpty()) {
+                int current = open.pop();
+
+                if (goalMark[current] == gen) {
+                    openPeak = open.peakSize();
+                    open.clear();
+                    pathCost = g[current];
+                    return current == start ? start : firstStep(start, current);
+                }
+
+                closed[current] = gen;
+                expanded++;
+                int row = current / width;
+                int col = current % width;
+                float gCurrent = g[current];
+
+                int scans = directions(current, row, col);
+                for (int i = 0; i < scans; i++) {
+                    int jumpPoint = jump(row, col, scanDr[i], scanDc[i]);
+                    if (jumpPoint == NO_PATH || closed[jumpPoint] == gen) continue;
+
+                    int jr = jumpPoint / width;
+                    int jc = jumpPoint % width;
+                    float tentativeG = gCurrent + segmentCost(Math.abs(jr - row), Math.abs(jc - col));
+                    if (seen[jumpPoint] != gen || tentativeG < g[jumpPoint]) {
+                        seen[jumpPoint] = gen;
+                        g[jumpPoint] = tentativeG;
+                        parent[jumpPoint] = current;
+                        float h = heuristic(jr, jc);
+                        open.pushOrUpdate(jumpPoint, tentativeG + h, h);
+                    }
+                }
+            }
+
+            openPeak = open.peakSize();
+            open.clear();
+            return NO_PATH;
+        } finally {
+            this.board = null;
+        }
+    }
+
+    @Override
+    public int getNodesExpanded() {
+        return expanded;
+    }
+
+    @Override
+    public int getOpenSetPeak() {
+        return openPeak;
+    }
+
+    @Override
+    public float getPathCost() {
+        return pathCost;
+    }
+
+    /**
+     * Fills {@link #scanDr}/{@link #scanDc} with the directions worth scanning from {@code cell}: all 8 from the
+     * start, otherwise the natural neighbors of the direction the cell was entered from plus its forced
+     * neighbors.
+     *
+     * @return the number of directions
+     */
+    private int directions(int cell, int row, int col) {
+        int from = parent[cell];
+        if (from == cell) {
+            System.arraycopy(DR, 0, scanDr, 0, 8);
+            System.arraycopy(DC, 0, scanDc, 0, 8);
+            return 8;
+        }
+        int dr = Integer.signum(row - from / width);
+        int dc = Integer.signum(col - from % width);
+        int n = 0;
+        if (dr != 0 && dc != 0) {
+            n = add(n, dr, 0);
+            n = add(n, 0, dc);
+            n = add(n, dr, dc);
+            if (!walkable(row, col - dc)) n = add(n, dr, -dc);
+            if (!walkable(row - dr, col)) n = add(n, -dr, dc);
+        } else if (dc != 0) {
+            n = add(n, 0, dc);
+            if (!walkable(row + 1, col)) n = add(n, 1, dc);
+            if (!walkable(row - 1, col)) n = add(n, -1, dc);
+        } else {
+            n = add(n, dr, 0);
+            if (!walkable(row, col + 1)) n = add(n, dr, 1);
+            if (!walkable(row, col - 1)) n = add(n, dr, -1);
+        }
+        return n;
+    }
+
+    private int add(int n, int dr, int dc) {
+        scanDr[n] = dr;
+        scanDc[n] = dc;
+        return n + 1;
+    }
+
+    /**
+     * Scans from ({@code row}, {@code col}) in direction ({@code dr}, {@code dc}) until it hits a blocked cell
+     * or finds a jump point. A diagonal scan also stops where one of its two straight sub-scans finds one.
+     *
+     * @return the flat index of the jump point, or {@link AStarEngine#NO_PATH} if the scan hits a wall first
+     */
+    private int jump(int row, int col, int dr, int dc) {
+        while (true) {
+            row += dr;
+            col += dc;
+            if (!walkable(row, col)) return NO_PATH;
+            int cell = row * width + col;
+            if (goalMark[cell] == gen) return cell;
+
+            if (dr != 0 && dc != 0) {
+                if ((walkable(row + dr, col - dc) && !walkable(row, col - dc))
+                        || (walkable(row - dr, col + dc) && !walkable(row - dr, col))) {
+                    return cell;
+                }
+                if (jump(row, col, 0, dc) != NO_PATH || jump(row, col, dr, 0) != NO_PATH) return cell;
+            } else if (dc != 0) {
+                if ((walkable(row + 1, col + dc) && !walkable(row + 1, col))
+                        || (walkable(row - 1, col + dc) && !walkable(row - 1, col))) {
+                    return cell;
+                }
+            } else {
+                if ((walkable(row + dr, col + 1) && !walkable(row, col + 1))
+                        || (walkable(row + dr, col - 1) && !walkable(row, col - 1))) {
+                    return cell;
+                }
+            }
+        }
+    }
+
+    /**
+     * Walks the jump point chain back to the one reached from the start and returns the first cell of the
+     * straight or diagonal segment leading to it.
+     */
+    private int firstStep(int start, int goal) {
+        int point = goal;
+        while (parent[point] != start) point = parent[point];
+        int dr = Integer.signum(point / width - start / width);
+        int dc = Integer.signum(point % width - start % width);
+        return start + dr * width + dc;
+    }
+
+    private boolean walkable(int row, int col) {
+        return row >= 0 && row < height && col >= 0 && col < width && board.isWalkable(row, col);
+    }
+
+    /**
+     * Cost of a straight or diagonal segment spanning {@code dRow} rows and {@code dCol} columns.
+     */
+    private static float segmentCost(int dRow, int dCol) {
+        int diagonal = Math.min(dRow, dCol);
+        return diagonal * SQRT2 + (Math.max(dRow, dCol) - diagonal);
+    }
+
+    /**
+     * Sizes the scratch buffers for {@code cells} cells, starts a new generation and marks the goals.
+     */
+    private void prepare(int cells, int[] goals, int count) {
+        if (seen.length < cells) {
+            seen = new int[cells];
+            closed = new int[cells];
+            goalMark = new int[cells];
+            g = new float[cells];
+            parent = new int[cells];
+            open.ensureCapacity(cells);
+            generation = 0;
+        }
+        if (goalRow.length < count) {
+            goalRow = new int[count];
+            goalCol = new int[count];
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            Arrays.fill(closed, 0);
+            Arrays.fill(goalMark, 0);
+            generation = 1;
+        }
+        for (int i = 0; i < count; i++) {
+            int goal = goals[i];
+            goalMark[goal] = generation;
+            goalRow[i] = goal / width;
+            goalCol[i] = goal % width;
+        }
+        goalCount = count;
+    }
+
+    /**
+     * Euclidean distance from the given cell to the closest goal.
+     */
+    private float heuristic(int row, int col) {
+        float best = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < goalCount; i++) {
+            int dr = row - goalRow[i];
+            int dc = col - goalCol[i];
+            float d = (float) Math.sqrt(dr * dr + dc * dc);
+            if (d < best) best = d;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,58 @@
+package org.game.pathfinding;
+
+import org.game.Board;
+import org.game.enums.PlannerType;
+
+/**
+ * Finds the next step toward the closest reachable goal over the 8-connected board grid, where straight steps
+ * cost 1, diagonal steps cost {@code sqrt(2)} and diagonal steps may cut corners.
+ *
+ * Cells are addressed by their flat index {@code row * width + col}. Implementations reuse their buffers across
+ * searches and are not thread-safe; use {@link #forCurrentThread(PlannerType)} to get the calling thread's
+ * instance.
+ */
+public interface PathPlanner {
+
+    /**
+     * Finds the next cell an entity at {@code start} should move to in order to reach the closest reachable
+     * goal, moving through walkable cells in 8 directions.
+     *
+     * @param board     the board to search
+     * @param start     flat index of the starting cell
+     * @param goals     flat indices of the goal cells
+     * @param goalCount number of valid entries in {@code goals}
+     * @return the flat index of the next cell, {@code start} itself if it is a goal,
+     *         or {@link AStarEngine#NO_PATH} if no goal is reachable
+     */
+    int findNextCell(Board board, int start, int[] goals, int goalCount);
+
+    /**
+     * @return the number of nodes taken off the open set by the last search
+     */
+    int getNodesExpanded();
+
+    /**
+     * @return the largest number of nodes queued in the open set at once during the last search
+     */
+    int getOpenSetPeak();
+
+    /**
+     * @return the cost of the path found by the last search, or infinity if it found none
+     */
+    float getPathCost();
+
+    /**
+     * @param type the search algorithm
+     * @return the reusable planner of that type owned by the calling thread
+     */
+    static PathPlanner forCurrentThread(PlannerType type) {
+        switch (type) {
+            case JUMP_POINT:
+                return JumpPointEngine.forCurrentThread();
+            case HIERARCHICAL:
+                return HierarchicalPlanner.forCurrentThread();
+            default:
+                return AStarEngine.forCurrentThread();
+        }
+    }
+}
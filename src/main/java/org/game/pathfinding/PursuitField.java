@@ -0,0 +1,81 @@
+package org.game.pathfinding;
+
+import org.game.Board;
+import org.game.Entity;
+import org.game.Position;
+
+/**
+ * Shared chase plan for all B-players: a {@link DistanceField} flooded from A's cell once per tick.
+ *
+ * The first pursuer to ask for a move in a tick builds the field; every other pursuer of that tick reuses it
+ * and only inspects its own 8 neighbors. With k pursuers this turns k full searches per tick into one
+ * flood plus k constant-time lookups.
+ */
+public final class PursuitField {
+
+    /** The board being played. */
+    private final Board board;
+
+    /** Distances to A's cell, as of the start of {@link #builtTick}. */
+    private final DistanceField field = new DistanceField();
+
+    /** Tick the field was last built for. */
+    private long builtTick = Long.MIN_VALUE;
+
+    /** Number of floods performed so far. */
+    private long builds;
+
+    /**
+     * @param board the board being played
+     */
+    public PursuitField(Board board) {
+        this.board = board;
+    }
+
+    /**
+     * Returns the next position a pursuer should move to in order to reach A.
+     *
+     * @param pursuer the B-player asking for a move
+     * @param tick    the current tick; the field is rebuilt the first time a new tick is seen
+     * @return the next position toward A, or {@code null} if A is unreachable
+     */
+    public Position nextMove(Entity pursuer, long tick) {
+        int width = board.getWidth();
+        int next = nextCell(pursuer.position.row * width + pursuer.position.col, tick);
+        return next == AStarEngine.NO_PATH ? null : board.positionOf(next);
+    }
+
+    /**
+     * Allocation-free variant of {@link #nextMove(Entity, long)} over flat cell indices.
+     *
+     * @param from flat index of the pursuer's cell
+     * @param tick the current tick; the field is rebuilt the first time a new tick is seen
+     * @return the flat index of the next cell toward A, or {@link AStarEngine#NO_PATH} if A is unreachable
+     */
+    public int nextCell(int from, long tick) {
+        ensureBuilt(tick);
+        return field.nextStep(board, from);
+    }
+
+    /**
+     * @return how many times the field has been flooded
+     */
+    public synchronized long getBuilds() {
+        return builds;
+    }
+
+    /**
+     * Floods the field from A's current cell unless it was already built for this tick.
+     * Synchronized so that the build happens-before every pursuer's reads.
+     */
+    private synchronized void ensureBuilt(long tick) {
+        if (builtTick == tick) return;
+        board.readConsistent(() -> {
+            Position a = board.aPlayer.position;
+            field.build(board, a.row * board.getWidth() + a.col);
+            return null;
+        });
+        builtTick = tick;
+        builds++;
+    }
+}
@@ -0,0 +1,62 @@
+package org.game.pathfinding;
+
+/**
+ * Word-parallel step of {@link BitFloodFill}: spreads the reached cells of one row onto the next row.
+ *
+ * The scalar implementation below is always available. When the project is built with the {@code vector}
+ * profile and run with {@code --add-modules jdk.incubator.vector}, {@link #best()} returns a Vector API
+ * implementation instead, loaded by reflection so that the incubator module is never needed otherwise.
+ */
+interface RowKernel {
+
+    /** Name of the Vector API implementation, compiled only by the {@code vector} profile. */
+    String VECTOR_KERNEL = "org.game.pathfinding.VectorRowKernel";
+
+    /**
+     * Adds to row {@code dst} every walkable cell that touches, straight or diagonally, a reached cell of row
+     * {@code src}: {@code reached[dst + i] |= dilate(reached[src..])[i] & walkable[dst + i]}.
+     *
+     * @param reached reached bits, row-padded like the board's walkability mask
+     * @param walkable walkability mask of the board
+     * @param src     offset of the first word of the source row
+     * @param dst     offset of the first word of the destination row
+     * @param words   words per row
+     * @return true if a bit was added
+     */
+    boolean spread(long[] reached, long[] walkable, int src, int dst, int words);
+
+    /**
+     * @return the Vector API kernel if it was compiled in and the incubator module is present, otherwise the
+     *         scalar one
+     */
+    static RowKernel best() {
+        try {
+            Object kernel = Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+            return (RowKernel) kernel;
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return Scalar.INSTANCE;
+        }
+    }
+
+    /** Plain {@code long} implementation. */
+    final class Scalar implements RowKernel {
+
+        static final Scalar INSTANCE = new Scalar();
+
+        @Override
+        public boolean spread(long[] reached, long[] walkable, int src, int dst, int words) {
+            long added = 0;
+            for (int i = 0; i < words; i++) {
+                long r = reached[src + i];
+                long below = i > 0 ? reached[src + i - 1] >>> 63 : 0L;
+                long above = i + 1 < words ? reached[src + i + 1] << 63 : 0L;
+                long dilated = r | (r << 1) | (r >>> 1) | below | above;
+                long old = reached[dst + i];
+                long now = old | (dilated & walkable[dst + i]);
+                reached[dst + i] = now;
+                added |= now ^ old;
+            }
+            return added != 0;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package org.game.render;
+
+import org.game.Board;
+import org.game.enums.EntityType;
+import org.game.enums.RenderMode;
+import org.game.jfr.RenderEvent;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes board frames to a stream with one bulk write per frame.
+ *
+ * Each frame is built from a private copy of the grid (taken with {@link Board#copyGrid(byte[])}, so the board
+ * lock is never held while formatting or writing) into a reusable byte buffer. In {@link RenderMode#ANSI_DIFF}
+ * mode only the cells that changed since the previous frame are redrawn.
+ *
+ * {@link #start(Board, int)} runs the renderer on its own daemon thread at a capped frame rate. Each frame
+ * shows the latest board state; states that come and go between two frames are simply never drawn, so a slow
+ * terminal drops frames instead of slowing the game down.
+ */
+public class BoardRenderer {
+
+    private static final byte ESC = 0x1B;
+
+    /** Clears the screen and moves the cursor to the top-left corner. */
+    private static final byte[] CLEAR_HOME = {ESC, '[', '2', 'J', ESC, '[', 'H'};
+
+    /** Symbol byte of each grid code. */
+    private static final byte[] SYMBOLS = new byte[EntityType.values().length];
+
+    static {
+        for (EntityType type : EntityType.values()) SYMBOLS[type.code] = (byte) type.symbol;
+    }
+
+    /** Destination of the frames. */
+    private final OutputStream out;
+
+    /** Full frames or ANSI diffs. */
+    private final RenderMode mode;
+
+    /** Grid copy the current frame is built from. */
+    private byte[] cells = new byte[0];
+
+    /** Grid as drawn by the previous frame (ANSI diff mode only). */
+    private byte[] drawn = new byte[0];
+
+    /** Whether {@link #drawn} holds a complete frame. */
+    private boolean hasDrawn;
+
+    /** Reusable frame buffer. */
+    private byte[] frame = new byte[0];
+
+    /** Bytes used in {@link #frame}. */
+    private int length;
+
+    /** Grid version of the last rendered frame. */
+    private volatile long renderedVersion = -1;
+
+    /** Frames rendered so far. */
+    private long frames;
+
+    /** Thread rendering at a capped frame rate, if started. */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param out  destination of the frames
+     * @param mode full frames or ANSI diffs
+     */
+    public BoardRenderer(OutputStream out, RenderMode mode) {
+        this.out = out;
+        this.mode = mode;
+    }
+
+    /**
+     * Renders the current state of the board as one frame.
+     *
+     * @param board the board to draw
+     */
+    public synchronized void render(Board board) {
+        RenderEvent event = new RenderEvent();
+        event.begin();
+        int width = board.getWidth();
+        int height = board.getHeight();
+        int size = width * height;
+        if (cells.length != size) {
+            cells = new byte[size];
+            drawn = new byte[size];
+            hasDrawn = false;
+        }
+        renderedVersion = board.copyGrid(cells);
+
+        length = 0;
+        if (mode == RenderMode.ANSI_DIFF && hasDrawn) {
+            appendDiff(width, height);
+        } else {
+            appendFull(width, height);
+        }
+        if (mode == RenderMode.ANSI_DIFF) {
+            System.arraycopy(cells, 0, drawn, 0, size);
+            hasDrawn = true;
+        }
+        write();
+        frames++;
+        event.end();
+        if (event.shouldCommit()) {
+            event.mode = mode.name();
+            event.cells = size;
+            event.bytes = length;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts rendering on a daemon thread at most {@code fps} times per second. A frame is only drawn when the
+     * board changed since the previous one.
+     *
+     * @param board the board to draw
+     * @param fps   the frame rate cap
+     */
+    public synchronized void start(Board board, int fps) {
+        if (scheduler != null) throw new IllegalStateException("Renderer already started");
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "board-renderer");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1, 1_000_000_000L / fps);
+        scheduler.scheduleAtFixedRate(() -> {
+            if (board.getVersion() != renderedVersion) render(board);
+        }, 0, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops the render thread, waiting for a frame in progress to finish.
+     */
+    public void stop() {
+        ScheduledExecutorService s;
+        synchronized (this) {
+            s = scheduler;
+            scheduler = null;
+        }
+        if (s == null) return;
+        s.shutdownNow();
+        try {
+            s.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the number of frames rendered so far
+     */
+    public synchronized long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Appends the whole board: one symbol and a space per cell, one line per row. In ANSI mode the cursor is
+     * first moved to the top-left corner of a cleared screen.
+     */
+    private void appendFull(int width, int height) {
+        ensureCapacity(height * (2 * width + 1) + 16);
+        byte[] f = frame;
+        if (mode == RenderMode.ANSI_DIFF) {
+            System.arraycopy(CLEAR_HOME, 0, f, length, CLEAR_HOME.length);
+            length += CLEAR_HOME.length;
+        }
+        int n = length;
+        for (int row = 0, i = 0; row < height; row++) {
+            for (int col = 0; col < width; col++, i++) {
+                f[n++] = SYMBOLS[cells[i]];
+                f[n++] = ' ';
+            }
+            f[n++] = '\n';
+        }
+        length = n;
+    }
+
+    /**
+     * Appends a cursor move and the new symbol for every cell that differs from the previous frame, then parks
+     * the cursor below the board.
+     */
+    private void appendDiff(int width, int height) {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == drawn[i]) continue;
+            ensureCapacity(length + 32);
+            moveCursor(i / width + 1, 2 * (i % width) + 1);
+            frame[length++] = SYMBOLS[cells[i]];
+        }
+        ensureCapacity(length + 32);
+        moveCursor(height + 1, 1);
+    }
+
+    /** Appends {@code ESC [ row ; col H}. */
+    private void moveCursor(int row, int col) {
+        frame[length++] = ESC;
+        frame[length++] = '[';
+        appendInt(row);
+        frame[length++] = ';';
+        appendInt(col);
+        frame[length++] = 'H';
+    }
+
+    private void appendInt(int value) {
+        int start = length;
+        do {
+            frame[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            byte t = frame[i];
+            frame[i] = frame[j];
+            frame[j] = t;
+        }
+    }
+
+    private void ensureCapacity(int needed) {
+        if (frame.length >= needed) return;
+        byte[] grown = new byte[Math.max(needed, frame.length * 2)];
+        System.arraycopy(frame, 0, grown, 0, length);
+        frame = grown;
+    }
+
+    private void write() {
+        try {
+            out.write(frame, 0, length);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
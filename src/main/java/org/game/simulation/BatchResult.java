@@ -0,0 +1,133 @@
+package org.game.simulation;
+
+import org.game.enums.GameOutcome;
+
+/**
+ * Aggregated statistics of a batch of headless games.
+ *
+ * Results of disjoint sub-batches are combined with {@link #merge(BatchResult)}, so a batch can be split
+ * across threads and reduced in any order with the same final result.
+ */
+public class BatchResult {
+
+    /** Number of games won by A. */
+    private long aWins;
+
+    /** Number of games won by a B-player. */
+    private long bWins;
+
+    /** Number of games that ended with A blocked from every phone. */
+    private long blocked;
+
+    /** Number of games that hit the tick budget. */
+    private long timeouts;
+
+    /** {@code ticksHistogram[t]} counts finished games (any outcome but timeout) that took {@code t} ticks. */
+    private final long[] ticksHistogram;
+
+    /**
+     * @param maxTicks the tick budget of each game
+     */
+    public BatchResult(int maxTicks) {
+        this.ticksHistogram = new long[maxTicks + 1];
+    }
+
+    /**
+     * Records one finished game.
+     *
+     * @param outcome how the game ended
+     * @param ticks   how many ticks it took
+     */
+    public void record(GameOutcome outcome, int ticks) {
+        switch (outcome) {
+            case A_WINS -> aWins++;
+            case B_WINS -> bWins++;
+            case BLOCKED -> blocked++;
+            case TIMEOUT -> timeouts++;
+        }
+        if (outcome != GameOutcome.TIMEOUT) ticksHistogram[ticks]++;
+    }
+
+    /**
+     * Adds the counts of another result (with the same tick budget) into this one.
+     *
+     * @param other the result to add
+     * @return this result
+     */
+    public BatchResult merge(BatchResult other) {
+        aWins += other.aWins;
+        bWins += other.bWins;
+        blocked += other.blocked;
+        timeouts += other.timeouts;
+        for (int i = 0; i < ticksHistogram.length; i++) ticksHistogram[i] += other.ticksHistogram[i];
+        return this;
+    }
+
+    public long getAWins() {
+        return aWins;
+    }
+
+    public long getBWins() {
+        return bWins;
+    }
+
+    public long getBlocked() {
+        return blocked;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * @return the total number of games recorded
+     */
+    public long getGames() {
+        return aWins + bWins + blocked + timeouts;
+    }
+
+    /**
+     * @param ticks a number of ticks
+     * @return how many finished games took exactly that many ticks
+     */
+    public long getGamesFinishedIn(int ticks) {
+        return ticks < ticksHistogram.length ? ticksHistogram[ticks] : 0;
+    }
+
+    /**
+     * @return the mean number of ticks of the finished games, or NaN if none finished
+     */
+    public double getMeanTicks() {
+        long count = 0;
+        double sum = 0;
+        for (int t = 0; t < ticksHistogram.length; t++) {
+            count += ticksHistogram[t];
+            sum += (double) t * ticksHistogram[t];
+        }
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    /**
+     * @param percentile a value in {@code [0, 100]}
+     * @return the smallest tick count such that at least {@code percentile}% of finished games took no longer,
+     *         or -1 if no game finished
+     */
+    public int getTicksPercentile(double percentile) {
+        long finished = getGames() - timeouts;
+        if (finished == 0) return -1;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * finished));
+        long seen = 0;
+        for (int t = 0; t < ticksHistogram.length; t++) {
+            seen += ticksHistogram[t];
+            if (seen >= rank) return t;
+        }
+        return ticksHistogram.length - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "games=" + getGames() + " aWins=" + aWins + " bWins=" + bWins + " blocked=" + blocked
+                + " timeouts=" + timeouts + " meanTicks=" + getMeanTicks()
+                + " p50=" + getTicksPercentile(50) + " p99=" + getTicksPercentile(99);
+    }
+}
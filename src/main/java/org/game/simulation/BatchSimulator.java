@@ -0,0 +1,105 @@
+package org.game.simulation;
+
+import org.game.BoardConfig;
+import org.game.GameOptions;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs many independent headless games in parallel and aggregates their outcomes.
+ *
+ * Game {@code i} of a batch is generated from a seed derived only from the batch seed and {@code i}, and
+ * every game runs on a single thread, so the aggregated result is the same for a given seed no matter how the
+ * fork-join pool splits the work.
+ */
+public class BatchSimulator {
+
+    /** Games per leaf task; large enough to amortize task overhead on small boards. */
+    private static final int LEAF_SIZE = 64;
+
+    /** Pool the games run on. */
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a simulator that uses every available core through the common pool.
+     */
+    public BatchSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool to run games on
+     */
+    public BatchSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Plays {@code games} games and aggregates their results.
+     *
+     * @param config   the board dimensions and entity counts of every game
+     * @param options  runtime options such as the pursuit mode
+     * @param seed     the batch seed
+     * @param games    how many games to play
+     * @param maxTicks the tick budget of each game
+     * @return the aggregated results
+     */
+    public BatchResult run(BoardConfig config, GameOptions options, long seed, int games, int maxTicks) {
+        return pool.invoke(new Chunk(config, options, seed, 0, games, maxTicks));
+    }
+
+    /**
+     * Derives the seed of one game of a batch (a SplitMix64 step over the batch seed and the game index).
+     *
+     * @param batchSeed the batch seed
+     * @param game      the game index
+     * @return the seed of that game
+     */
+    public static long gameSeed(long batchSeed, long game) {
+        long z = batchSeed + (game + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays the games {@code [from, to)} of a batch, splitting in halves until chunks are small.
+     */
+    @SuppressWarnings("serial") // Only ever run in the pool, never serialized
+    private static final class Chunk extends RecursiveTask<BatchResult> {
+
+        private final BoardConfig config;
+        private final GameOptions options;
+        private final long seed;
+        private final int from;
+        private final int to;
+        private final int maxTicks;
+
+        Chunk(BoardConfig config, GameOptions options, long seed, int from, int to, int maxTicks) {
+            this.config = config;
+            this.options = options;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+            this.maxTicks = maxTicks;
+        }
+
+        @Override
+        protected BatchResult compute() {
+            if (to - from <= LEAF_SIZE) {
+                BatchResult result = new BatchResult(maxTicks);
+                for (int i = from; i < to; i++) {
+                    HeadlessGame game = new HeadlessGame(config, options, gameSeed(seed, i));
+                    result.record(game.play(maxTicks), game.getTicks());
+                }
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            Chunk left = new Chunk(config, options, seed, from, mid, maxTicks);
+            left.fork();
+            BatchResult right = new Chunk(config, options, seed, mid, to, maxTicks).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.game.simulation;
+
+import org.game.EntityAgent;
+import org.game.metrics.GameMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every entity on its own (typically virtual) thread, ticking in lockstep through a tiered {@link Phaser}.
+ *
+ * Unlike a {@link java.util.concurrent.CyclicBarrier}, the party count is not fixed: entities register when
+ * they are {@link #spawn(EntityAgent) spawned} and deregister when their agent dies or the swarm shuts down.
+ * A single phaser supports at most 65,535 parties and all of them contend on one state word, so entities are
+ * spread over leaf phasers of {@value #LEAF_PARTIES} parties each; a leaf counts as one party of the root.
+ *
+ * Each tick has two phases, exactly like the barrier-based game loop: the controlling thread calls
+ * {@link #awaitTickStart()} to release the entities and {@link #awaitTickEnd()} to wait until they have all
+ * moved. Entities must be spawned by the controlling thread between ticks.
+ *
+ * A phaser blocks new registrations while it is advancing, which a leaf does as soon as all of its running
+ * entities have arrived. To keep {@link #spawn(EntityAgent)} from ever waiting on itself, spawned threads are
+ * only started when the next tick starts, and a leaf stops accepting entities once its threads are running.
+ */
+public class EntitySwarm {
+
+    /** Maximum number of entities per leaf phaser. */
+    static final int LEAF_PARTIES = 1024;
+
+    /** Root phaser; the controlling thread is its only direct party. */
+    private final Phaser root = new Phaser(1);
+
+    /** Creates the entity threads. */
+    private final ThreadFactory threads;
+
+    /** Leaf that new entities register with. */
+    private Phaser leaf;
+
+    /** Entities registered with {@link #leaf} so far. */
+    private int leafRegistrations;
+
+    /** Threads of entities spawned since the last tick started. */
+    private final List<Thread> pending = new ArrayList<>();
+
+    /** Number of entities currently taking part in ticks. */
+    private final AtomicInteger alive = new AtomicInteger();
+
+    /** The tick being played, published to entities before they are released. */
+    private volatile long tick = -1;
+
+    /**
+     * @param threads factory for the entity threads, e.g. {@link VirtualThreads#factory()}
+     */
+    public EntitySwarm(ThreadFactory threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Registers an entity and creates its thread. It takes part from the next tick on.
+     *
+     * @param agent the entity's decision logic
+     */
+    public void spawn(EntityAgent agent) {
+        if (leaf == null || leafRegistrations == LEAF_PARTIES) {
+            leaf = new Phaser(root, 0);
+            leafRegistrations = 0;
+        }
+        Phaser phaser = leaf;
+        phaser.register();
+        leafRegistrations++;
+        alive.incrementAndGet();
+        pending.add(threads.newThread(() -> runEntity(agent, phaser)));
+    }
+
+    /**
+     * Releases every entity for the next tick.
+     */
+    public void awaitTickStart() {
+        tick++;
+        for (Thread thread : pending) thread.start();
+        pending.clear();
+        leaf = null;
+        root.arriveAndAwaitAdvance();
+    }
+
+    /**
+     * Waits until every entity has finished its move of the current tick.
+     */
+    public void awaitTickEnd() {
+        root.arriveAndAwaitAdvance();
+    }
+
+    /**
+     * Stops every entity: threads waiting for a tick return and exit.
+     */
+    public void shutdown() {
+        alive.addAndGet(-pending.size());
+        pending.clear();
+        root.forceTermination();
+    }
+
+    /**
+     * @return the number of entities currently taking part in ticks
+     */
+    public int size() {
+        return alive.get();
+    }
+
+    /**
+     * Entity loop: wait for the tick to start, step, wait for everyone to finish. An agent killed between ticks
+     * leaves during the next tick, without stepping, so it never holds that tick up.
+     */
+    private void runEntity(EntityAgent agent, Phaser phaser) {
+        try {
+            while (true) {
+                if (phaser.arriveAndAwaitAdvance() < 0) return;
+                if (!agent.isAlive()) {
+                    phaser.arriveAndDeregister();
+                    return;
+                }
+                try {
+                    agent.step(tick);
+                } catch (RuntimeException e) {
+                    // A failed move must not stall the tick for everyone else
+                    GameMetrics.global().recordSwallowed(e);
+                }
+                if (phaser.arriveAndAwaitAdvance() < 0) return;
+            }
+        } finally {
+            alive.decrementAndGet();
+        }
+    }
+}
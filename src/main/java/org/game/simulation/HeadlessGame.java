@@ -0,0 +1,124 @@
+package org.game.simulation;
+
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.EntityStore;
+import org.game.GameOptions;
+import org.game.GameUtils;
+import org.game.Position;
+import org.game.enums.EntityType;
+import org.game.enums.GameOutcome;
+import org.game.enums.PlannerType;
+import org.game.enums.RouteMode;
+import org.game.pathfinding.AStarEngine;
+import org.game.pathfinding.ConnectivityIndex;
+import org.game.pathfinding.DStarLite;
+import org.game.enums.PursuitMode;
+import org.game.pathfinding.PursuitField;
+
+/**
+ * A single game played to completion on the calling thread, without threads, sleeps or console output.
+ *
+ * Each tick A moves first, then every B-player in board order, and the end-of-game rules are evaluated once.
+ * With a fixed seed the whole game is deterministic.
+ */
+public class HeadlessGame {
+
+    /** The board being played. */
+    private final Board board;
+
+    /** Shared chase field, or {@code null} when every B-player runs its own search. */
+    private final PursuitField pursuitField;
+
+    /** Search algorithm of the individual searches. */
+    private final PlannerType planner;
+
+    /** A's incremental route to the phones, or {@code null} when A searches from scratch every tick. */
+    private final DStarLite route;
+
+    /** Ticks played so far. */
+    private int ticks;
+
+    /** A's cell, as the goal of the B-players' searches. */
+    private final int[] aCell = new int[1];
+
+    /** Cells of the phones, as the goals of A's searches. */
+    private final int[] phoneCells;
+
+    /** Number of valid entries in {@link #phoneCells}. */
+    private final int phoneCount;
+
+    /**
+     * Creates a game on a freshly generated board.
+     *
+     * @param config  the board dimensions and entity counts
+     * @param options runtime options such as the pursuit mode
+     * @param seed    the seed of the board generator
+     */
+    public HeadlessGame(BoardConfig config, GameOptions options, long seed) {
+        this.board = new Board(config);
+        this.board.initialize(seed);
+        ConnectivityIndex.of(board);
+        this.planner = options.planner;
+        this.route = options.route == RouteMode.INCREMENTAL ? new DStarLite(board, board.phones) : null;
+        this.pursuitField = options.pursuit == PursuitMode.SHARED_DISTANCE_FIELD ? new PursuitField(board) : null;
+        EntityStore store = board.getEntityStore();
+        this.phoneCells = new int[store.count(EntityType.PHONE)];
+        this.phoneCount = store.collectCells(EntityType.PHONE, phoneCells);
+    }
+
+    /**
+     * Plays until the game ends or {@code maxTicks} ticks have been played.
+     *
+     * @param maxTicks the tick budget
+     * @return the outcome, {@link GameOutcome#TIMEOUT} if the budget ran out
+     */
+    public GameOutcome play(int maxTicks) {
+        while (ticks < maxTicks) {
+            tick();
+            GameOutcome outcome = GameUtils.checkOutcome(board, route);
+            if (outcome != null) return outcome;
+        }
+        return GameOutcome.TIMEOUT;
+    }
+
+    /**
+     * Plays one tick: A moves toward the phones, then each B-player moves toward A.
+     *
+     * The whole tick works on cell indices and the board's {@link Board#positionOf(int) interned positions}, so
+     * it only allocates a {@link Position} the first time an entity steps on a cell.
+     */
+    public void tick() {
+        EntityStore store = board.getEntityStore();
+        int a = board.aPlayer.id;
+        int from = store.cellOf(a);
+        int next = route != null
+                ? route.nextCell(from)
+                : GameUtils.findNextCell(board, from, phoneCells, phoneCount, planner);
+        if (next != AStarEngine.NO_PATH) board.moveEntity(a, next);
+
+        // The B-players in id order, straight from the entity store's arrays
+        aCell[0] = store.cellOf(a);
+        store.forEach(EntityType.B, (id, cell) -> {
+            int to = pursuitField != null
+                    ? pursuitField.nextCell(cell, ticks)
+                    : GameUtils.findNextCell(board, cell, aCell, 1, planner);
+            if (to != AStarEngine.NO_PATH && board.isWalkable(to)) board.moveEntity(id, to);
+        });
+        ticks++;
+    }
+
+    /**
+     * @return the number of ticks played so far
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return the board being played
+     */
+    public Board getBoard() {
+        return board;
+    }
+}
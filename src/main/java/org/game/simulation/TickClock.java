@@ -0,0 +1,150 @@
+package org.game.simulation;
+
+import org.game.enums.TickMode;
+import org.game.metrics.GameMetrics;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Central clock that paces the game loop and accounts for how each tick's time was spent.
+ *
+ * In {@link TickMode#FIXED_RATE} mode tick {@code n} is scheduled at {@code origin + n * period}, so a slow
+ * tick shortens the following wait instead of shifting every later tick (no cumulative drift). When the
+ * loop falls more than a whole period behind, the schedule is re-anchored at the current time rather than
+ * running a burst of back-to-back ticks to catch up. In {@link TickMode#AS_FAST_AS_POSSIBLE} mode there is
+ * no waiting at all.
+ *
+ * The clock is driven by a single thread: call {@link #beginTick()} when a tick's work starts and
+ * {@link #endTick()} when it is done; {@code endTick} waits until the next tick is due.
+ */
+public class TickClock {
+
+    /** Pacing mode. */
+    private final TickMode mode;
+
+    /** Tick period in nanoseconds (fixed-rate mode only). */
+    private final long periodNanos;
+
+    /** Scheduled start of the next tick. */
+    private long nextDeadline;
+
+    /** Start time of the tick in progress. */
+    private long tickStart;
+
+    /** Whether {@link #beginTick()} has been called at least once. */
+    private boolean started;
+
+    /** Number of completed ticks. */
+    private long ticks;
+
+    /** Total time spent between {@link #beginTick()} and {@link #endTick()}. */
+    private long workNanos;
+
+    /** Total time spent waiting for the next tick to be due. */
+    private long waitNanos;
+
+    /** Longest single tick of work. */
+    private long maxWorkNanos;
+
+    /** Ticks whose work took longer than the period. */
+    private long overruns;
+
+    /**
+     * @param mode         the pacing mode
+     * @param periodMillis the tick period in milliseconds (ignored when running as fast as possible)
+     */
+    public TickClock(TickMode mode, long periodMillis) {
+        if (mode == TickMode.FIXED_RATE && periodMillis <= 0) {
+            throw new IllegalArgumentException("Fixed-rate ticks need a positive period: " + periodMillis);
+        }
+        this.mode = mode;
+        this.periodNanos = periodMillis * 1_000_000L;
+    }
+
+    /**
+     * Marks the start of a tick's work. The first call anchors the fixed-rate schedule.
+     */
+    public void beginTick() {
+        tickStart = System.nanoTime();
+        if (!started) {
+            started = true;
+            nextDeadline = tickStart;
+        }
+    }
+
+    /**
+     * Marks the end of a tick's work and, in fixed-rate mode, waits until the next tick is due.
+     */
+    public void endTick() {
+        long now = System.nanoTime();
+        long work = now - tickStart;
+        workNanos += work;
+        if (work > maxWorkNanos) maxWorkNanos = work;
+        ticks++;
+        GameMetrics.global().recordTick(work);
+
+        if (mode == TickMode.AS_FAST_AS_POSSIBLE) return;
+
+        if (work > periodNanos) overruns++;
+        nextDeadline += periodNanos;
+        if (now - nextDeadline > periodNanos) {
+            // More than a full period behind: re-anchor instead of bursting to catch up
+            nextDeadline = now;
+            return;
+        }
+        long remaining;
+        while ((remaining = nextDeadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+        waitNanos += System.nanoTime() - now;
+    }
+
+    /**
+     * @return the number of completed ticks
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return total nanoseconds spent doing tick work
+     */
+    public long getWorkNanos() {
+        return workNanos;
+    }
+
+    /**
+     * @return total nanoseconds spent waiting for the next tick
+     */
+    public long getWaitNanos() {
+        return waitNanos;
+    }
+
+    /**
+     * @return the longest single tick of work, in nanoseconds
+     */
+    public long getMaxWorkNanos() {
+        return maxWorkNanos;
+    }
+
+    /**
+     * @return the number of fixed-rate ticks whose work took longer than the period
+     */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    /**
+     * @return the share of wall time spent working, between 0 and 1
+     */
+    public double getUtilization() {
+        long total = workNanos + waitNanos;
+        return total == 0 ? 0.0 : (double) workNanos / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ticks=%d work=%.1fms wait=%.1fms maxTick=%.2fms utilization=%.1f%% overruns=%d",
+                ticks, workNanos / 1e6, waitNanos / 1e6, maxWorkNanos / 1e6, getUtilization() * 100, overruns);
+    }
+}
@@ -0,0 +1,184 @@
+package org.game.simulation;
+
+import org.game.Board;
+import org.game.Entity;
+import org.game.EntityAgent;
+import org.game.Position;
+import org.game.metrics.GameMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Plays ticks in two phases, so that the outcome of a tick does not depend on thread scheduling.
+ *
+ * First every agent {@link EntityAgent#plan(long) plans} its move in parallel against the same board, which
+ * nobody writes to meanwhile, so planners never contend on a lock or see each other's moves. Then the calling
+ * thread resolves the intents in one pass and applies them in agent order:
+ * <ul>
+ *     <li>when several agents target the same cell, the one added first gets it and the others stay put;</li>
+ *     <li>two agents that would swap cells both stay put, so nobody passes through anybody;</li>
+ *     <li>every remaining move is {@link Board#commitMove committed}, which still rejects it if the target is
+ *     no longer walkable.</li>
+ * </ul>
+ * Agents are added in a fixed order (A first, then the B-players in board order), so given the same board the
+ * same moves win every time.
+ */
+public class TickPipeline {
+
+    /** The board being played. */
+    private final Board board;
+
+    /** Agents in priority order. */
+    private final List<EntityAgent> agents = new ArrayList<>();
+
+    /** Planned position of each agent this tick, or {@code null} to stay put. */
+    private Position[] intents = new Position[0];
+
+    /** Cell each agent leaves and enters this tick; the target is -1 when the agent stays put. */
+    private int[] from = new int[0];
+    private int[] to = new int[0];
+
+    /** Targets (high half) and agent indices (low half) of the moving agents, sorted to find collisions. */
+    private long[] claims = new long[0];
+
+    /** Sources and agent indices of the moving agents, sorted to find swaps. */
+    private long[] sources = new long[0];
+
+    /** Number of ticks played. */
+    private long ticks;
+
+    /** Intents dropped because another agent had priority or the agents would have swapped. */
+    private long conflicts;
+
+    /**
+     * @param board the board being played
+     */
+    public TickPipeline(Board board) {
+        this.board = board;
+    }
+
+    /**
+     * Adds an agent with a lower priority than every agent added before. It takes part from the next tick on.
+     *
+     * @param agent the entity's decision logic
+     */
+    public void add(EntityAgent agent) {
+        agents.add(agent);
+    }
+
+    /**
+     * @return the number of agents taking part in ticks
+     */
+    public int size() {
+        return agents.size();
+    }
+
+    /**
+     * Plays one tick: plans every move in parallel, then resolves and applies them on the calling thread.
+     * Agents that were {@link EntityAgent#kill() killed} leave before planning.
+     *
+     * @return the number of entities that moved
+     */
+    public int tick() {
+        agents.removeIf(agent -> !agent.isAlive());
+        int n = agents.size();
+        if (intents.length < n) grow(n);
+        long tick = ticks++;
+
+        // Phase 1: nothing writes to the board, so every agent sees the same state
+        IntStream.range(0, n).parallel().forEach(i -> intents[i] = plan(agents.get(i), tick));
+
+        // Phase 2: resolve on this thread, in agent order
+        int width = board.getWidth();
+        int moving = 0;
+        for (int i = 0; i < n; i++) {
+            Position at = agents.get(i).getEntity().position;
+            Position next = intents[i];
+            from[i] = at.row * width + at.col;
+            to[i] = next == null || next.equals(at) ? -1 : next.row * width + next.col;
+            if (to[i] >= 0) {
+                claims[moving] = (long) to[i] << 32 | i;
+                sources[moving] = (long) from[i] << 32 | i;
+                moving++;
+            }
+        }
+        Arrays.sort(claims, 0, moving);
+        Arrays.sort(sources, 0, moving);
+
+        // Sorted by target then index, so the first claim on a cell has priority over the rest
+        for (int k = 1; k < moving; k++) {
+            if (claims[k] >>> 32 == claims[k - 1] >>> 32) drop((int) claims[k]);
+        }
+        for (int k = 0; k < moving; k++) {
+            int i = (int) claims[k];
+            if (to[i] < 0) continue;
+            int j = moverFrom(to[i], moving);
+            if (j > i && to[j] == from[i]) {
+                drop(i);
+                drop(j);
+            }
+        }
+
+        int moved = 0;
+        for (int i = 0; i < n; i++) {
+            if (to[i] < 0) continue;
+            Entity entity = agents.get(i).getEntity();
+            if (board.commitMove(entity, intents[i])) moved++;
+        }
+        Arrays.fill(intents, 0, n, null);
+        return moved;
+    }
+
+    /**
+     * @return the number of ticks played
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return the number of intents dropped so far because of a collision or a swap
+     */
+    public long getConflicts() {
+        return conflicts;
+    }
+
+    private static Position plan(EntityAgent agent, long tick) {
+        long started = System.nanoTime();
+        try {
+            return agent.plan(tick);
+        } catch (RuntimeException e) {
+            // A failed plan must not stall the tick for everyone else
+            GameMetrics.global().recordSwallowed(e);
+            return null;
+        } finally {
+            GameMetrics.global().recordPlan(System.nanoTime() - started);
+        }
+    }
+
+    private void drop(int i) {
+        if (to[i] < 0) return;
+        to[i] = -1;
+        conflicts++;
+    }
+
+    /**
+     * @return the index of the moving agent standing on {@code cell}, or -1 if there is none
+     */
+    private int moverFrom(int cell, int moving) {
+        int k = Arrays.binarySearch(sources, 0, moving, (long) cell << 32);
+        if (k < 0) k = -k - 1;
+        return k < moving && sources[k] >>> 32 == cell ? (int) sources[k] : -1;
+    }
+
+    private void grow(int n) {
+        intents = new Position[n];
+        from = new int[n];
+        to = new int[n];
+        claims = new long[n];
+        sources = new long[n];
+    }
+}
@@ -0,0 +1,51 @@
+package org.game.simulation;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads without requiring them at compile time.
+ *
+ * The project is built for Java 17, where virtual threads do not exist; on a Java 21+ runtime the
+ * {@code Thread.ofVirtual()} builder is looked up once by reflection and turned into a plain
+ * {@link ThreadFactory}, so creating a thread costs no reflection.
+ */
+public final class VirtualThreads {
+
+    /** Factory of virtual threads, or {@code null} if the runtime does not support them. */
+    private static final ThreadFactory FACTORY = lookupFactory();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if the running JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return FACTORY != null;
+    }
+
+    /**
+     * @return a factory creating unstarted virtual threads named {@code entity-<n>}
+     * @throws UnsupportedOperationException if the runtime is older than Java 21
+     */
+    public static ThreadFactory factory() {
+        if (FACTORY == null) {
+            throw new UnsupportedOperationException(
+                    "Virtual threads need a Java 21+ runtime; running on " + Runtime.version());
+        }
+        return FACTORY;
+    }
+
+    private static ThreadFactory lookupFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "entity-", 0L);
+            Method factory = builderType.getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
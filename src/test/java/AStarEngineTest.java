@@ -0,0 +1,126 @@
+import org.game.Board;
+import org.game.GameUtils;
+import org.game.Position;
+import org.game.enums.EntityType;
+import org.game.pathfinding.AStarEngine;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AStarEngineTest {
+
+    /**
+     * Next moves of the original {@code PriorityQueue} planner on the first 400 boards of {@link #randomScene}
+     * with {@code Random(42)}: the row and column digits of the move, or {@code --} when it found no path.
+     */
+    private static final String ORIGINAL_MOVES =
+            "6931356584134453286128188898371627257444018351694141291761657646477114851353655662395666462372862829" +
+            "5855161881311035979291238932288631588352862833116255852728157528479768874888677824631971426212425737" +
+            "8346822417383271222717536373181825827522361111386827407196687054344013667747838793741362338732718882" +
+            "7528759621281723868278180274788341282413858255247421142881137512125461183879926426891231926690146117" +
+            "5845497246645314086521821504887662385676174811624379322348663321484821353860151739588441262266381567" +
+            "6567837877657769547981642270274319473509367454837548278775393445822654151262144344705871831371635323" +
+            "43671503232816883572863643685781803925838724270401626371--722586434418853190785994513883580242182883" +
+            "3758567211235183232299175591572841621827448856147229945177739768682134061695367646058272773582956274";
+
+    @Test
+    public void testNextMoveIsOnAnOptimalPath() {
+        Random rand = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            Board board = new Board();
+            int size = board.getWidth();
+            List<Position> goals = new ArrayList<>();
+            Position start = randomScene(rand, board, goals);
+
+            double[] dist = ReferencePaths.distancesToGoals(board, goals);
+            Position next = GameUtils.findNextMoveTowards(board, start, goals);
+            double best = dist[start.row * size + start.col];
+
+            if (Double.isInfinite(best)) {
+                assertNull(next, "No move expected when every goal is unreachable");
+                continue;
+            }
+            assertNotNull(next, "A move expected when a goal is reachable");
+            assertTrue(Math.abs(next.row - start.row) <= 1 && Math.abs(next.col - start.col) <= 1,
+                    "The next move must be adjacent to the start");
+            double step = next.row != start.row && next.col != start.col ? Math.sqrt(2) : 1;
+            assertEquals(best, step + dist[next.row * size + next.col], 1e-3,
+                    "The next move must lie on a shortest path");
+        }
+    }
+
+    @Test
+    public void testNextMoveMatchesTheOriginalPlanner() {
+        // Equal-cost paths are common on these boards, so this also pins down how ties are broken
+        Random rand = new Random(42);
+        for (int round = 0; round < ORIGINAL_MOVES.length() / 2; round++) {
+            Board board = new Board();
+            List<Position> goals = new ArrayList<>();
+            Position start = randomScene(rand, board, goals);
+
+            Position next = GameUtils.findNextMoveTowards(board, start, goals);
+            String expected = ORIGINAL_MOVES.substring(2 * round, 2 * round + 2);
+            assertEquals(expected, next == null ? "--" : "" + next.row + next.col, "Next move on board " + round);
+        }
+    }
+
+    @Test
+    public void testStartOnGoalReturnsStart() {
+        Board board = new Board();
+        Position start = new Position(4, 4);
+        board.setEntity(start, EntityType.A);
+
+        assertEquals(start, GameUtils.findNextMoveTowards(board, start, List.of(start)));
+    }
+
+    @Test
+    public void testSearchDoesNotAllocateOnceWarm() {
+        Board board = new Board();
+        board.setEntity(new Position(1, 1), EntityType.OBSTACLE);
+        board.setEntity(new Position(1, 2), EntityType.OBSTACLE);
+        board.setEntity(new Position(1, 3), EntityType.OBSTACLE);
+        int width = board.getWidth();
+        int start = 0;
+        int[] goals = {9 * width + 9, 5 * width + 2};
+
+        AStarEngine engine = AStarEngine.forCurrentThread();
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < 10_000; i++) engine.findNextCell(board, start, goals, goals.length);
+        threads.getThreadAllocatedBytes(threadId);
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 1_000; i++) engine.findNextCell(board, start, goals, goals.length);
+        long after = threads.getThreadAllocatedBytes(threadId);
+
+        assertEquals(0, after - before, "A warmed-up search must not allocate");
+    }
+
+    /**
+     * Places 30 obstacles, a B-player at the start and one to three phones as goals on a 10x10 board.
+     *
+     * @return the start
+     */
+    private static Position randomScene(Random rand, Board board, List<Position> goals) {
+        int size = board.getWidth();
+        for (int i = 0; i < 30; i++) {
+            board.setEntity(new Position(rand.nextInt(size), rand.nextInt(size)), EntityType.OBSTACLE);
+        }
+        Position start = new Position(rand.nextInt(size), rand.nextInt(size));
+        board.setEntity(start, EntityType.B);
+        for (int i = 1 + rand.nextInt(3); i > 0; i--) {
+            Position goal = new Position(rand.nextInt(size), rand.nextInt(size));
+            if (goal.equals(start)) continue;
+            board.setEntity(goal, EntityType.PHONE);
+            goals.add(goal);
+        }
+        return start;
+    }
+}
@@ -0,0 +1,48 @@
+import org.game.BoardConfig;
+import org.game.GameOptions;
+import org.game.enums.GameOutcome;
+import org.game.enums.PursuitMode;
+import org.game.simulation.BatchResult;
+import org.game.simulation.BatchSimulator;
+import org.game.simulation.HeadlessGame;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchSimulatorTest {
+
+    @Test
+    public void testBatchIsReproducibleFromSeed() {
+        BoardConfig config = BoardConfig.defaults();
+        GameOptions options = new GameOptions();
+
+        BatchResult first = new BatchSimulator().run(config, options, 7L, 2_000, 200);
+        BatchResult second = new BatchSimulator(new ForkJoinPool(3)).run(config, options, 7L, 2_000, 200);
+
+        assertEquals(2_000, first.getGames(), "Every game must be recorded");
+        assertEquals(first.getAWins(), second.getAWins());
+        assertEquals(first.getBWins(), second.getBWins());
+        assertEquals(first.getBlocked(), second.getBlocked());
+        assertEquals(first.getTimeouts(), second.getTimeouts());
+        for (int t = 0; t <= 200; t++) {
+            assertEquals(first.getGamesFinishedIn(t), second.getGamesFinishedIn(t), "Tick histogram differs at " + t);
+        }
+    }
+
+    @Test
+    public void testSingleGameIsDeterministic() {
+        GameOptions options = new GameOptions();
+        options.pursuit = PursuitMode.SHARED_DISTANCE_FIELD;
+        BoardConfig config = new BoardConfig(20, 20, 40, 2, 4);
+
+        HeadlessGame first = new HeadlessGame(config, options, 123L);
+        HeadlessGame second = new HeadlessGame(config, options, 123L);
+        GameOutcome outcome = first.play(500);
+
+        assertEquals(outcome, second.play(500));
+        assertEquals(first.getTicks(), second.getTicks());
+        assertEquals(first.getBoard().aPlayer.position, second.getBoard().aPlayer.position);
+    }
+}
@@ -0,0 +1,99 @@
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.GameUtils;
+import org.game.Position;
+import org.game.enums.EntityType;
+import org.game.pathfinding.AStarEngine;
+import org.game.pathfinding.BitFloodFill;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitFloodFillTest {
+
+    @Test
+    public void testReachesSameCellsAsBreadthFirstSearch() {
+        Random rand = new Random(3);
+        BitFloodFill fill = BitFloodFill.forCurrentThread();
+        for (int round = 0; round < 300; round++) {
+            // Widths around and across word boundaries
+            int width = 1 + rand.nextInt(200);
+            int height = 1 + rand.nextInt(60);
+            Board board = new Board(new BoardConfig(width, height, 0, 0, 0));
+            double density = rand.nextDouble() * 0.6;
+            for (int i = (int) (width * height * density); i > 0; i--) {
+                board.setEntity(new Position(rand.nextInt(height), rand.nextInt(width)), EntityType.OBSTACLE);
+            }
+            int source = rand.nextInt(width * height);
+            if (rand.nextBoolean()) board.setEntity(new Position(source / width, source % width), EntityType.B);
+
+            fill.fill(board, source);
+            boolean[] expected = breadthFirst(board, source);
+            int count = 0;
+            for (int cell = 0; cell < width * height; cell++) {
+                assertEquals(expected[cell], fill.isReached(cell), "Cell " + cell + " of a " + width + "x" + height
+                        + " board, source " + source);
+                if (expected[cell]) count++;
+            }
+            assertEquals(count, fill.getReachedCount());
+        }
+    }
+
+    @Test
+    public void testAgreesWithAStarOnPhoneReachability() {
+        Random rand = new Random(8);
+        for (int round = 0; round < 200; round++) {
+            int size = 20 + rand.nextInt(150);
+            Board board = new Board(new BoardConfig(size, size, (int) (size * size * 0.42), 3, 5));
+            board.initialize(rand.nextLong());
+            boolean expected = GameUtils.findNextMoveTowards(board, board.aPlayer.position, board.phones) != null;
+            assertEquals(expected, GameUtils.hasPathToPhone(board));
+        }
+    }
+
+    @Test
+    public void testFollowsBoardChanges() {
+        Board board = new Board(new BoardConfig(130, 3, 0, 0, 0));
+        int width = board.getWidth();
+        int start = width;
+        int[] goal = {2 * width - 1};
+        BitFloodFill fill = BitFloodFill.forCurrentThread();
+        assertTrue(fill.reachesAny(board, start, goal, 1));
+
+        // A wall across all three rows, straddling two words
+        for (int row = 0; row < 3; row++) board.setEntity(new Position(row, 64), EntityType.OBSTACLE);
+        assertFalse(fill.reachesAny(board, start, goal, 1));
+        assertEquals(-1, AStarEngine.forCurrentThread().findNextCell(board, start, goal, 1));
+
+        board.setEntity(new Position(2, 64), EntityType.EMPTY);
+        assertTrue(fill.reachesAny(board, start, goal, 1));
+    }
+
+    /**
+     * Reference 8-connected breadth-first search entering walkable cells only.
+     */
+    private static boolean[] breadthFirst(Board board, int source) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        boolean[] seen = new boolean[width * height];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        seen[source] = true;
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int nr = cell / width + dr;
+                    int nc = cell % width + dc;
+                    if (!board.isInBounds(nr, nc) || seen[nr * width + nc] || !board.isWalkable(nr, nc)) continue;
+                    seen[nr * width + nc] = true;
+                    queue.add(nr * width + nc);
+                }
+            }
+        }
+        return seen;
+    }
+}
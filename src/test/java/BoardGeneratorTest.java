@@ -0,0 +1,62 @@
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.BoardGenerator;
+import org.game.enums.EntityType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardGeneratorTest {
+
+    @Test
+    public void testSameSeedGivesSameLayout() {
+        // Several strips, so the parallel draw is exercised
+        BoardConfig config = new BoardConfig(300, 1000, 60_000, 5, 40);
+        BoardGenerator.Layout first = new BoardGenerator(config).generate(42L);
+        BoardGenerator.Layout second = new BoardGenerator(config).generate(42L);
+        assertArrayEquals(first.obstacles, second.obstacles);
+        assertArrayEquals(first.phones, second.phones);
+        assertEquals(first.a, second.a);
+        assertArrayEquals(first.bPlayers, second.bPlayers);
+
+        Set<Integer> cells = new HashSet<>();
+        for (int cell : first.obstacles) cells.add(cell);
+        for (int cell : first.phones) cells.add(cell);
+        cells.add(first.a);
+        for (int cell : first.bPlayers) cells.add(cell);
+        assertEquals(60_000 + 5 + 1 + 40, cells.size(), "Every entity must get its own cell");
+
+        BoardGenerator.Layout other = new BoardGenerator(config).generate(43L);
+        assertFalse(Arrays.equals(first.obstacles, other.obstacles));
+    }
+
+    @Test
+    public void testFillsEveryCellOfAFullBoard() {
+        BoardConfig config = new BoardConfig(40, 600, 40 * 600 - 12, 3, 8);
+        Board board = new Board(config);
+        board.initialize(7L);
+        int[] counts = new int[EntityType.values().length];
+        for (int row = 0; row < config.height; row++) {
+            for (int col = 0; col < config.width; col++) {
+                counts[board.getAt(row, col).ordinal()]++;
+            }
+        }
+        assertEquals(0, counts[EntityType.EMPTY.ordinal()]);
+        assertEquals(config.obstacles, counts[EntityType.OBSTACLE.ordinal()]);
+        assertEquals(3, counts[EntityType.PHONE.ordinal()]);
+        assertEquals(1, counts[EntityType.A.ordinal()]);
+        assertEquals(8, counts[EntityType.B.ordinal()]);
+        assertEquals(3, board.phones.size());
+        assertEquals(8, board.bPlayers.size());
+    }
+
+    @Test
+    public void testRejectsMoreEntitiesThanCells() {
+        assertThrows(IllegalStateException.class,
+                () -> new Board(new BoardConfig(10, 10, 95, 3, 2)).initialize(1L));
+    }
+}
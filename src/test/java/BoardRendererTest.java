@@ -0,0 +1,65 @@
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.Entity;
+import org.game.Position;
+import org.game.enums.EntityType;
+import org.game.enums.RenderMode;
+import org.game.render.BoardRenderer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardRendererTest {
+
+    @Test
+    public void testFullFrameMatchesBoardLayout() {
+        Board board = new Board(new BoardConfig(3, 2, 0, 0, 0));
+        board.setEntity(new Position(0, 1), EntityType.OBSTACLE);
+        board.setEntity(new Position(1, 2), EntityType.PHONE);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new BoardRenderer(out, RenderMode.FULL_FRAME).render(board);
+
+        assertEquals(". # . \n. . T \n", out.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testAnsiDiffOnlyRedrawsChangedCells() {
+        Board board = new Board(new BoardConfig(20, 20, 0, 0, 0));
+        Entity b = new Entity(EntityType.B, new Position(3, 4));
+        board.setEntity(b.position, EntityType.B);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BoardRenderer renderer = new BoardRenderer(out, RenderMode.ANSI_DIFF);
+
+        renderer.render(board);
+        int fullFrame = out.size();
+        out.reset();
+
+        board.moveEntity(b, new Position(3, 5));
+        renderer.render(board);
+        String diff = out.toString(StandardCharsets.US_ASCII);
+
+        assertEquals("\u001B[4;9H.\u001B[4;11HB\u001B[21;1H", diff, "Only the two changed cells must be redrawn");
+        assertTrue(diff.length() < fullFrame / 10);
+    }
+
+    @Test
+    public void testBackgroundRendererDrawsOnlyWhenBoardChanges() throws InterruptedException {
+        Board board = new Board();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BoardRenderer renderer = new BoardRenderer(out, RenderMode.FULL_FRAME);
+
+        renderer.start(board, 100);
+        Thread.sleep(200);
+        long idleFrames = renderer.getFrames();
+        board.setEntity(new Position(0, 0), EntityType.OBSTACLE);
+        Thread.sleep(200);
+        renderer.stop();
+
+        assertEquals(1, idleFrames, "An unchanged board must be drawn only once");
+        assertEquals(2, renderer.getFrames(), "A change must be drawn by the next frame");
+    }
+}
@@ -0,0 +1,106 @@
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.Entity;
+import org.game.EntityStore;
+import org.game.GameOptions;
+import org.game.Position;
+import org.game.journal.BoardSnapshot;
+import org.game.journal.JournalException;
+import org.game.journal.SnapshotReader;
+import org.game.journal.SnapshotWriter;
+import org.game.simulation.HeadlessGame;
+import org.game.enums.EntityType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testRestoreMatchesCapturedBoard() throws Exception {
+        // An odd number of cells, so the last byte of the packed grid holds a single cell
+        BoardConfig config = new BoardConfig(41, 31, 200, 3, 8);
+        HeadlessGame game = new HeadlessGame(config, new GameOptions(), 99L);
+        Board board = game.getBoard();
+        for (int t = 0; t < 10; t++) game.tick();
+        Entity gone = board.bPlayers.get(0);
+        board.setEntity(gone.position, EntityType.OBSTACLE);
+
+        Path file = dir.resolve("board.snapshot");
+        BoardSnapshot snapshot = BoardSnapshot.capture(board, 9);
+        SnapshotWriter.write(snapshot, file);
+
+        try (SnapshotReader reader = new SnapshotReader(file)) {
+            assertEquals(9, reader.getTick());
+            assertEquals(board.getVersion(), reader.getVersion());
+            Board restored = reader.restore();
+
+            byte[] expected = new byte[config.cells()];
+            byte[] actual = new byte[config.cells()];
+            board.copyGrid(expected);
+            restored.copyGrid(actual);
+            assertArrayEquals(expected, actual);
+            for (int cell = 0; cell < config.cells(); cell++) {
+                assertEquals(board.isWalkable(cell), restored.isWalkable(cell), "walkability of cell " + cell);
+            }
+
+            EntityStore before = board.getEntityStore();
+            EntityStore after = restored.getEntityStore();
+            assertEquals(before.size(), after.size());
+            for (int id = 0; id < before.size(); id++) {
+                assertEquals(before.cellOf(id), after.cellOf(id));
+                assertEquals(before.typeOf(id), after.typeOf(id));
+                assertEquals(before.isAlive(id), after.isAlive(id));
+            }
+            assertFalse(after.isAlive(gone.id));
+            assertEquals(board.aPlayer.position, restored.aPlayer.position);
+            assertEquals(board.phones, restored.phones);
+            assertEquals(board.bPlayers.size(), restored.bPlayers.size());
+            assertSame(restored.aPlayer, restored.getEntityAt(restored.aPlayer.position));
+        }
+    }
+
+    @Test
+    public void testRestoresAnEntityStandingOnAnOverwrittenCell() throws Exception {
+        Board board = new Board(new BoardConfig(20, 20, 30, 2, 3));
+        board.initialize(5L);
+        Entity gone = board.bPlayers.get(0);
+        Position cell = gone.position;
+        board.setEntity(cell, EntityType.EMPTY);
+        // A was restored before the overwritten B, so the dead B must not take the cell back from it
+        board.moveEntity(board.aPlayer, cell);
+        board.setEntity(board.phones.get(0), EntityType.OBSTACLE);
+
+        Path file = dir.resolve("board.snapshot");
+        SnapshotWriter.write(BoardSnapshot.capture(board, 0), file);
+        try (SnapshotReader reader = new SnapshotReader(file)) {
+            Board restored = reader.restore();
+            assertFalse(restored.getEntityStore().isAlive(gone.id));
+            assertSame(restored.aPlayer, restored.getEntityAt(cell));
+            for (int c = 0; c < 400; c++) {
+                assertEquals(board.hasBAt(c), restored.hasBAt(c), "B mask at cell " + c);
+                assertEquals(board.hasPhoneAt(c), restored.hasPhoneAt(c), "phone mask at cell " + c);
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsTruncatedSnapshot() throws Exception {
+        Board board = new Board(new BoardConfig(20, 20, 30, 1, 2));
+        board.initialize(3L);
+        Path file = dir.resolve("board.snapshot");
+        SnapshotWriter.write(BoardSnapshot.capture(board, 0), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(JournalException.class, () -> new SnapshotReader(file));
+    }
+}
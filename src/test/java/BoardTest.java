@@ -3,6 +3,9 @@ import org.game.*;
 import org.game.enums.EntityType;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class BoardTest {
@@ -71,4 +74,237 @@ public class BoardTest {
         board.setEntity(new Position(2, 2), EntityType.B);
         assertFalse(board.isWalkable(new Position(2, 2)), "B no debe ser caminable");
     }
+
+    @Test
+    public void testConfiguredBoardSize() {
+        Board board = new Board(new BoardConfig(1000, 800, 50_000, 5, 20));
+        board.initialize();
+
+        assertEquals(1000, board.getWidth());
+        assertEquals(800, board.getHeight());
+
+        int obstacleCount = 0, bCount = 0, phoneCount = 0;
+        for (int i = 0; i < board.getHeight(); i++) {
+            for (int j = 0; j < board.getWidth(); j++) {
+                switch (board.getAt(new Position(i, j))) {
+                    case OBSTACLE -> obstacleCount++;
+                    case B -> bCount++;
+                    case PHONE -> phoneCount++;
+                }
+            }
+        }
+        assertEquals(50_000, obstacleCount);
+        assertEquals(20, bCount);
+        assertEquals(5, phoneCount);
+        assertEquals(20, board.bPlayers.size());
+    }
+
+    @Test
+    public void testNonSquareBoardMovesAndBounds() {
+        Board board = new Board(new BoardConfig(7, 3, 0, 0, 0));
+        Position start = new Position(2, 6);
+        Entity entity = new Entity(EntityType.B, start);
+        board.setEntity(start, EntityType.B);
+
+        board.moveEntity(entity, new Position(1, 5));
+
+        assertEquals(EntityType.EMPTY, board.getAt(start));
+        assertEquals(EntityType.B, board.getAt(new Position(1, 5)));
+        assertFalse(board.isInBounds(new Position(3, 0)), "Row 3 is outside a 3-row board");
+        assertTrue(board.isInBounds(new Position(0, 6)), "Column 6 is inside a 7-column board");
+    }
+
+    @Test
+    public void testInitializeRejectsOvercrowdedBoard() {
+        Board board = new Board(new BoardConfig(3, 3, 6, 1, 2));
+        assertThrows(IllegalStateException.class, board::initialize);
+    }
+
+    @Test
+    public void testCommitMoveRechecksTarget() {
+        Board board = new Board();
+        Position target = new Position(3, 3);
+        Entity first = new Entity(EntityType.B, new Position(3, 2));
+        Entity second = new Entity(EntityType.B, new Position(3, 4));
+        board.setEntity(first.position, EntityType.B);
+        board.setEntity(second.position, EntityType.B);
+
+        assertTrue(board.commitMove(first, target), "The free cell must accept the first mover");
+        assertFalse(board.commitMove(second, target), "The now occupied cell must reject the second mover");
+        assertEquals(new Position(3, 4), second.position, "A rejected move must leave the entity in place");
+    }
+
+    @Test
+    public void testParallelPlannersNeverShareACell() throws InterruptedException {
+        Board board = new Board(new BoardConfig(40, 40, 100, 1, 16));
+        board.initialize();
+        Thread[] threads = new Thread[board.bPlayers.size()];
+        for (int i = 0; i < threads.length; i++) {
+            Entity b = board.bPlayers.get(i);
+            threads[i] = new Thread(() -> {
+                for (int step = 0; step < 30; step++) {
+                    Position next = board.readConsistent(() ->
+                            GameUtils.findNextMoveTowards(board, b.position, board.phones));
+                    if (next != null && !board.phones.contains(next)) board.commitMove(b, next);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread t : threads) t.join();
+
+        long distinct = board.bPlayers.stream().map(b -> b.position).distinct().count();
+        assertEquals(board.bPlayers.size(), distinct, "No two B-players may end up in the same cell");
+        for (Entity b : board.bPlayers) {
+            assertEquals(EntityType.B, board.getAt(b.position), "The grid must agree with every B position");
+        }
+    }
+
+    @Test
+    public void testMovesAcrossTilesStayConsistent() throws InterruptedException {
+        // Several tiles per side and many movers crossing tile borders in every direction
+        Board board = new Board(new BoardConfig(3 * Board.TILE_SIZE, 3 * Board.TILE_SIZE, 2000, 1, 400));
+        board.initialize(11L);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int first = t;
+            threads[t] = new Thread(() -> {
+                java.util.Random rand = new java.util.Random(first);
+                for (int step = 0; step < 200; step++) {
+                    for (int i = first; i < board.bPlayers.size(); i += threads.length) {
+                        Entity b = board.bPlayers.get(i);
+                        Position next = new Position(b.position.row + rand.nextInt(3) - 1,
+                                b.position.col + rand.nextInt(3) - 1);
+                        if (board.isInBounds(next)) board.commitMove(b, next);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+
+        long distinct = board.bPlayers.stream().map(b -> b.position).distinct().count();
+        assertEquals(board.bPlayers.size(), distinct, "No two B-players may end up in the same cell");
+        int bCells = 0;
+        for (int cell = 0; cell < board.getWidth() * board.getHeight(); cell++) {
+            if (board.hasBAt(cell)) bCells++;
+        }
+        assertEquals(board.bPlayers.size(), bCells, "Every B bit must belong to one B-player");
+        for (Entity b : board.bPlayers) {
+            assertSame(b, board.getEntityAt(b.position), "The index must agree with every B position");
+        }
+    }
+
+    @Test
+    public void testLookupsRaceWithAGrowingIndex() throws InterruptedException {
+        // Two tiles side by side; every B-player of the right tile walks into the left one, growing its index
+        Board board = new Board(new BoardConfig(2 * Board.TILE_SIZE, Board.TILE_SIZE, 0, 0, 600));
+        board.initialize(8L);
+        int width = board.getWidth();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    for (int cell = 0; cell < width * Board.TILE_SIZE; cell++) board.getEntityAt(cell);
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        reader.start();
+
+        int free = 0;
+        for (Entity b : board.bPlayers) {
+            if (b.position.col < Board.TILE_SIZE) continue;
+            while (free < width * Board.TILE_SIZE && (free % width >= Board.TILE_SIZE || !board.isWalkable(free))) {
+                free++;
+            }
+            if (free == width * Board.TILE_SIZE) break;
+            board.commitMove(b.id, free);
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(failure.get(), () -> "A racing lookup failed: " + failure.get());
+        for (Entity b : board.bPlayers) assertSame(b, board.getEntityAt(b.position));
+    }
+
+    @Test
+    public void testEntityIndexFollowsMoves() {
+        Board board = new Board(new BoardConfig(200, 200, 4000, 50, 300));
+        board.initialize(5L);
+        for (Entity e : board.getEntities()) {
+            assertSame(e, board.getEntityAt(e.position), "Every placed entity must be found on its cell");
+        }
+
+        Entity b = board.bPlayers.get(0);
+        Position from = b.position;
+        Position phone = board.phones.get(0);
+        board.moveEntity(b, phone);
+        assertNull(board.getEntityAt(from), "The cell left behind must be empty");
+        assertSame(b, board.getEntityAt(phone));
+        assertFalse(board.hasBAt(from.row * 200 + from.col));
+        assertTrue(board.hasBAt(phone.row * 200 + phone.col));
+        assertTrue(board.hasPhoneAt(phone.row * 200 + phone.col), "A B-player passing by must not remove the phone");
+
+        board.setEntity(phone, EntityType.EMPTY);
+        assertNull(board.getEntityAt(phone), "A cell change must drop the occupant");
+    }
+
+    @Test
+    public void testWinAndCaptureChecks() {
+        Board board = new Board(new BoardConfig(20, 20, 0, 1, 1));
+        board.initialize(1L);
+        assertFalse(GameUtils.hasWin(board));
+        assertFalse(GameUtils.isCaught(board));
+
+        board.moveEntity(board.bPlayers.get(0), board.aPlayer.position);
+        assertTrue(GameUtils.isCaught(board));
+        assertSame(board.bPlayers.get(0), board.getEntityAt(board.aPlayer.position));
+
+        board.moveEntity(board.aPlayer, board.phones.get(0));
+        assertTrue(GameUtils.hasWin(board));
+    }
+
+    @Test
+    public void testMovesByCellIndex() {
+        Board board = new Board(new BoardConfig(30, 20, 0, 1, 1));
+        board.initialize(2L);
+        Entity a = board.aPlayer;
+        int from = a.position.row * 30 + a.position.col;
+        int to = from + 30 < 600 ? from + 30 : from - 30;
+        if (!board.isWalkable(to)) to = from % 30 > 0 ? from - 1 : from + 1;
+        assertEquals(board.isWalkable(to / 30, to % 30), board.isWalkable(to));
+
+        board.moveEntity(a.id, to);
+        assertSame(board.positionOf(to), a.position, "Moves by cell must reuse the board's positions");
+        assertEquals(new Position(to / 30, to % 30), a.position);
+        assertEquals(to, board.getEntityStore().cellOf(a.id));
+        assertSame(a, board.getEntityAt(to));
+        assertTrue(board.isWalkable(from));
+
+        Position b = board.bPlayers.get(0).position;
+        assertFalse(board.commitMove(a.id, b.row * 30 + b.col), "A B-player's cell is not walkable");
+        assertEquals(new Position(3, 4).hashCode(), board.positionOf(3 * 30 + 4).hashCode());
+    }
+
+    @Test
+    public void testInternsOnlyVisitedPositions() {
+        Board board = new Board(new BoardConfig(40, 40, 0, 0, 0));
+        Entity a = board.restoreEntity(EntityType.A, 0, true);
+        assertNotSame(board.positionOf(41), board.positionOf(41), "Unvisited cells are not interned");
+
+        // Walk the A-player over enough cells of one tile to grow its table several times
+        Position[] visited = new Position[1600];
+        for (int cell = 1; cell < visited.length; cell++) {
+            board.moveEntity(a.id, cell);
+            visited[cell] = a.position;
+        }
+        for (int cell = 1; cell < visited.length; cell++) {
+            assertSame(visited[cell], board.positionOf(cell));
+            assertEquals(new Position(cell / 40, cell % 40), visited[cell]);
+        }
+        board.moveEntity(a.id, 123);
+        assertSame(visited[123], a.position, "Coming back to a cell must reuse its position");
+    }
 }
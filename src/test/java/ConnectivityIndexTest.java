@@ -0,0 +1,85 @@
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.Entity;
+import org.game.GameUtils;
+import org.game.Position;
+import org.game.enums.EntityType;
+import org.game.pathfinding.ConnectivityIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectivityIndexTest {
+
+    @Test
+    public void testAgreesWithSearchWhileBPlayersMove() {
+        Random rand = new Random(5);
+        for (int round = 0; round < 100; round++) {
+            int size = 10 + rand.nextInt(90);
+            double density = 0.2 + rand.nextDouble() * 0.3;
+            int obstacles = (int) (size * size * density);
+            Board board = new Board(new BoardConfig(size, size, obstacles, 2, 1 + rand.nextInt(20)));
+            board.initialize(rand.nextLong());
+            ConnectivityIndex index = new ConnectivityIndex(board);
+            for (int step = 0; step < 20; step++) {
+                boolean expected =
+                        GameUtils.findNextMoveTowards(board, board.aPlayer.position, board.phones) != null;
+                assertEquals(expected, index.phoneReachable(), "Round " + round + ", step " + step);
+
+                // Every B-player takes one random step
+                for (Entity b : board.bPlayers) {
+                    Position next = new Position(b.position.row + rand.nextInt(3) - 1,
+                            b.position.col + rand.nextInt(3) - 1);
+                    if (board.isInBounds(next) && board.isWalkable(next) && !next.equals(board.aPlayer.position)
+                            && !board.phones.contains(next)) {
+                        board.moveEntity(b, next);
+                    }
+                }
+            }
+            assertEquals(1, index.getBuilds(), "Moves must not cause a relabeling");
+        }
+    }
+
+    @Test
+    public void testAnswersFromComponentsWithoutBPlayers() {
+        Board board = new Board(new BoardConfig(500, 500, 50_000, 3, 0));
+        board.initialize(9L);
+        ConnectivityIndex index = ConnectivityIndex.of(board);
+        assertSame(index, ConnectivityIndex.of(board), "The index must be shared per board");
+        assertTrue(index.phoneReachable());
+        assertEquals(ConnectivityIndex.Resolution.STATIC, index.getLastResolution());
+
+        // Wall A in: the next query relabels and finds A alone in its component
+        Position a = board.aPlayer.position;
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                Position p = new Position(a.row + dr, a.col + dc);
+                if ((dr != 0 || dc != 0) && board.isInBounds(p)) board.setEntity(p, EntityType.OBSTACLE);
+            }
+        }
+        assertFalse(GameUtils.hasPathToPhone(board));
+        assertEquals(ConnectivityIndex.Resolution.STATIC, index.getLastResolution());
+        assertEquals(2, index.getBuilds());
+    }
+
+    @Test
+    public void testBoxedInByBPlayersIsSettledLocally() {
+        Board board = new Board(new BoardConfig(300, 300, 0, 1, 0));
+        board.initialize(4L);
+        Position a = board.aPlayer.position;
+        ConnectivityIndex index = new ConnectivityIndex(board);
+        for (int dr = -2; dr <= 2; dr++) {
+            for (int dc = -2; dc <= 2; dc++) {
+                Position p = new Position(a.row + dr, a.col + dc);
+                if ((Math.abs(dr) == 2 || Math.abs(dc) == 2) && board.isInBounds(p) && !board.phones.contains(p)) {
+                    board.setEntity(p, EntityType.B);
+                }
+            }
+        }
+        boolean expected = GameUtils.findNextMoveTowards(board, a, board.phones) != null;
+        assertEquals(expected, index.phoneReachable());
+        assertNotEquals(ConnectivityIndex.Resolution.FLOOD, index.getLastResolution());
+    }
+}
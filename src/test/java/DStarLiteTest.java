@@ -0,0 +1,94 @@
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.Entity;
+import org.game.GameUtils;
+import org.game.Position;
+import org.game.enums.EntityType;
+import org.game.pathfinding.AStarEngine;
+import org.game.pathfinding.DStarLite;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DStarLiteTest {
+
+    @Test
+    public void testRepairedRouteMatchesFreshSearch() {
+        for (long seed = 0; seed < 50; seed++) {
+            Board board = new Board(new BoardConfig(40, 30, 250, 3, 8));
+            board.initialize(seed);
+            DStarLite route = new DStarLite(board, board.phones);
+            int width = board.getWidth();
+
+            for (int tick = 0; tick < 60; tick++) {
+                Position a = board.aPlayer.position;
+                Position expected = GameUtils.findNextMoveTowards(board, a, board.phones);
+                float expectedCost = AStarEngine.forCurrentThread().getPathCost();
+                Position next = route.nextMove(a);
+
+                if (expected == null) {
+                    assertNull(next, "seed " + seed + " tick " + tick + ": no route expected");
+                    assertFalse(route.hasPath(a));
+                    break;
+                }
+                assertNotNull(next, "seed " + seed + " tick " + tick + ": a route expected");
+                assertEquals(expectedCost, route.getPathCost(), 1e-3, "seed " + seed + " tick " + tick);
+                if (next.equals(a)) break;
+
+                board.moveEntity(board.aPlayer, next);
+                for (Entity b : board.bPlayers) {
+                    Position step = GameUtils.findNextMoveTowards(board, b.position, List.of(board.aPlayer.position));
+                    if (step != null && board.isWalkable(step)) board.moveEntity(b, step);
+                }
+                if (GameUtils.isCaught(board)) break;
+            }
+            route.detach();
+        }
+    }
+
+    @Test
+    public void testSmallChangeIsRepairedLocally() {
+        Board board = new Board(new BoardConfig(300, 300, 0, 0, 0));
+        Position start = new Position(150, 10);
+        Position goal = new Position(150, 290);
+        board.setEntity(goal, EntityType.PHONE);
+        DStarLite route = new DStarLite(board, List.of(goal));
+
+        route.nextMove(start);
+        int initial = route.getNodesExpanded();
+
+        // A blocker appears next to the route, far from the start
+        Entity blocker = new Entity(EntityType.B, new Position(0, 0));
+        board.setEntity(blocker.position, EntityType.B);
+        board.moveEntity(blocker, new Position(151, 200));
+        route.nextMove(start);
+
+        assertEquals(280, route.getPathCost(), 1e-3);
+        assertTrue(route.getNodesExpanded() * 100 < initial,
+                "repair expanded " + route.getNodesExpanded() + " nodes, first search " + initial);
+    }
+
+    @Test
+    public void testWallingOffThePhoneIsNoticed() {
+        Board board = new Board();
+        Position start = new Position(0, 0);
+        Position goal = new Position(5, 5);
+        board.setEntity(goal, EntityType.PHONE);
+        DStarLite route = new DStarLite(board, List.of(goal));
+        assertTrue(route.hasPath(start));
+
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                if (dr != 0 || dc != 0) board.setEntity(new Position(5 + dr, 5 + dc), EntityType.OBSTACLE);
+            }
+        }
+        assertFalse(route.hasPath(start));
+        assertNull(route.nextMove(start));
+
+        board.setEntity(new Position(4, 4), EntityType.EMPTY);
+        assertTrue(route.hasPath(start));
+        assertEquals(new Position(1, 1), route.nextMove(start));
+    }
+}
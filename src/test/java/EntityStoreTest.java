@@ -0,0 +1,60 @@
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.Entity;
+import org.game.EntityStore;
+import org.game.Position;
+import org.game.enums.EntityType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityStoreTest {
+
+    @Test
+    public void testStoreMatchesEntities() {
+        Board board = new Board(new BoardConfig(40, 40, 30, 5, 4));
+        board.initialize(7L);
+        EntityStore store = board.getEntityStore();
+
+        assertEquals(4, store.count(EntityType.B));
+        assertEquals(5, store.count(EntityType.PHONE));
+        List<Integer> visited = new ArrayList<>();
+        store.forEach(EntityType.B, (id, cell) -> {
+            Entity b = board.getEntity(id);
+            assertEquals(EntityType.B, store.typeOf(id));
+            assertEquals(b.position.row * 40 + b.position.col, cell);
+            visited.add(id);
+        });
+        List<Integer> expected = new ArrayList<>();
+        for (Entity b : board.bPlayers) expected.add(b.id);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    public void testStoreFollowsMovesAndOverwrites() {
+        Board board = new Board(new BoardConfig(10, 10, 0, 1, 1));
+        board.initialize(3L);
+        EntityStore store = board.getEntityStore();
+        Entity a = board.aPlayer;
+        Position from = a.position;
+        Position to = null;
+        for (int dr = -1; dr <= 1 && to == null; dr++) {
+            for (int dc = -1; dc <= 1 && to == null; dc++) {
+                Position p = new Position(from.row + dr, from.col + dc);
+                if ((dr != 0 || dc != 0) && board.isWalkable(p)) to = p;
+            }
+        }
+
+        board.moveEntity(a, to);
+        assertEquals(to.row * 10 + to.col, store.cellOf(a.id));
+
+        Entity b = board.bPlayers.get(0);
+        board.setEntity(b.position, EntityType.OBSTACLE);
+        assertFalse(store.isAlive(b.id));
+        int[] cells = new int[store.count(EntityType.B)];
+        assertEquals(0, store.collectCells(EntityType.B, cells));
+    }
+}
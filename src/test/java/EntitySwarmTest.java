@@ -0,0 +1,70 @@
+import org.game.Board;
+import org.game.EntityAgent;
+import org.game.Position;
+import org.game.simulation.EntitySwarm;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntitySwarmTest {
+
+    @Test
+    public void testEntitiesJoinAndLeaveWithoutFixedPartyCount() throws InterruptedException {
+        EntitySwarm swarm = new EntitySwarm(Thread::new);
+        AtomicLong steps = new AtomicLong();
+        List<CountingAgent> agents = new ArrayList<>();
+        for (int i = 0; i < 1_500; i++) {
+            CountingAgent agent = new CountingAgent(steps);
+            agents.add(agent);
+            swarm.spawn(agent);
+        }
+
+        tick(swarm);
+        assertEquals(1_500, steps.get(), "Every entity must step once per tick");
+
+        // Half the swarm dies between ticks; the rest keeps ticking without them
+        for (int i = 0; i < 750; i++) agents.get(i).kill();
+        tick(swarm);
+        tick(swarm);
+        assertEquals(1_500 + 750 + 750, steps.get());
+
+        // Newcomers join from the next tick on
+        for (int i = 0; i < 100; i++) swarm.spawn(new CountingAgent(steps));
+        tick(swarm);
+        assertEquals(1_500 + 750 + 750 + 850, steps.get());
+
+        swarm.shutdown();
+        for (int i = 0; i < 100 && swarm.size() > 0; i++) Thread.sleep(20);
+        assertEquals(0, swarm.size(), "Every entity thread must exit after shutdown");
+    }
+
+    private static void tick(EntitySwarm swarm) {
+        swarm.awaitTickStart();
+        swarm.awaitTickEnd();
+    }
+
+    private static final class CountingAgent extends EntityAgent {
+
+        private final AtomicLong steps;
+
+        CountingAgent(AtomicLong steps) {
+            super(new Board(), null);
+            this.steps = steps;
+        }
+
+        @Override
+        public Position plan(long tick) {
+            return null;
+        }
+
+        @Override
+        public boolean step(long tick) {
+            steps.incrementAndGet();
+            return false;
+        }
+    }
+}
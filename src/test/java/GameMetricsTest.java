@@ -0,0 +1,57 @@
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.GameUtils;
+import org.game.metrics.GameMetrics;
+import org.game.metrics.Histogram;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameMetricsTest {
+
+    @Test
+    public void testPercentilesStayWithinBucketError() {
+        Histogram histogram = new Histogram();
+        long[] values = new Random(1).longs(100_000, 0, 50_000_000).toArray();
+        IntStream.range(0, values.length).parallel().forEach(i -> histogram.record(values[i]));
+        Arrays.sort(values);
+
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(values[values.length - 1], histogram.getMax());
+        for (double p : new double[]{1, 50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(values.length * p / 100) - 1];
+            long estimate = histogram.getValueAtPercentile(p);
+            assertTrue(estimate >= exact && estimate <= exact * 1.04 + 1,
+                    "p" + p + ": " + estimate + " for an exact " + exact);
+        }
+        assertEquals(0, new Histogram().getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testSearchesAndMovesAreCountedAndExposedOverJmx() throws Exception {
+        GameMetrics metrics = GameMetrics.global();
+        long searches = metrics.getSearches();
+        long moves = metrics.getMoves();
+
+        Board board = new Board(new BoardConfig(50, 50, 200, 1, 0));
+        board.initialize(6L);
+        GameUtils.findNextMoveTowards(board, board.aPlayer.position, board.phones);
+        assertTrue(metrics.getSearches() > searches);
+        assertTrue(metrics.openSetPeak().getMax() > 0, "The open set must have held nodes");
+
+        GameMetrics.registerMBean();
+        GameMetrics.registerMBean();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(GameMetrics.OBJECT_NAME);
+        assertEquals(metrics.getSearches(), server.getAttribute(name, "Searches"));
+        assertTrue((Long) server.getAttribute(name, "Moves") >= moves);
+        assertTrue(((String) server.invoke(name, "dump", null, null)).contains("nodes expanded"));
+    }
+}
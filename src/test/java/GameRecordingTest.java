@@ -0,0 +1,59 @@
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.GameUtils;
+import org.game.Position;
+import org.game.enums.PlannerType;
+import org.game.enums.RenderMode;
+import org.game.jfr.GameRecording;
+import org.game.render.BoardRenderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameRecordingTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testRecordsSearchesMovesAndRenders() throws Exception {
+        Path file = dir.resolve("game.jfr");
+        // Large enough for the search to pass the 1 ms threshold of the bundled settings
+        Board board = new Board(new BoardConfig(1500, 1500, 0, 1, 0));
+        board.initialize(5L);
+        Position a = board.aPlayer.position;
+        Position corner = new Position(a.row < 750 ? 1499 : 0, a.col < 750 ? 1499 : 0);
+
+        try (GameRecording recording = GameRecording.start(file)) {
+            assertEquals(file, recording.getDestination());
+            Position next = GameUtils.findNextMoveTowards(board, a, List.of(corner), PlannerType.A_STAR);
+            board.moveEntity(board.aPlayer, next);
+            new BoardRenderer(new ByteArrayOutputStream(), RenderMode.FULL_FRAME).render(board);
+        }
+
+        assertTrue(Files.size(file) > 0);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent search = find(events, "org.game.Search");
+        assertEquals("A_STAR", search.getString("planner"));
+        assertTrue(search.getBoolean("found"));
+        assertTrue(search.getInt("nodesExpanded") > 0);
+        RecordedEvent move = find(events, "org.game.Move");
+        assertEquals(board.aPlayer.id, move.getInt("entityId"));
+        assertEquals(a.row * 1500 + a.col, move.getInt("from"));
+        assertEquals(1500 * 1500, find(events, "org.game.Render").getInt("cells"));
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " event was recorded"));
+    }
+}
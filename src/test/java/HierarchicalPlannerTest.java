@@ -0,0 +1,123 @@
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.GameUtils;
+import org.game.Position;
+import org.game.enums.EntityType;
+import org.game.enums.PlannerType;
+import org.game.pathfinding.AStarEngine;
+import org.game.pathfinding.ClusterGraph;
+import org.game.pathfinding.HierarchicalPlanner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HierarchicalPlannerTest {
+
+    @Test
+    public void testReachesGoalsLikeAStar() {
+        Random rand = new Random(11);
+        for (int round = 0; round < 500; round++) {
+            int width = 5 + rand.nextInt(60);
+            int height = 5 + rand.nextInt(60);
+            Board board = new Board(new BoardConfig(width, height, 0, 0, 0));
+            double density = rand.nextDouble() * 0.4;
+            for (int i = (int) (width * height * density); i > 0; i--) {
+                board.setEntity(new Position(rand.nextInt(height), rand.nextInt(width)), EntityType.OBSTACLE);
+            }
+            Position start = new Position(rand.nextInt(height), rand.nextInt(width));
+            board.setEntity(start, EntityType.B);
+            List<Position> goals = new ArrayList<>();
+            for (int i = 1 + rand.nextInt(4); i > 0; i--) {
+                Position goal = new Position(rand.nextInt(height), rand.nextInt(width));
+                if (goal.equals(start)) continue;
+                board.setEntity(goal, EntityType.PHONE);
+                goals.add(goal);
+            }
+            new ClusterGraph(board, 4 + rand.nextInt(8));
+
+            Position aStarNext = GameUtils.findNextMoveTowards(board, start, goals, PlannerType.A_STAR);
+            float optimal = AStarEngine.forCurrentThread().getPathCost();
+            Position next = GameUtils.findNextMoveTowards(board, start, goals, PlannerType.HIERARCHICAL);
+            if (aStarNext == null) {
+                assertNull(next, "No move expected when every goal is unreachable");
+                continue;
+            }
+            assertNotNull(next, "A move expected when a goal is reachable");
+            assertTrue(HierarchicalPlanner.forCurrentThread().getPathCost() >= optimal - 1e-3,
+                    "The abstract path cannot beat the shortest one");
+
+            // Following the planner step by step must reach a goal
+            Position at = start;
+            float walked = 0f;
+            while (!goals.contains(at)) {
+                Position step = GameUtils.findNextMoveTowards(board, at, goals, PlannerType.HIERARCHICAL);
+                assertNotNull(step);
+                int dr = Math.abs(step.row - at.row);
+                int dc = Math.abs(step.col - at.col);
+                assertTrue(dr <= 1 && dc <= 1 && dr + dc > 0, "Steps must go to a neighboring cell");
+                assertTrue(board.isWalkable(step), "Steps must go to a walkable cell");
+                walked += dr + dc == 2 ? (float) Math.sqrt(2) : 1f;
+                assertTrue(walked <= 2 * optimal + 10, "Walked " + walked + " for a shortest path of " + optimal);
+                at = step;
+            }
+        }
+    }
+
+    @Test
+    public void testExpandsFarFewerNodesOnLargeMaps() {
+        Board board = new Board(new BoardConfig(1000, 1000, 0, 0, 0));
+        Random rand = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            board.setEntity(new Position(rand.nextInt(1000), rand.nextInt(1000)), EntityType.OBSTACLE);
+        }
+        // A and the phone at opposite corners, so the search has to cross the whole map
+        Position a = new Position(2, 2);
+        Position phone = new Position(997, 997);
+        board.setEntity(a, EntityType.A);
+        board.setEntity(phone, EntityType.PHONE);
+        int width = board.getWidth();
+        int start = a.row * width + a.col;
+        int[] goals = {phone.row * width + phone.col};
+
+        AStarEngine aStar = AStarEngine.forCurrentThread();
+        HierarchicalPlanner hpa = HierarchicalPlanner.forCurrentThread();
+        aStar.findNextCell(board, start, goals, 1);
+        hpa.findNextCell(board, start, goals, 1);
+
+        assertTrue(hpa.getPathCost() <= aStar.getPathCost() * 1.1f,
+                "HPA* cost " + hpa.getPathCost() + ", A* " + aStar.getPathCost());
+        assertTrue(hpa.getNodesExpanded() * 10 <= aStar.getNodesExpanded(),
+                "HPA* expanded " + hpa.getNodesExpanded() + " nodes, A* " + aStar.getNodesExpanded());
+    }
+
+    @Test
+    public void testRefreshesOnlyChangedClusters() {
+        Board board = new Board(new BoardConfig(64, 64, 0, 0, 0));
+        ClusterGraph graph = new ClusterGraph(board, 8);
+        Position start = new Position(2, 2);
+        Position phone = new Position(60, 60);
+        board.setEntity(phone, EntityType.PHONE);
+        assertNotNull(GameUtils.findNextMoveTowards(board, start, List.of(phone), PlannerType.HIERARCHICAL));
+        long before = graph.getRebuilds();
+
+        // Wall the phone in
+        for (int row = 58; row <= 62; row++) {
+            for (int col = 58; col <= 62; col++) {
+                if (row == 58 || row == 62 || col == 58 || col == 62) {
+                    board.setEntity(new Position(row, col), EntityType.OBSTACLE);
+                }
+            }
+        }
+        assertNull(GameUtils.findNextMoveTowards(board, start, List.of(phone), PlannerType.HIERARCHICAL));
+        long rebuilt = graph.getRebuilds() - before;
+        assertTrue(rebuilt > 0 && rebuilt <= 9, "Rebuilt " + rebuilt + " of 64 clusters");
+
+        board.setEntity(new Position(58, 60), EntityType.EMPTY);
+        Position next = GameUtils.findNextMoveTowards(board, start, List.of(phone), PlannerType.HIERARCHICAL);
+        assertEquals(new Position(3, 3), next);
+    }
+}
@@ -0,0 +1,100 @@
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.GameUtils;
+import org.game.Position;
+import org.game.enums.EntityType;
+import org.game.enums.PlannerType;
+import org.game.pathfinding.AStarEngine;
+import org.game.pathfinding.JumpPointEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JumpPointEngineTest {
+
+    @Test
+    public void testSamePathCostAsAStar() {
+        Random rand = new Random(7);
+        for (int round = 0; round < 1000; round++) {
+            int width = 5 + rand.nextInt(40);
+            int height = 5 + rand.nextInt(40);
+            Board board = new Board(new BoardConfig(width, height, 0, 0, 0));
+            double density = rand.nextDouble() * 0.4;
+            for (int i = (int) (width * height * density); i > 0; i--) {
+                board.setEntity(new Position(rand.nextInt(height), rand.nextInt(width)), EntityType.OBSTACLE);
+            }
+            Position start = new Position(rand.nextInt(height), rand.nextInt(width));
+            board.setEntity(start, EntityType.B);
+            List<Position> goals = new ArrayList<>();
+            for (int i = 1 + rand.nextInt(4); i > 0; i--) {
+                Position goal = new Position(rand.nextInt(height), rand.nextInt(width));
+                if (goal.equals(start)) continue;
+                board.setEntity(goal, EntityType.PHONE);
+                goals.add(goal);
+            }
+
+            Position aStarNext = GameUtils.findNextMoveTowards(board, start, goals, PlannerType.A_STAR);
+            float aStarCost = AStarEngine.forCurrentThread().getPathCost();
+            Position next = GameUtils.findNextMoveTowards(board, start, goals, PlannerType.JUMP_POINT);
+            float cost = JumpPointEngine.forCurrentThread().getPathCost();
+
+            if (aStarNext == null) {
+                assertNull(next, "No move expected when every goal is unreachable");
+                continue;
+            }
+            assertNotNull(next, "A move expected when a goal is reachable");
+            assertEquals(aStarCost, cost, 1e-3, "Both planners must find a shortest path");
+
+            double[] dist = ReferencePaths.distancesToGoals(board, goals);
+            double step = next.row != start.row && next.col != start.col ? Math.sqrt(2) : 1;
+            assertEquals(dist[start.row * width + start.col], step + dist[next.row * width + next.col], 1e-3,
+                    "The next move must lie on a shortest path");
+        }
+    }
+
+    @Test
+    public void testCutsCornersLikeAStar() {
+        Board board = new Board();
+        // Only a diagonal squeeze between two obstacles leads to the phone
+        for (int col = 0; col < 10; col++) board.setEntity(new Position(5, col), EntityType.OBSTACLE);
+        board.setEntity(new Position(5, 4), EntityType.EMPTY);
+        board.setEntity(new Position(4, 4), EntityType.OBSTACLE);
+        board.setEntity(new Position(5, 5), EntityType.OBSTACLE);
+        Position start = new Position(4, 5);
+        Position goal = new Position(9, 0);
+        board.setEntity(goal, EntityType.PHONE);
+
+        Position next = GameUtils.findNextMoveTowards(board, start, List.of(goal), PlannerType.JUMP_POINT);
+        assertEquals(new Position(5, 4), next);
+    }
+
+    @Test
+    public void testExpandsFarFewerNodesOnOpenMaps() {
+        Board board = new Board(new BoardConfig(1000, 1000, 0, 0, 0));
+        Random rand = new Random(3);
+        for (int i = 0; i < 10_000; i++) {
+            board.setEntity(new Position(rand.nextInt(1000), rand.nextInt(1000)), EntityType.OBSTACLE);
+        }
+        // A and the phone at the two ends of a row: A* expands every tied cell around the line, JPS jumps along it
+        Position a = new Position(500, 2);
+        Position phone = new Position(500, 997);
+        board.setEntity(a, EntityType.A);
+        board.setEntity(phone, EntityType.PHONE);
+        int width = board.getWidth();
+        int start = a.row * width + a.col;
+        int[] goals = {phone.row * width + phone.col};
+
+        AStarEngine aStar = AStarEngine.forCurrentThread();
+        JumpPointEngine jps = JumpPointEngine.forCurrentThread();
+        aStar.findNextCell(board, start, goals, 1);
+        jps.findNextCell(board, start, goals, 1);
+
+        assertEquals(aStar.getPathCost(), jps.getPathCost(), 1e-1);
+        assertTrue(jps.getNodesExpanded() * 10 <= aStar.getNodesExpanded(),
+                "JPS expanded " + jps.getNodesExpanded() + " nodes, A* " + aStar.getNodesExpanded());
+    }
+}
@@ -0,0 +1,85 @@
+import org.game.Board;
+import org.game.Position;
+import org.game.enums.EntityType;
+import org.game.enums.PlannerType;
+import org.game.maps.MapFormatException;
+import org.game.maps.MapLoader;
+import org.game.maps.Scenario;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapLoaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testMovingAiMapAndScenarios() throws Exception {
+        Path map = dir.resolve("room.map");
+        Files.writeString(map, "type octile\r\nheight 4\r\nwidth 6\r\nmap\r\n"
+                + "......\r\n"
+                + ".@@@T.\r\n"
+                + ".G..W.\r\n"
+                + "......\r\n");
+        Path scen = dir.resolve("room.map.scen");
+        Files.writeString(scen, "version 1\n"
+                + "0\troom.map\t6\t4\t0\t0\t5\t0\t5\n"
+                + "1\troom.map\t6\t4\t1\t2\t1\t0\t4.82842712\n");
+
+        Board board = MapLoader.loadMovingAi(map);
+        assertEquals(6, board.getWidth());
+        assertEquals(4, board.getHeight());
+        assertEquals(5, board.getConfig().obstacles);
+        assertEquals(EntityType.OBSTACLE, board.getAt(1, 4));
+        assertEquals(EntityType.OBSTACLE, board.getAt(2, 4));
+        assertTrue(board.isWalkable(2, 1));
+        assertNull(board.aPlayer);
+
+        List<Scenario> scenarios = MapLoader.loadScenarios(scen);
+        assertEquals(2, scenarios.size());
+        Scenario around = scenarios.get(1);
+        assertEquals("room.map", around.map);
+        assertEquals(new Position(2, 1), around.start);
+        assertEquals(new Position(0, 1), around.goal);
+        assertEquals(4.82842712, around.optimal, 1e-9);
+        for (Scenario scenario : scenarios) {
+            // Corner cuts are allowed here, so the optimal path is never longer than the published optimum
+            double length = scenario.measure(board, PlannerType.A_STAR);
+            assertTrue(length > 0 && length <= scenario.optimal + 1e-6, scenario + " measured " + length);
+            double walked = scenario.measure(board, PlannerType.HIERARCHICAL);
+            assertTrue(walked >= length - 1e-6, scenario + " walked " + walked + " with HPA*");
+        }
+        assertEquals(5.0, scenarios.get(0).measure(board, PlannerType.JUMP_POINT), 1e-6);
+    }
+
+    @Test
+    public void testTextMapPlacesEntities() throws Exception {
+        Path map = dir.resolve("board.txt");
+        Files.writeString(map, "..B..\n.#T#.\nA...B\n");
+
+        Board board = MapLoader.loadText(map);
+        assertEquals(5, board.getWidth());
+        assertEquals(3, board.getHeight());
+        assertEquals(new Position(2, 0), board.aPlayer.position);
+        assertEquals(List.of(new Position(1, 2)), board.phones);
+        assertEquals(2, board.bPlayers.size());
+        assertEquals(new Position(0, 2), board.bPlayers.get(0).position);
+        assertSame(board.aPlayer, board.getEntityAt(board.aPlayer.position));
+        assertEquals(2, board.getConfig().obstacles);
+        assertFalse(board.isWalkable(1, 1));
+    }
+
+    @Test
+    public void testRejectsRaggedRows() throws Exception {
+        Path map = dir.resolve("ragged.txt");
+        Files.writeString(map, "....\n...\n");
+        MapFormatException e = assertThrows(MapFormatException.class, () -> MapLoader.loadText(map));
+        assertTrue(e.getMessage().contains("3 cells instead of 4"), e.getMessage());
+    }
+}
@@ -0,0 +1,67 @@
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.GameOptions;
+import org.game.journal.JournalReplayer;
+import org.game.journal.MoveJournal;
+import org.game.simulation.HeadlessGame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testReplayRebuildsEveryTick() throws Exception {
+        BoardConfig config = new BoardConfig(40, 30, 200, 2, 6);
+        long seed = 1234L;
+        HeadlessGame game = new HeadlessGame(config, new GameOptions(), seed);
+        Board board = game.getBoard();
+        Path file = dir.resolve("game.journal");
+
+        List<byte[]> states = new ArrayList<>();
+        MoveJournal journal = new MoveJournal(file, config, seed);
+        board.addListener(journal);
+        for (int t = 0; t < 25; t++) {
+            journal.beginTick(t);
+            game.tick();
+            byte[] grid = new byte[config.cells()];
+            board.copyGrid(grid);
+            states.add(grid);
+        }
+        journal.close();
+        assertTrue(journal.getRecords() > 0);
+
+        try (JournalReplayer replayer = new JournalReplayer(file)) {
+            assertEquals(seed, replayer.getSeed());
+            assertEquals(config.width, replayer.getConfig().width);
+            assertEquals(journal.getRecords(), replayer.getRecords());
+            byte[] grid = new byte[config.cells()];
+            for (int t : new int[]{0, 7, 24}) {
+                replayer.replayTo(t).copyGrid(grid);
+                assertArrayEquals(states.get(t), grid, "board differs at tick " + t);
+            }
+        }
+    }
+
+    @Test
+    public void testSameSeedGivesSameBoard() {
+        BoardConfig config = new BoardConfig(20, 20, 50, 3, 4);
+        byte[] first = new byte[config.cells()];
+        byte[] second = new byte[config.cells()];
+        Board a = new Board(config);
+        a.initialize(99L);
+        a.copyGrid(first);
+        Board b = new Board(config);
+        b.initialize(99L);
+        b.copyGrid(second);
+        assertArrayEquals(first, second);
+    }
+}
@@ -0,0 +1,61 @@
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.Entity;
+import org.game.GameUtils;
+import org.game.Position;
+import org.game.pathfinding.DistanceField;
+import org.game.pathfinding.PursuitField;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PursuitFieldTest {
+
+    @Test
+    public void testFieldStepIsAsGoodAsIndividualSearch() {
+        Board board = new Board(new BoardConfig(30, 30, 200, 1, 25));
+        board.initialize();
+        int width = board.getWidth();
+        Position a = board.aPlayer.position;
+        DistanceField field = new DistanceField();
+        field.build(board, a.row * width + a.col);
+
+        for (Entity b : board.bPlayers) {
+            int from = b.position.row * width + b.position.col;
+            Position searched = GameUtils.findNextMoveTowards(board, b.position, List.of(a));
+            int step = field.nextStep(board, from);
+
+            if (searched == null) {
+                assertEquals(-1, step, "The field must agree that A is unreachable");
+                continue;
+            }
+            assertNotEquals(-1, step, "The field must find a step when A is reachable");
+            Position fieldStep = new Position(step / width, step % width);
+            assertEquals(cost(b.position, searched) + field.distanceAt(searched.row * width + searched.col),
+                    cost(b.position, fieldStep) + field.distanceAt(step), 1e-3,
+                    "Both steps must lie on a shortest path to A");
+        }
+    }
+
+    @Test
+    public void testOneFloodPerTickForAllPursuers() {
+        Board board = new Board(new BoardConfig(30, 30, 50, 1, 40));
+        board.initialize();
+        PursuitField pursuit = new PursuitField(board);
+
+        for (long tick = 0; tick < 3; tick++) {
+            for (Entity b : board.bPlayers) {
+                Position next = pursuit.nextMove(b, tick);
+                if (next != null) board.commitMove(b, next);
+            }
+        }
+
+        assertEquals(3, pursuit.getBuilds(), "The field must be flooded once per tick, not once per pursuer");
+    }
+
+    private static float cost(Position from, Position to) {
+        return from.row != to.row && from.col != to.col ? (float) Math.sqrt(2) : 1f;
+    }
+}
@@ -0,0 +1,48 @@
+import org.game.Board;
+import org.game.Position;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Reference path costs for the planner tests, computed by a plain Dijkstra search.
+ */
+final class ReferencePaths {
+
+    private ReferencePaths() {
+    }
+
+    /**
+     * Reference Dijkstra from all goals, giving the cost of the cheapest path from every cell.
+     */
+    static double[] distancesToGoals(Board board, List<Position> goals) {
+        int width = board.getWidth();
+        double[] dist = new double[width * board.getHeight()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        for (Position goal : goals) {
+            dist[goal.row * width + goal.col] = 0;
+            queue.add(new double[]{0, goal.row, goal.col});
+        }
+        while (!queue.isEmpty()) {
+            double[] top = queue.poll();
+            int row = (int) top[1];
+            int col = (int) top[2];
+            if (top[0] > dist[row * width + col]) continue;
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int nr = row + dr;
+                    int nc = col + dc;
+                    if ((dr == 0 && dc == 0) || !board.isInBounds(nr, nc)) continue;
+                    double d = top[0] + (dr != 0 && dc != 0 ? Math.sqrt(2) : 1);
+                    if (d < dist[nr * width + nc]) {
+                        dist[nr * width + nc] = d;
+                        if (board.isWalkable(nr, nc)) queue.add(new double[]{d, nr, nc});
+                    }
+                }
+            }
+        }
+        return dist;
+    }
+}
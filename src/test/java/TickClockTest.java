@@ -0,0 +1,47 @@
+import org.game.enums.TickMode;
+import org.game.simulation.TickClock;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickClockTest {
+
+    @Test
+    public void testFixedRateDoesNotDrift() {
+        TickClock clock = new TickClock(TickMode.FIXED_RATE, 20);
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            clock.beginTick();
+            busyWait(5_000_000L);
+            clock.endTick();
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        assertEquals(10, clock.getTicks());
+        assertTrue(elapsedMillis >= 200, "Ten 20 ms ticks cannot finish early: " + elapsedMillis + " ms");
+        assertTrue(elapsedMillis < 300, "Work inside the period must not add up as drift: " + elapsedMillis + " ms");
+        assertTrue(clock.getWaitNanos() > clock.getWorkNanos(), "Most of each tick should be spent waiting");
+    }
+
+    @Test
+    public void testAsFastAsPossibleNeverWaits() {
+        TickClock clock = new TickClock(TickMode.AS_FAST_AS_POSSIBLE, 0);
+        for (int i = 0; i < 1_000; i++) {
+            clock.beginTick();
+            clock.endTick();
+        }
+
+        assertEquals(1_000, clock.getTicks());
+        assertEquals(0, clock.getWaitNanos());
+    }
+
+    @Test
+    public void testFixedRateRequiresPositivePeriod() {
+        assertThrows(IllegalArgumentException.class, () -> new TickClock(TickMode.FIXED_RATE, 0));
+    }
+
+    private static void busyWait(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) Thread.onSpinWait();
+    }
+}
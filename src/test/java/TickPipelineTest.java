@@ -0,0 +1,95 @@
+import org.game.APlayerAgent;
+import org.game.BPlayerAgent;
+import org.game.Board;
+import org.game.BoardConfig;
+import org.game.Entity;
+import org.game.EntityAgent;
+import org.game.Position;
+import org.game.enums.EntityType;
+import org.game.simulation.TickPipeline;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickPipelineTest {
+
+    @Test
+    public void testFirstAgentWinsAContestedCell() {
+        Board board = new Board(new BoardConfig(5, 5, 0, 0, 0));
+        Entity first = place(board, new Position(1, 1));
+        Entity second = place(board, new Position(1, 3));
+        TickPipeline pipeline = new TickPipeline(board);
+        pipeline.add(new FixedAgent(board, first, new Position(1, 2)));
+        pipeline.add(new FixedAgent(board, second, new Position(1, 2)));
+
+        assertEquals(1, pipeline.tick());
+        assertEquals(new Position(1, 2), first.position);
+        assertEquals(new Position(1, 3), second.position, "The later agent must stay put");
+        assertEquals(1, pipeline.getConflicts());
+    }
+
+    @Test
+    public void testSwappingAgentsBothStayPut() {
+        Board board = new Board(new BoardConfig(5, 5, 0, 0, 0));
+        Entity a = new Entity(EntityType.A, new Position(2, 2));
+        board.setEntity(a.position, EntityType.A);
+        Entity b = place(board, new Position(2, 3));
+        TickPipeline pipeline = new TickPipeline(board);
+        pipeline.add(new FixedAgent(board, b, new Position(2, 2)));
+        pipeline.add(new FixedAgent(board, a, new Position(2, 3)));
+
+        assertEquals(0, pipeline.tick());
+        assertEquals(new Position(2, 2), a.position);
+        assertEquals(new Position(2, 3), b.position);
+        assertEquals(2, pipeline.getConflicts());
+    }
+
+    @Test
+    public void testSameBoardGivesSameGame() {
+        List<Position> first = play(17L);
+        for (int run = 0; run < 5; run++) {
+            assertEquals(first, play(17L), "Run " + run + " must not depend on thread scheduling");
+        }
+    }
+
+    /**
+     * Plays 30 ticks with A and 30 B-players and returns where everyone ended.
+     */
+    private static List<Position> play(long seed) {
+        Board board = new Board(new BoardConfig(60, 60, 500, 2, 30));
+        board.initialize(seed);
+        TickPipeline pipeline = new TickPipeline(board);
+        pipeline.add(new APlayerAgent(board, board.phones));
+        for (Entity b : board.bPlayers) pipeline.add(new BPlayerAgent(board, b, null));
+        for (int tick = 0; tick < 30; tick++) pipeline.tick();
+
+        List<Position> positions = new ArrayList<>();
+        positions.add(board.aPlayer.position);
+        for (Entity b : board.bPlayers) positions.add(b.position);
+        return positions;
+    }
+
+    private static Entity place(Board board, Position position) {
+        board.setEntity(position, EntityType.B);
+        return new Entity(EntityType.B, position);
+    }
+
+    /** Always wants the same cell. */
+    private static final class FixedAgent extends EntityAgent {
+
+        private final Position target;
+
+        FixedAgent(Board board, Entity entity, Position target) {
+            super(board, entity);
+            this.target = target;
+        }
+
+        @Override
+        public Position plan(long tick) {
+            return target;
+        }
+    }
+}
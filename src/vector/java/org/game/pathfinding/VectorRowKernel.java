@@ -0,0 +1,58 @@
+package org.game.pathfinding;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link RowKernel} on the incubating Vector API: dilates and masks as many words per instruction as the CPU's
+ * vector registers hold. The neighbor words needed for the bits crossing word boundaries are read with loads
+ * shifted by one word, so the loop has no lane shuffles.
+ *
+ * Compiled only by the {@code vector} profile. Initializing the class fails when the JVM runs without
+ * {@code --add-modules jdk.incubator.vector}, and {@link RowKernel#best()} then falls back to the scalar kernel.
+ */
+final class VectorRowKernel implements RowKernel {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public boolean spread(long[] reached, long[] walkable, int src, int dst, int words) {
+        int lanes = SPECIES.length();
+        long added = 0;
+        int i = 0;
+        if (words > lanes + 1) {
+            // The first word has no lower neighbor, so it is done by the scalar tail below
+            added |= word(reached, walkable, src, dst, words, 0);
+            LongVector acc = LongVector.zero(SPECIES);
+            for (i = 1; i + lanes < words; i += lanes) {
+                LongVector r = LongVector.fromArray(SPECIES, reached, src + i);
+                LongVector lower = LongVector.fromArray(SPECIES, reached, src + i - 1);
+                LongVector upper = LongVector.fromArray(SPECIES, reached, src + i + 1);
+                LongVector dilated = r
+                        .or(r.lanewise(VectorOperators.LSHL, 1))
+                        .or(r.lanewise(VectorOperators.LSHR, 1))
+                        .or(lower.lanewise(VectorOperators.LSHR, 63))
+                        .or(upper.lanewise(VectorOperators.LSHL, 63));
+                LongVector old = LongVector.fromArray(SPECIES, reached, dst + i);
+                LongVector now = old.or(dilated.and(LongVector.fromArray(SPECIES, walkable, dst + i)));
+                now.intoArray(reached, dst + i);
+                acc = acc.or(now.lanewise(VectorOperators.XOR, old));
+            }
+            added |= acc.reduceLanes(VectorOperators.OR);
+        }
+        for (; i < words; i++) added |= word(reached, walkable, src, dst, words, i);
+        return added != 0;
+    }
+
+    private static long word(long[] reached, long[] walkable, int src, int dst, int words, int i) {
+        long r = reached[src + i];
+        long below = i > 0 ? reached[src + i - 1] >>> 63 : 0L;
+        long above = i + 1 < words ? reached[src + i + 1] << 63 : 0L;
+        long dilated = r | (r << 1) | (r >>> 1) | below | above;
+        long old = reached[dst + i];
+        long now = old | (dilated & walkable[dst + i]);
+        reached[dst + i] = now;
+        return now ^ old;
+    }
+}